@@ -0,0 +1,100 @@
+package engine;
+
+import utils.BoardUtils;
+
+/**
+ * Arbiter that resolves the engagement of two opposing pieces with a single
+ * lookup into a precomputed rank versus rank outcome table. Ranks are the rank
+ * IDs of BoardUtils.
+ *
+ * Higher ranking piece eliminates lower ranking piece. Pieces of the same rank
+ * eliminate each other, except the Flag. Spy eliminates all pieces except the
+ * Private. Any piece, including the Flag, captures the Flag.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class Arbiter {
+
+  /** Engagement outcomes from the perspective of the aggressor piece */
+  public static final int WIN = 0;
+  public static final int LOSE = 1;
+  public static final int DRAW = 2;
+  public static final int FLAG_CAPTURE = 3;
+
+  /** Outcome of a move into an empty tile */
+  public static final int NO_ENGAGEMENT = -1;
+
+  /** Outcome table. Indexed by [aggressorRankId][targetRankId] */
+  private static final byte[] OUTCOMES =
+    new byte[BoardUtils.RANK_COUNT * BoardUtils.RANK_COUNT];
+
+  static {
+    for (int source = 0; source < BoardUtils.RANK_COUNT; source++)
+      for (int target = 0; target < BoardUtils.RANK_COUNT; target++)
+        OUTCOMES[source * BoardUtils.RANK_COUNT + target] =
+          (byte) computeOutcome(source, target);
+  }
+
+  /**
+   * Gets the outcome of an engagement.
+   * @param sourceRankId rank ID of the aggressor piece.
+   * @param targetRankId rank ID of the target piece.
+   * @return int WIN, LOSE, DRAW or FLAG_CAPTURE.
+   */
+  public static int getOutcome(final int sourceRankId, final int targetRankId) {
+    return OUTCOMES[sourceRankId * BoardUtils.RANK_COUNT + targetRankId];
+  }
+
+  /**
+   * Checks if the target piece is eliminated in an engagement.
+   * @param sourceRankId rank ID of the aggressor piece.
+   * @param targetRankId rank ID of the target piece.
+   * @return boolean true if target piece is eliminated, else false.
+   */
+  public static boolean isTargetPieceEliminated(final int sourceRankId,
+                                                final int targetRankId) {
+    return getOutcome(sourceRankId, targetRankId) != LOSE;
+  }
+
+  /**
+   * Checks if the source piece is eliminated in an engagement.
+   * @param sourceRankId rank ID of the aggressor piece.
+   * @param targetRankId rank ID of the target piece.
+   * @return boolean true if source piece is eliminated, else false.
+   */
+  public static boolean isSourcePieceEliminated(final int sourceRankId,
+                                                final int targetRankId) {
+    final int outcome = getOutcome(sourceRankId, targetRankId);
+    return outcome == LOSE || outcome == DRAW;
+  }
+
+  /**
+   * Computes the outcome of an engagement from the game rules. Only used to
+   * fill in the outcome table.
+   */
+  private static int computeOutcome(final int sourceRankId, final int targetRankId) {
+    if (targetRankId == BoardUtils.FLAG_RANK_ID)
+      return FLAG_CAPTURE;
+    else if (sourceRankId == targetRankId)
+      return DRAW;
+    else if (sourceRankId == BoardUtils.PRIVATE_RANK_ID &&
+             targetRankId == BoardUtils.SPY_RANK_ID)
+      return WIN;
+    else if (sourceRankId == BoardUtils.SPY_RANK_ID &&
+             targetRankId == BoardUtils.PRIVATE_RANK_ID)
+      return LOSE;
+    else if (sourceRankId > targetRankId)
+      return WIN;
+    else
+      return LOSE;
+  }
+
+  /**
+   * Constructor method that ensures this Arbiter class cannot be instantiated.
+   */
+  private Arbiter() {
+    throw new RuntimeException("You cannot instantiate Arbiter class");
+  }
+
+}
@@ -0,0 +1,347 @@
+package engine;
+
+import java.util.Arrays;
+
+import utils.BoardUtils;
+
+/**
+ * Packed representation of the Board position. Keeps the occupancy of each
+ * Alliance and of each Alliance rank in primitive bitsets covering all the 72
+ * tiles, plus a byte per tile holding the occupying piece code. Board keeps
+ * this in sync with its Tiles so that rule checks can read the position
+ * without walking Tile and Piece objects.
+ *
+ * Tiles of pieces revealed to the opponent are kept in their own bitset, and
+ * the Zobrist key of the pieces and revealed tiles is updated on every change.
+ * See Zobrist.
+ *
+ * Piece counts of each Alliance and rank, and the material score of each
+ * Alliance, are also updated on every change so they can be read in constant
+ * time. See BoardUtils.getRankValue().
+ *
+ * Each bitset is made of two longs. Bits 0 - 63 of the first long hold tiles
+ * 0 to 63 and bits 0 - 7 of the second long hold tiles 64 to 71.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class BitBoard {
+
+  /** Number of longs that makes up a single 72 tiles bitset */
+  public static final int WORDS = 2;
+
+  /** Tile code of an empty tile */
+  public static final int EMPTY = 0;
+
+  /** All Alliance values indexed by their ordinal */
+  private static final Alliance[] ALLIANCES = Alliance.values();
+
+  /** Occupancy bitsets of each Alliance. Indexed by [alliance][word] */
+  private final long[] allianceBits;
+
+  /** Occupancy bitsets of each Alliance rank. Indexed by [alliance][rank][word] */
+  private final long[] rankBits;
+
+  /** Piece code + 1 of the occupying piece of each tile. EMPTY if empty */
+  private final byte[] tiles;
+
+  /** Bitset of tiles occupied by a piece revealed to the opponent */
+  private final long[] revealedBits;
+
+  /** Zobrist key of all pieces and revealed tiles. Excludes the move maker */
+  private long zobristKey;
+
+  /** Piece counts of each Alliance rank. Indexed by piece code */
+  private final int[] pieceCounts;
+
+  /** Piece counts of each Alliance. Indexed by Alliance ordinal */
+  private final int[] allianceCounts;
+
+  /** Material score of each Alliance. Indexed by Alliance ordinal */
+  private final int[] materialScores;
+
+  /**
+   * No argument constructor that creates an empty BitBoard.
+   */
+  public BitBoard() {
+    this.allianceBits = new long[BoardUtils.ALLIANCE_COUNT * WORDS];
+    this.rankBits = new long[BoardUtils.ALLIANCE_COUNT * BoardUtils.RANK_COUNT * WORDS];
+    this.tiles = new byte[BoardUtils.ALL_TILES_COUNT];
+    this.revealedBits = new long[WORDS];
+    this.pieceCounts = new int[BoardUtils.ALLIANCE_COUNT * BoardUtils.RANK_COUNT];
+    this.allianceCounts = new int[BoardUtils.ALLIANCE_COUNT];
+    this.materialScores = new int[BoardUtils.ALLIANCE_COUNT];
+  }
+
+  /**
+   * Gets the piece code of an Alliance rank. Piece codes ranges from 0 to
+   * (ALLIANCE_COUNT * RANK_COUNT) - 1.
+   * @param alliance Alliance of the piece.
+   * @param rankId rank ID of the piece.
+   * @return int piece code.
+   */
+  public static int getPieceCode(final Alliance alliance, final int rankId) {
+    return alliance.ordinal() * BoardUtils.RANK_COUNT + rankId;
+  }
+
+  /**
+   * Gets the word index of a tile within a bitset.
+   * @param tileId tile id.
+   * @return int word index.
+   */
+  public static int getWord(final int tileId) {
+    return tileId >>> 6;
+  }
+
+  /**
+   * Gets the bit of a tile within its bitset word.
+   * @param tileId tile id.
+   * @return long single bit mask.
+   */
+  public static long getBit(final int tileId) {
+    return 1L << (tileId & 63);
+  }
+
+  /**
+   * Places a hidden piece into a tile, replacing any occupying piece.
+   * @param tileId tile id.
+   * @param alliance Alliance of the piece.
+   * @param rankId rank ID of the piece.
+   */
+  public void setPiece(final int tileId, final Alliance alliance, final int rankId) {
+    if (tiles[tileId] != EMPTY)
+      clearTile(tileId);
+
+    final int word = getWord(tileId);
+    final long bit = getBit(tileId);
+    final int allianceId = alliance.ordinal();
+
+    allianceBits[allianceId * WORDS + word] |= bit;
+    rankBits[(allianceId * BoardUtils.RANK_COUNT + rankId) * WORDS + word] |= bit;
+    tiles[tileId] = (byte) (getPieceCode(alliance, rankId) + 1);
+    zobristKey ^= Zobrist.getPieceKey(getPieceCode(alliance, rankId), tileId);
+    pieceCounts[getPieceCode(alliance, rankId)]++;
+    allianceCounts[allianceId]++;
+    materialScores[allianceId] += BoardUtils.getRankValue(rankId);
+  }
+
+  /**
+   * Empties a tile. Also hides the tile.
+   * @param tileId tile id.
+   */
+  public void clearTile(final int tileId) {
+    final int pieceCode = tiles[tileId] - 1;
+
+    if (pieceCode < 0)
+      return;
+
+    final int word = getWord(tileId);
+    final long bit = getBit(tileId);
+
+    if ((revealedBits[word] & bit) != 0) {
+      revealedBits[word] &= ~bit;
+      zobristKey ^= Zobrist.getRevealedKey(tileId);
+    }
+
+    final int allianceId = pieceCode / BoardUtils.RANK_COUNT;
+
+    allianceBits[allianceId * WORDS + word] &= ~bit;
+    rankBits[pieceCode * WORDS + word] &= ~bit;
+    tiles[tileId] = EMPTY;
+    zobristKey ^= Zobrist.getPieceKey(pieceCode, tileId);
+    pieceCounts[pieceCode]--;
+    allianceCounts[allianceId]--;
+    materialScores[allianceId] -= BoardUtils.getRankValue(pieceCode % BoardUtils.RANK_COUNT);
+  }
+
+  /**
+   * Reveals or hides the occupying piece of a tile.
+   * @param tileId tile id.
+   * @param revealed true to reveal, false to hide.
+   * @return boolean true if successful, else false if tile is empty.
+   */
+  public boolean setRevealed(final int tileId, final boolean revealed) {
+    if (tiles[tileId] == EMPTY)
+      return false;
+
+    final int word = getWord(tileId);
+    final long bit = getBit(tileId);
+
+    if (((revealedBits[word] & bit) != 0) != revealed) {
+      revealedBits[word] ^= bit;
+      zobristKey ^= Zobrist.getRevealedKey(tileId);
+    }
+    return true;
+  }
+
+  /**
+   * Checks if the occupying piece of a tile is revealed to the opponent.
+   * @param tileId tile id.
+   * @return boolean true if revealed, else false if hidden or empty.
+   */
+  public boolean isRevealed(final int tileId) {
+    return (revealedBits[getWord(tileId)] & getBit(tileId)) != 0;
+  }
+
+  /**
+   * Gets the Zobrist key of all pieces and revealed tiles. Does not include
+   * the move maker. See Board.getZobristKey().
+   * @return long zobristKey field.
+   */
+  public long getZobristKey() {
+    return this.zobristKey;
+  }
+
+  /**
+   * Empties all tiles.
+   */
+  public void clear() {
+    Arrays.fill(allianceBits, 0L);
+    Arrays.fill(rankBits, 0L);
+    Arrays.fill(tiles, (byte) EMPTY);
+    Arrays.fill(revealedBits, 0L);
+    Arrays.fill(pieceCounts, 0);
+    Arrays.fill(allianceCounts, 0);
+    Arrays.fill(materialScores, 0);
+    zobristKey = 0L;
+  }
+
+  /**
+   * Copies all tiles of another BitBoard into this BitBoard.
+   * @param other BitBoard to copy from.
+   */
+  public void copyFrom(final BitBoard other) {
+    System.arraycopy(other.allianceBits, 0, allianceBits, 0, allianceBits.length);
+    System.arraycopy(other.rankBits, 0, rankBits, 0, rankBits.length);
+    System.arraycopy(other.tiles, 0, tiles, 0, tiles.length);
+    System.arraycopy(other.revealedBits, 0, revealedBits, 0, revealedBits.length);
+    System.arraycopy(other.pieceCounts, 0, pieceCounts, 0, pieceCounts.length);
+    System.arraycopy(other.allianceCounts, 0, allianceCounts, 0, allianceCounts.length);
+    System.arraycopy(other.materialScores, 0, materialScores, 0, materialScores.length);
+    zobristKey = other.zobristKey;
+  }
+
+  /**
+   * Checks if tile is occupied by any piece.
+   * @param tileId tile id.
+   * @return boolean true if occupied, else false.
+   */
+  public boolean isTileOccupied(final int tileId) {
+    return tiles[tileId] != EMPTY;
+  }
+
+  /**
+   * Checks if tile is occupied by a piece of the Alliance.
+   * @param tileId tile id.
+   * @param alliance Alliance of the piece.
+   * @return boolean true if occupied by the Alliance, else false.
+   */
+  public boolean isTileOccupied(final int tileId, final Alliance alliance) {
+    return (allianceBits[alliance.ordinal() * WORDS + getWord(tileId)] &
+            getBit(tileId)) != 0;
+  }
+
+  /**
+   * Gets the piece code of the occupying piece of a tile.
+   * @param tileId tile id.
+   * @return int piece code, else -1 if empty.
+   */
+  public int getPieceCode(final int tileId) {
+    return tiles[tileId] - 1;
+  }
+
+  /**
+   * Gets the rank ID of the occupying piece of a tile.
+   * @param tileId tile id.
+   * @return int rank ID, else -1 if empty.
+   */
+  public int getRankId(final int tileId) {
+    final int pieceCode = tiles[tileId] - 1;
+
+    if (pieceCode < 0)
+      return -1;
+
+    return pieceCode % BoardUtils.RANK_COUNT;
+  }
+
+  /**
+   * Gets the Alliance of the occupying piece of a tile.
+   * @param tileId tile id.
+   * @return Alliance of the piece, else null if empty.
+   */
+  public Alliance getAlliance(final int tileId) {
+    final int pieceCode = tiles[tileId] - 1;
+
+    if (pieceCode < 0)
+      return null;
+
+    return ALLIANCES[pieceCode / BoardUtils.RANK_COUNT];
+  }
+
+  /**
+   * Gets a word of the Alliance occupancy bitset.
+   * @param alliance Alliance of the pieces.
+   * @param word word index, 0 or 1.
+   * @return long occupancy bits.
+   */
+  public long getAllianceBits(final Alliance alliance, final int word) {
+    return allianceBits[alliance.ordinal() * WORDS + word];
+  }
+
+  /**
+   * Gets a word of the Alliance rank occupancy bitset.
+   * @param alliance Alliance of the pieces.
+   * @param rankId rank ID of the pieces.
+   * @param word word index, 0 or 1.
+   * @return long occupancy bits.
+   */
+  public long getRankBits(final Alliance alliance, final int rankId, final int word) {
+    return rankBits[(alliance.ordinal() * BoardUtils.RANK_COUNT + rankId) * WORDS + word];
+  }
+
+  /**
+   * Counts all pieces of the Alliance.
+   * @param alliance Alliance of the pieces.
+   * @return int pieces count.
+   */
+  public int countPieces(final Alliance alliance) {
+    return allianceCounts[alliance.ordinal()];
+  }
+
+  /**
+   * Counts all pieces of the Alliance rank.
+   * @param alliance Alliance of the pieces.
+   * @param rankId rank ID of the pieces.
+   * @return int pieces count.
+   */
+  public int countPieces(final Alliance alliance, final int rankId) {
+    return pieceCounts[getPieceCode(alliance, rankId)];
+  }
+
+  /**
+   * Gets the material score of all pieces of the Alliance.
+   * @param alliance Alliance of the pieces.
+   * @return int sum of the rank values of the pieces.
+   */
+  public int getMaterialScore(final Alliance alliance) {
+    return materialScores[alliance.ordinal()];
+  }
+
+  /**
+   * Gets the tile of the first piece of the Alliance rank.
+   * @param alliance Alliance of the piece.
+   * @param rankId rank ID of the piece.
+   * @return int tile id, else -1 if no piece found.
+   */
+  public int findPiece(final Alliance alliance, final int rankId) {
+    final int offset = (alliance.ordinal() * BoardUtils.RANK_COUNT + rankId) * WORDS;
+
+    if (rankBits[offset] != 0)
+      return Long.numberOfTrailingZeros(rankBits[offset]);
+    if (rankBits[offset + 1] != 0)
+      return 64 + Long.numberOfTrailingZeros(rankBits[offset + 1]);
+
+    return -1;
+  }
+
+}
@@ -1,10 +1,12 @@
 package engine;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 import engine.pieces.Captain;
 import engine.pieces.Colonel;
@@ -19,18 +21,19 @@ import engine.pieces.LtOne;
 import engine.pieces.LtTwo;
 import engine.pieces.Major;
 import engine.pieces.Piece;
+import engine.pieces.PieceType;
 import engine.pieces.Private;
 import engine.pieces.Sergeant;
 import engine.pieces.Spy;
 import engine.player.Player;
-import gui.BoardPanel;
 import utils.BoardUtils;
 import utils.Utils;
 
 /**
- * Main class that orchestrates all the classes of the engine package and gui.
+ * Main class that orchestrates all the classes of the engine package.
  * This class serves as the driver of the program that builds the board game
- * from scratch using internal and external classes.
+ * from scratch using internal and external classes. Has no gui dependency and
+ * notifies user interfaces through BoardListener.
  * Uses 1D array for as coordinate system. 9x8 board with 0 to 71 tile indices.
  * Contains BoardBuilder and Tile inner classes.
  *
@@ -42,34 +45,72 @@ import utils.Utils;
 public class Board {
 
   /** List of all Tiles that contains data of each piece */
-  private static List<Tile> gameBoard;
+  private List<Tile> gameBoard;
 
   /** Player instance that all contains all infos on black pieces */
-  private static Player playerBlack;
+  private Player playerBlack;
 
   /** Player instance that all contains all infos on white pieces */
-  private static Player playerWhite;
+  private Player playerWhite;
 
   /** Black player's name assigned when game initialized */
-  private static String playerBlackName;
+  private String playerBlackName;
 
   /** White player's name assigned when game initialized */
-  private static String playerWhiteName;
+  private String playerWhiteName;
 
-  /** Black pieces counter */
-  private static int blackPiecesLeft = 0;
+  /** Packed board position kept in sync with gameBoard Tiles */
+  private final BitBoard bitBoard = new BitBoard();
 
-  /** White pieces counter */
-  private static int whitePiecesLeft = 0;
+  /** Classified moves of each tile. Invalidated by gameBoard Tiles on change */
+  private final LegalMoveCache legalMoveCache = new LegalMoveCache(bitBoard);
+
+  /** Undo record outcomes. See makeMove(). */
+  private static final int UNDO_NORMAL = 0;
+  private static final int UNDO_TARGET_ELIMINATED = 1;
+  private static final int UNDO_SOURCE_ELIMINATED = 2;
+  private static final int UNDO_BOTH_ELIMINATED = 3;
+
+  /** Initial capacity of the undo stack. Doubles as needed. */
+  private static final int INITIAL_UNDO_CAPACITY = 256;
+
+  /**
+   * Undo stack of packed undo records. Bits 0 - 6 hold the origin, bits 7 -
+   * 13 hold the destination, bits 14 - 15 hold the outcome, bits 16 - 17
+   * hold the previous end game winner, and bits 18 - 19 hold the source and
+   * target revealed states.
+   */
+  private long[] undoRecords = new long[INITIAL_UNDO_CAPACITY];
+
+  /** Moved source pieces of the undo stack */
+  private Piece[] undoSourcePieces = new Piece[INITIAL_UNDO_CAPACITY];
+
+  /** Engaged target pieces of the undo stack. Null if target tile was empty. */
+  private Piece[] undoTargetPieces = new Piece[INITIAL_UNDO_CAPACITY];
+
+  /** Game checksums before each move of the undo stack */
+  private long[] undoChecksums = new long[INITIAL_UNDO_CAPACITY];
+
+  /** Current size of the undo stack */
+  private int undoCount = 0;
+
+  /** Random streams of all random sources of the game. See setSeed() */
+  private RandomStreams randomStreams = new RandomStreams(new SplittableRandom().nextLong());
+
+  /** Running checksum of all moves made and positions reached this game */
+  private long gameChecksum = 0L;
 
   /** Board builder instance */
   private BoardBuilder customBuilder;
 
-  /** BoardPanel gui instance */
-  private BoardPanel boardPanel;
+  /** Listeners notified of game state changes */
+  private final List<BoardListener> boardListeners = new ArrayList<>();
 
   /** Board initial configurations for saving game state */
-  private List<Tile> initBoardConfig;
+  private PositionSnapshot initBoardConfig;
+
+  /** Most recent snapshot taken by getSnapshot(). Shares rows with the next one */
+  private PositionSnapshot lastSnapshot;
 
   /** Game initialization checker */
   private boolean gameInitialized = false;
@@ -78,7 +119,7 @@ public class Board {
   private boolean gameStarted = false;
 
   /** Debug mode toggle for debugging purposes */
-  private static boolean debugMode;
+  private boolean debugMode;
 
   /** Current turn counter */
   private int currentTurn;
@@ -102,7 +143,8 @@ public class Board {
   private Alliance endGameWinner;
 
   /**
-   * No argument constructor
+   * No argument constructor. All game state is owned by this Board instance,
+   * so any number of Boards can be created and played independently.
    */
   public Board() {}
 
@@ -123,6 +165,9 @@ public class Board {
    */
   private void emptyBoard() {
     gameBoard = new ArrayList<>();
+    bitBoard.clear();
+    legalMoveCache.invalidateAll();
+    clearUndoStack();
     // Add new empty Tiles in board
     for (int i = 0; i < BoardUtils.ALL_TILES_COUNT; i++) {
       // Set Tile territory
@@ -142,7 +187,9 @@ public class Board {
 
     // Use custom build if exists, else randomly placed pieces build.
     final BoardBuilder builder = this.customBuilder == null ?
-      new BoardBuilder().createRandomBuild() : this.customBuilder;
+      new BoardBuilder(this).createRandomBuild(new SetupGenerator(
+          getRandom(RandomStreams.SETUP_STREAM).nextLong())) :
+      this.customBuilder;
 
     // Insert pieces to Board Tiles based on build config.
     for (final Map.Entry<Integer, Piece> entry : builder.boardConfig.entrySet()) {
@@ -151,8 +198,6 @@ public class Board {
         gameBoard.get(entry.getKey()).insertPiece(entry.getValue());
       }
     };
-    blackPiecesLeft = builder.getBlackPiecesCount();
-    whitePiecesLeft = builder.getWhitePiecesCount();
   }
 
   /**
@@ -185,9 +230,8 @@ public class Board {
     this.gameInitialized = true;
     setMoveMaker(playerWhite); // TODO: Option to pick first move
 
-    // Displays Board GUI
-    displayBoard();
-    this.boardPanel.arrangeMode();
+    for (final BoardListener listener : boardListeners)
+      listener.onGameInitialized(this);
 
     if (isDebugMode())
       System.out.println("Board:\n" + this);
@@ -213,7 +257,9 @@ public class Board {
     this.gameInitialized = false;
     this.currentTurn = 1;
     this.lastExecutedTurn = 0;
-    this.boardPanel.startMode();
+
+    for (final BoardListener listener : boardListeners)
+      listener.onGameStarted(this);
 
     if (getMoveMaker() == Alliance.BLACK)
       this.firstMoveMaker = Alliance.BLACK;
@@ -221,16 +267,13 @@ public class Board {
       this.firstMoveMaker = Alliance.WHITE;
 
     // Save initial board arrangement for saving and loading game state.
-    this.initBoardConfig = new ArrayList<>();
-    for (int i = 0; i < gameBoard.size(); i++) {
-      // Make copies of all Tiles in gameBoard into initBoardConfig.
-      initBoardConfig.add(gameBoard.get(i).clone());
-    }
+    this.initBoardConfig = getSnapshot();
 
     if (isDebugMode()) {
       System.out.println(this);
       System.out.println("CurrentTurn: " + currentTurn + "\n" +
-                         "TotalPieces: " + (blackPiecesLeft + whitePiecesLeft) + "\n");
+                         "TotalPieces: " + (getPiecesLeft(Alliance.BLACK) +
+                                            getPiecesLeft(Alliance.WHITE)) + "\n");
     }
   }
 
@@ -257,7 +300,8 @@ public class Board {
     setMoveMaker(playerWhite);
 
     // Go into arrange mode
-    this.boardPanel.arrangeMode();
+    for (final BoardListener listener : boardListeners)
+      listener.onGameRestarted(this);
   }
 
   /**
@@ -277,41 +321,58 @@ public class Board {
   }
 
   /**
-   * Gets List of Tile that contains initial board
-   * pieces arrangement.
-   * @return List<Tile> initBoardConfig field.
+   * Gets the snapshot of the initial board pieces arrangement.
+   * @return PositionSnapshot initBoardConfig field.
    */
-  public List<Tile> getInitBoardConfig() {
+  public PositionSnapshot getInitBoardConfig() {
     return this.initBoardConfig;
   }
 
   /**
-   * Method that displays Board via GUI BoardPanel instance.
+   * Takes an immutable snapshot of the current position. Successive snapshots
+   * share all rows that have not changed in between. See PositionSnapshot.
+   * @return PositionSnapshot of the current position.
    */
-  public void displayBoard() {
-    this.boardPanel = new BoardPanel(this);
+  public PositionSnapshot getSnapshot() {
+    this.lastSnapshot = this.lastSnapshot == null ?
+      PositionSnapshot.of(this) : this.lastSnapshot.next(this);
+
+    return this.lastSnapshot;
+  }
+
+  /**
+   * Adds a listener to be notified of game state changes.
+   * @param listener BoardListener to add.
+   * @return boolean true if successful, else false if null or already added.
+   */
+  public boolean addBoardListener(final BoardListener listener) {
+    if (listener == null || boardListeners.contains(listener))
+      return false;
+
+    return boardListeners.add(listener);
   }
 
   /**
-   * Gets boardPanel field instance.
-   * @return BoardPanel boardPanel field.
+   * Removes a listener of game state changes.
+   * @param listener BoardListener to remove.
+   * @return boolean true if successful, else false if not added.
    */
-  public BoardPanel getBoardPanel() {
-    return this.boardPanel;
+  public boolean removeBoardListener(final BoardListener listener) {
+    return boardListeners.remove(listener);
   }
 
   /**
    * Method that sets debug mode state.
    */
   public void setDebugMode(final boolean debug) {
-    debugMode = debug;
+    this.debugMode = debug;
   }
 
   /**
-   * Debug mode checker method. Used in static way by other classes.
+   * Debug mode checker method.
    */
-  public static boolean isDebugMode() {
-    return debugMode;
+  public boolean isDebugMode() {
+    return this.debugMode;
   }
 
   /**
@@ -331,6 +392,74 @@ public class Board {
     return gameBoard;
   }
 
+  /**
+   * Gets the packed representation of the current board state.
+   * @return BitBoard bitBoard field.
+   */
+  public BitBoard getBitBoard() {
+    return this.bitBoard;
+  }
+
+  /**
+   * Gets the count of pieces left of an Alliance. Updated on every capture,
+   * draw, undo and redo.
+   * @param alliance Alliance of the pieces.
+   * @return int pieces left.
+   */
+  public int getPiecesLeft(final Alliance alliance) {
+    return bitBoard.countPieces(alliance);
+  }
+
+  /**
+   * Gets the count of pieces left of an Alliance rank.
+   * @param alliance Alliance of the pieces.
+   * @param rankId rank ID of the pieces. See BoardUtils.
+   * @return int pieces left.
+   */
+  public int getPiecesLeft(final Alliance alliance, final int rankId) {
+    return bitBoard.countPieces(alliance, rankId);
+  }
+
+  /**
+   * Gets the material score of the pieces left of an Alliance.
+   * See BoardUtils.getRankValue().
+   * @param alliance Alliance of the pieces.
+   * @return int material score.
+   */
+  public int getMaterialScore(final Alliance alliance) {
+    return bitBoard.getMaterialScore(alliance);
+  }
+
+  /**
+   * Gets the material score of an Alliance minus the material score of the
+   * opposing Alliance.
+   * @param alliance Alliance to get the balance for.
+   * @return int material balance. Positive if ahead.
+   */
+  public int getMaterialBalance(final Alliance alliance) {
+    return bitBoard.getMaterialScore(alliance) -
+      bitBoard.getMaterialScore(alliance == Alliance.BLACK ? Alliance.WHITE : Alliance.BLACK);
+  }
+
+  /**
+   * Gets the legal move cache of this Board.
+   * @return LegalMoveCache legalMoveCache field.
+   */
+  public LegalMoveCache getLegalMoveCache() {
+    return this.legalMoveCache;
+  }
+
+  /**
+   * Checks if the piece in the origin tile can legally move into the
+   * destination tile. Looked up from the legal move cache.
+   * @param origin origin tile coordinates.
+   * @param destination destination tile coordinates.
+   * @return boolean true if legal, else false.
+   */
+  public boolean isLegalMove(final int origin, final int destination) {
+    return legalMoveCache.isLegalMove(origin, destination);
+  }
+
   /**
    * Swaps two pieces and update piece coordinates.
    * @param sourcePieceCoords source piece coordinates.
@@ -340,12 +469,16 @@ public class Board {
   public boolean swapPiece(final int sourcePieceCoords, final int targetPieceCoords) {
     if (this.getTile(sourcePieceCoords).isTileOccupied() &&
         this.getTile(targetPieceCoords).isTileOccupied()) {
-      final Piece sourcePiece = this.getTile(sourcePieceCoords).getPiece().clone();
-      final Piece targetPiece = this.getTile(targetPieceCoords).getPiece().clone();
+      final Piece sourcePiece = this.getTile(sourcePieceCoords).getPiece();
+      final Piece targetPiece = this.getTile(targetPieceCoords).getPiece();
+      final boolean isSourceRevealed = bitBoard.isRevealed(sourcePieceCoords);
+      final boolean isTargetRevealed = bitBoard.isRevealed(targetPieceCoords);
       sourcePiece.setPieceCoords(targetPieceCoords);
       targetPiece.setPieceCoords(sourcePieceCoords);
       this.getBoard().get(sourcePieceCoords).replacePiece(targetPiece);
       this.getBoard().get(targetPieceCoords).replacePiece(sourcePiece);
+      bitBoard.setRevealed(sourcePieceCoords, isTargetRevealed);
+      bitBoard.setRevealed(targetPieceCoords, isSourceRevealed);
 
       return true;
     }
@@ -377,13 +510,14 @@ public class Board {
    * @return boolean true if successful, else false.
    */
   public boolean movePiece(final int sourcePieceCoords, final int targetPieceCoords) {
-    // insert copy of source piece into target tile
+    // relocate source piece into target tile
     if (this.getTile(targetPieceCoords).isTileEmpty()) {
-      final Piece sourcePieceCopy = this.getTile(sourcePieceCoords).getPiece().clone();
-      sourcePieceCopy.setPieceCoords(targetPieceCoords);
-      this.getTile(targetPieceCoords).insertPiece(sourcePieceCopy);
-      // delete source piece
+      final Piece sourcePiece = this.getTile(sourcePieceCoords).getPiece();
+      final boolean isSourceRevealed = bitBoard.isRevealed(sourcePieceCoords);
       this.getTile(sourcePieceCoords).removePiece();
+      sourcePiece.setPieceCoords(targetPieceCoords);
+      this.getTile(targetPieceCoords).insertPiece(sourcePiece);
+      bitBoard.setRevealed(targetPieceCoords, isSourceRevealed);
 
       return true;
     }
@@ -423,6 +557,333 @@ public class Board {
     return false;
   }
 
+  /**
+   * Makes a move and pushes its undo record into the undo stack. Resolves the
+   * engagement if the destination is occupied by an opposing piece, concludes
+   * the game if a Flag has been captured or has succeeded, and switches the
+   * move maker. Pieces are relocated, never copied.
+   * @param move int encoded move. See Move.encodeMove().
+   * @return boolean true if successful, else false if move is illegal.
+   */
+  public boolean makeMove(final int move) {
+    final int origin = Move.decodeOrigin(move);
+    final int destination = Move.decodeDestination(move);
+
+    if (!legalMoveCache.isLegalMove(origin, destination))
+      return false;
+
+    final Tile sourceTile = gameBoard.get(origin);
+    final Tile targetTile = gameBoard.get(destination);
+    final Piece sourcePiece = sourceTile.getPiece();
+    final Piece targetPiece = targetTile.isTileOccupied() ? targetTile.getPiece() : null;
+    final Alliance previousWinner = this.endGameWinner;
+    final boolean isSourceRevealed = bitBoard.isRevealed(origin);
+    final boolean isTargetRevealed = bitBoard.isRevealed(destination);
+    final int sourceRankId = sourcePiece.getRankId();
+    int engagement = Arbiter.NO_ENGAGEMENT;
+    int outcome;
+
+    if (targetPiece == null) {
+      outcome = UNDO_NORMAL;
+      sourceTile.removePiece();
+      sourcePiece.setPieceCoords(destination);
+      targetTile.insertPiece(sourcePiece);
+      bitBoard.setRevealed(destination, isSourceRevealed);
+
+      // Check if Flag has been maneuvered into the opposite end row of the board.
+      if (sourceRankId == BoardUtils.FLAG_RANK_ID &&
+          ((sourcePiece.getPieceAlliance() == Alliance.BLACK &&
+            destination >= BoardUtils.LAST_ROW_INIT) ||
+           (sourcePiece.getPieceAlliance() == Alliance.WHITE &&
+            destination < BoardUtils.SECOND_ROW_INIT)))
+        this.endGameWinner = sourcePiece.getPieceAlliance();
+    } else {
+      engagement = Arbiter.getOutcome(sourceRankId, targetPiece.getRankId());
+
+      switch (engagement) {
+        case Arbiter.DRAW:
+          outcome = UNDO_BOTH_ELIMINATED;
+          sourceTile.removePiece();
+          targetTile.removePiece();
+          break;
+        case Arbiter.LOSE:
+          outcome = UNDO_SOURCE_ELIMINATED;
+          sourceTile.removePiece();
+          break;
+        default:
+          outcome = UNDO_TARGET_ELIMINATED;
+          sourceTile.removePiece();
+          sourcePiece.setPieceCoords(destination);
+          targetTile.replacePiece(sourcePiece);
+          bitBoard.setRevealed(destination, isSourceRevealed);
+          break;
+      }
+
+      // Check if source or target piece is Flag rank, then conclude the game.
+      if (engagement == Arbiter.FLAG_CAPTURE)
+        this.endGameWinner = sourcePiece.getPieceAlliance();
+      else if (sourceRankId == BoardUtils.FLAG_RANK_ID)
+        this.endGameWinner = targetPiece.getPieceAlliance();
+    }
+
+    pushUndoRecord(origin | (destination << 7) | (outcome << 14) |
+                   (encodeWinner(previousWinner) << 16) |
+                   ((isSourceRevealed ? 1 : 0) << 18) |
+                   ((isTargetRevealed ? 1 : 0) << 19),
+                   sourcePiece, targetPiece);
+    toggleMoveMaker();
+    this.gameChecksum = RandomStreams.mix64(this.gameChecksum + move) ^ getZobristKey();
+
+    for (int i = 0; i < boardListeners.size(); i++)
+      boardListeners.get(i).onMoveMade(this, move, sourcePiece.getPieceType().getPieceCode(),
+                                       targetPiece == null ? -1 :
+                                       targetPiece.getPieceType().getPieceCode(),
+                                       engagement);
+
+    return true;
+  }
+
+  /**
+   * Unmakes the most recent move made by makeMove() and pops its undo record.
+   * Restores pieces, end game winner and move maker exactly as they were.
+   * @return boolean true if successful, else false if undo stack is empty.
+   */
+  public boolean unmakeMove() {
+    if (undoCount == 0)
+      return false;
+
+    undoCount--;
+    final long record = undoRecords[undoCount];
+    final Piece sourcePiece = undoSourcePieces[undoCount];
+    final Piece targetPiece = undoTargetPieces[undoCount];
+    undoSourcePieces[undoCount] = null;
+    undoTargetPieces[undoCount] = null;
+    this.gameChecksum = undoChecksums[undoCount];
+
+    final int origin = (int) (record & 0x7F);
+    final int destination = (int) ((record >>> 7) & 0x7F);
+    final int outcome = (int) ((record >>> 14) & 0x3);
+    final Tile sourceTile = gameBoard.get(origin);
+    final Tile targetTile = gameBoard.get(destination);
+
+    switch (outcome) {
+      case UNDO_NORMAL:
+        targetTile.removePiece();
+        break;
+      case UNDO_TARGET_ELIMINATED:
+        targetPiece.setPieceCoords(destination);
+        targetTile.replacePiece(targetPiece);
+        bitBoard.setRevealed(destination, ((record >>> 19) & 1) != 0);
+        break;
+      case UNDO_BOTH_ELIMINATED:
+        targetPiece.setPieceCoords(destination);
+        targetTile.insertPiece(targetPiece);
+        bitBoard.setRevealed(destination, ((record >>> 19) & 1) != 0);
+        break;
+      default:
+        break;
+    }
+    sourcePiece.setPieceCoords(origin);
+    sourceTile.insertPiece(sourcePiece);
+    bitBoard.setRevealed(origin, ((record >>> 18) & 1) != 0);
+
+    this.endGameWinner = decodeWinner((int) ((record >>> 16) & 0x3));
+    toggleMoveMaker();
+
+    for (int i = 0; i < boardListeners.size(); i++)
+      boardListeners.get(i).onMoveUnmade(this, Move.encodeMove(origin, destination, Move.NORMAL_MOVE));
+
+    return true;
+  }
+
+  /**
+   * Gets the Zobrist key of the current position. Covers all pieces, revealed
+   * pieces and the move maker. Maintained incrementally. See Zobrist.
+   * @return long position key.
+   */
+  public long getZobristKey() {
+    return bitBoard.getZobristKey() ^ Zobrist.getMoveMakerKey(this.moveMaker);
+  }
+
+  /**
+   * Reveals or hides the piece of a tile to the opponent.
+   * @param pieceCoords piece coordinates.
+   * @param revealed true to reveal, false to hide.
+   * @return boolean true if successful, else false if tile is empty.
+   */
+  public boolean setPieceRevealed(final int pieceCoords, final boolean revealed) {
+    return bitBoard.setRevealed(pieceCoords, revealed);
+  }
+
+  /**
+   * Checks if the piece of a tile is revealed to the opponent.
+   * @param pieceCoords piece coordinates.
+   * @return boolean true if revealed, else false if hidden or empty.
+   */
+  public boolean isPieceRevealed(final int pieceCoords) {
+    return bitBoard.isRevealed(pieceCoords);
+  }
+
+  /**
+   * Gets the one line notation of the current position. See PositionNotation.
+   * @return String position notation.
+   */
+  public String getPositionNotation() {
+    return PositionNotation.toNotation(this);
+  }
+
+  /**
+   * Replaces the current position with a position notation. Creates the
+   * pieces for the assigned Players, restores revealed pieces, move maker and
+   * turn counters, and clears the end game winner and the undo stack.
+   * See PositionNotation.
+   * @param notation position notation.
+   * @return boolean true if successful, else false if the notation is
+   * malformed. Current position is left unchanged if unsuccessful.
+   */
+  public boolean loadPosition(final String notation) {
+    final BitBoard position = new BitBoard();
+    final int turn = PositionNotation.parseCurrentTurn(notation);
+    final int executedTurn = PositionNotation.parseLastExecutedTurn(notation);
+
+    if (!PositionNotation.parseTiles(notation, position) || turn < 0 || executedTurn < 0)
+      return false;
+
+    emptyBoard();
+
+    for (int tileId = 0; tileId < BoardUtils.ALL_TILES_COUNT; tileId++) {
+      final PieceType pieceType = PieceType.get(position.getPieceCode(tileId));
+
+      if (pieceType == null)
+        continue;
+
+      final Piece piece = BoardUtils.pieceInstanceCreator(
+          pieceType.getRank(), getPlayer(pieceType.getPieceAlliance()),
+          pieceType.getPieceAlliance());
+      piece.setPieceCoords(tileId);
+      gameBoard.get(tileId).insertPiece(piece);
+      bitBoard.setRevealed(tileId, position.isRevealed(tileId));
+    }
+
+    this.endGameWinner = null;
+    this.currentTurn = turn;
+    this.lastExecutedTurn = executedTurn;
+    this.moveMaker = PositionNotation.parseMoveMaker(notation);
+
+    if (playerBlack != null)
+      playerBlack.setMoveMaker(this.moveMaker == Alliance.BLACK);
+    if (playerWhite != null)
+      playerWhite.setMoveMaker(this.moveMaker == Alliance.WHITE);
+
+    return true;
+  }
+
+  /**
+   * Enables deterministic mode. Fixes every random source of the game, i.e.
+   * setup generation, AI tie-breaks and determinization sampling, with a
+   * single seed, and rewinds all of them. Games with the same seed and the
+   * same moves have the same game checksum on every machine.
+   * @param seed seed of all random sources.
+   */
+  public void setSeed(final long seed) {
+    this.randomStreams = new RandomStreams(seed);
+  }
+
+  /**
+   * Gets the seed of all random sources of the game. Randomly picked unless
+   * set with setSeed(), and can be used to replay the game.
+   * @return long seed.
+   */
+  public long getSeed() {
+    return randomStreams.getSeed();
+  }
+
+  /**
+   * Gets the random number generator of a random source of the game.
+   * @param streamId RandomStreams.SETUP_STREAM, AI_STREAM or
+   * DETERMINIZATION_STREAM.
+   * @return SplittableRandom of the random source.
+   */
+  public SplittableRandom getRandom(final int streamId) {
+    return randomStreams.getStream(streamId);
+  }
+
+  /**
+   * Gets the running checksum of all moves made and positions reached since
+   * the board has been built. Restored by unmakeMove().
+   * @return long game checksum. 0 if no move has been made.
+   */
+  public long getGameChecksum() {
+    return this.gameChecksum;
+  }
+
+  /**
+   * Gets the current size of the undo stack.
+   * @return int count of moves that can be unmade.
+   */
+  public int getUndoStackSize() {
+    return this.undoCount;
+  }
+
+  /**
+   * Empties the undo stack.
+   */
+  private void clearUndoStack() {
+    Arrays.fill(undoSourcePieces, 0, undoCount, null);
+    Arrays.fill(undoTargetPieces, 0, undoCount, null);
+    undoCount = 0;
+    gameChecksum = 0L;
+  }
+
+  /**
+   * Pushes an undo record into the undo stack, growing the stack if full.
+   */
+  private void pushUndoRecord(final long record, final Piece sourcePiece,
+                              final Piece targetPiece) {
+    if (undoCount == undoRecords.length) {
+      final int capacity = undoRecords.length * 2;
+      undoRecords = Arrays.copyOf(undoRecords, capacity);
+      undoSourcePieces = Arrays.copyOf(undoSourcePieces, capacity);
+      undoTargetPieces = Arrays.copyOf(undoTargetPieces, capacity);
+      undoChecksums = Arrays.copyOf(undoChecksums, capacity);
+    }
+    undoChecksums[undoCount] = this.gameChecksum;
+    undoRecords[undoCount] = record;
+    undoSourcePieces[undoCount] = sourcePiece;
+    undoTargetPieces[undoCount] = targetPiece;
+    undoCount++;
+  }
+
+  /**
+   * Encodes end game winner into 2 bits for the undo record.
+   */
+  private static int encodeWinner(final Alliance winner) {
+    return winner == null ? 0 : winner.ordinal() + 1;
+  }
+
+  /**
+   * Decodes end game winner from the undo record.
+   */
+  private static Alliance decodeWinner(final int winner) {
+    return winner == 0 ? null : Alliance.values()[winner - 1];
+  }
+
+  /**
+   * Switches move maker to opposing Alliance without console output. Keeps the
+   * Players move maker state in sync if assigned.
+   */
+  private void toggleMoveMaker() {
+    if (this.moveMaker == null)
+      return;
+
+    this.moveMaker = this.moveMaker == Alliance.BLACK ? Alliance.WHITE : Alliance.BLACK;
+
+    if (playerBlack != null)
+      playerBlack.setMoveMaker(this.moveMaker == Alliance.BLACK);
+    if (playerWhite != null)
+      playerWhite.setMoveMaker(this.moveMaker == Alliance.WHITE);
+  }
+
   /**
    * Method that adds Tile into gameBoard field.
    * @param tileId tile id.
@@ -430,7 +891,7 @@ public class Board {
    * @param occupied is tile occupied by a piece.
    */
   private final void addTile(final int tileId, final Alliance territory) {
-    gameBoard.add(new Tile(tileId, territory));
+    gameBoard.add(new Tile(tileId, territory, this));
   }
 
   /**
@@ -650,14 +1111,14 @@ public class Board {
    * Sets the black player name.
    */
   public void setBlackPlayerName(final String playerName) {
-    playerBlackName = playerName;
+    this.playerBlackName = playerName;
   }
 
   /**
    * Sets the white player name.
    */
   public void setWhitePlayerName(final String playerName) {
-    playerWhiteName = playerName;
+    this.playerWhiteName = playerName;
   }
 
   /**
@@ -674,7 +1135,8 @@ public class Board {
    * @return boolean true if successful, else false.
    */
   public boolean setMoveMaker(final Player player) {
-    if (!player.isMoveMaker()) {
+    // Compare Alliances directly. Player.isMoveMaker() reports an error if not.
+    if (this.moveMaker != player.getAlliance()) {
       if (player.getAlliance() == Alliance.BLACK) {
         playerBlack.setMoveMaker(true);
         playerWhite.setMoveMaker(false);
@@ -728,45 +1190,31 @@ public class Board {
 
   @Override
   public String toString() {
-    String debugBoard = "\n    0 1 2 3 4 5 6 7 8\n";
-    debugBoard += "    _________________\n";
-    for (int i = 0; i < BoardUtils.ALL_TILES_COUNT / 2; i += 9) {
-      if (i < 10)
-        debugBoard += " " + i + " |";
-      else
-        debugBoard += i + " |";
-      for (int j = i; j < i + 9; j++) {
-        if (this.getTile(j).isTileEmpty()) {
-          debugBoard += "-";
-        } else {
-          final String rank = this.getTile(j).getPiece().getRank();
-          debugBoard += rank.substring(0, 1);
-        }
-        debugBoard += " ";
-      }
-      debugBoard += "\n";
-    }
+    final StringBuilder debugBoard = new StringBuilder(512);
+    debugBoard.append("\n    0 1 2 3 4 5 6 7 8\n");
+    debugBoard.append("    _________________\n");
 
-    debugBoard += "   |-----------------\n";
+    for (int i = 0; i < BoardUtils.ALL_TILES_COUNT; i += 9) {
+      if (i == BoardUtils.ALL_TILES_COUNT / 2)
+        debugBoard.append("   |-----------------\n");
 
-    for (int i = BoardUtils.ALL_TILES_COUNT / 2; i < BoardUtils.ALL_TILES_COUNT; i += 9) {
       if (i < 10)
-        debugBoard += " " + i + " |";
-      else
-        debugBoard += i + " |";
+        debugBoard.append(' ');
+      debugBoard.append(i).append(" |");
+
       for (int j = i; j < i + 9; j++) {
-        if (this.getTile(j).isTileEmpty()) {
-          debugBoard += "-";
-        } else {
-          final String rank = this.getTile(j).getPiece().getRank();
-          debugBoard += rank.substring(0, 1);
-        }
-        debugBoard += " ";
+        final int rankId = bitBoard.getRankId(j);
+
+        if (rankId < 0)
+          debugBoard.append('-');
+        else
+          debugBoard.append(BoardUtils.RANKS[rankId].charAt(0));
+        debugBoard.append(' ');
       }
-      debugBoard += "\n";
+      debugBoard.append('\n');
     }
 
-    return debugBoard;
+    return debugBoard.toString();
   }
 
   /**
@@ -778,19 +1226,55 @@ public class Board {
     /** HashMap of board configuration that contains all designated pieces */
     private final Map<Integer, Piece> boardConfig;
 
+    /** Board that owns the Players of the pieces. Null if detached. */
+    private final Board board;
+
     /** Black pieces counter */
     private int blackPiecesCount;
 
     /** White pieces counter */
     private int whitePiecesCount;
 
-    /** No argument constructor that initializes all class fields. */
+    /**
+     * No argument constructor that initializes all class fields. Pieces
+     * created by this builder will have no owner Player.
+     */
     public BoardBuilder() {
+      this(null);
+    }
+
+    /**
+     * Constructor that takes in the Board whose Players will own the pieces
+     * created by this builder.
+     * @param board Board to build the configuration for.
+     */
+    public BoardBuilder(final Board board) {
       this.boardConfig = new HashMap<>();
+      this.board = board;
       this.blackPiecesCount = 0;
       this.whitePiecesCount = 0;
     }
 
+    /**
+     * Gets the Player of the Alliance from the Board of this builder.
+     * @param alliance Alliance of the Player.
+     * @return Player of the Board, else null if detached.
+     */
+    private Player getPlayer(final Alliance alliance) {
+      if (board == null)
+        return null;
+
+      return board.getPlayer(alliance);
+    }
+
+    /**
+     * Debug mode checker of the Board of this builder.
+     * @return boolean true if Board is in debug mode, else false.
+     */
+    private boolean isDebugMode() {
+      return board != null && board.isDebugMode();
+    }
+
     /**
      * Gets black pieces count added to boardConfig field.
      * @return int blackPiecesCount field.
@@ -804,7 +1288,7 @@ public class Board {
      * @return int whitePiecesCount field.
      */
     public int getWhitePiecesCount() {
-      return blackPiecesCount;
+      return whitePiecesCount;
     }
 
     /**
@@ -812,6 +1296,9 @@ public class Board {
      * @return this with pre-made board configuration.
      */
     public BoardBuilder createDemoBoardBuild() {
+      final Player playerBlack = getPlayer(Alliance.BLACK);
+      final Player playerWhite = getPlayer(Alliance.WHITE);
+
       // Start Tile row index.
       final int[] row = {0, 8, 17, 26};
 
@@ -883,64 +1370,48 @@ public class Board {
      * @return this with random board configuration.
      */
     public BoardBuilder createRandomBuild() {
-      final int[] occupiedTiles = {};
+      return createRandomBuild(new SetupGenerator(new SplittableRandom().nextLong()));
+    }
+
+    /**
+     * Method thats creates reproducible random board configuration from a
+     * seeded setup generator. Runs in linear time.
+     * @param generator SetupGenerator to draw the setup of each Alliance from.
+     * @return this with random board configuration.
+     */
+    public BoardBuilder createRandomBuild(final SetupGenerator generator) {
+      final byte[] setup = new byte[SetupGenerator.TERRITORY_TILES_COUNT];
 
       if (isDebugMode())
         System.out.println("Inserting random pieces...");
 
-      // Black pieces
-      final int[] blackTerritoryBounds = {0, (BoardUtils.ALL_TILES_COUNT / 2) - 1};
-      final List<Piece> unsetBlackPieces = new ArrayList<>();
-
-      unsetBlackPieces.add(new GeneralFive(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new GeneralFour(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new GeneralThree(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new GeneralTwo(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new GeneralOne(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new Colonel(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new LtCol(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new Major(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new Captain(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new LtOne(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new LtTwo(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new Sergeant(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new Private(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new Flag(playerBlack, Alliance.BLACK));
-      unsetBlackPieces.add(new Spy(playerBlack, Alliance.BLACK));
-
-      // Sets black pieces randomly excluding already occupied tiles.
-      for (final Piece unsetPiece : unsetBlackPieces) {
-        setAllPieceInstanceRandomly(
-            this, unsetPiece, blackTerritoryBounds[0],
-            blackTerritoryBounds[1], occupiedTiles);
+      // Black pieces, then white pieces.
+      for (final Alliance alliance : new Alliance[] {Alliance.BLACK, Alliance.WHITE}) {
+        generator.nextSetup(setup);
+        createSetupBuild(alliance, setup);
       }
 
-      // White pieces
-      final int[] whiteTerritoryBounds = {BoardUtils.ALL_TILES_COUNT / 2,
-        (BoardUtils.ALL_TILES_COUNT) - 1};
-      final List<Piece> unsetWhitePieces = new ArrayList<>();
-
-      unsetWhitePieces.add(new GeneralFive(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new GeneralFour(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new GeneralThree(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new GeneralTwo(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new GeneralOne(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new Colonel(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new LtCol(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new Major(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new Captain(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new LtOne(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new LtTwo(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new Sergeant(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new Private(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new Flag(playerWhite, Alliance.WHITE));
-      unsetWhitePieces.add(new Spy(playerWhite, Alliance.WHITE));
-
-      // Sets white pieces randomly excluding already occupied tiles.
-      for (final Piece unsetPiece : unsetWhitePieces) {
-        setAllPieceInstanceRandomly(
-            this, unsetPiece, whiteTerritoryBounds[0],
-            whiteTerritoryBounds[1], occupiedTiles);
+      return this;
+    }
+
+    /**
+     * Method that creates the board configuration of an Alliance from a setup.
+     * See SetupGenerator for the setup layout.
+     * @param alliance Alliance of the pieces.
+     * @param setup rank ID of each territory tile, else SetupGenerator.EMPTY.
+     * @return this with the Alliance pieces configured.
+     */
+    public BoardBuilder createSetupBuild(final Alliance alliance, final byte[] setup) {
+      final Player player = getPlayer(alliance);
+
+      for (int i = 0; i < setup.length; i++) {
+        if (setup[i] == SetupGenerator.EMPTY)
+          continue;
+
+        final Piece piece = BoardUtils.pieceInstanceCreator(
+            BoardUtils.RANKS[setup[i]], player, alliance);
+        piece.setPieceCoords(SetupGenerator.getTileId(alliance, i));
+        setPiece(piece);
       }
 
       return this;
@@ -988,21 +1459,32 @@ public class Board {
     public void setAllPieceInstanceRandomly(final BoardBuilder builder, final Piece piece,
                                             final int from, final int to,
                                             final int[] occupiedTiles) {
-      Piece pieceCopy = piece.clone();
+      // Sorted exclusions that grows with every placed piece.
+      int[] exclusions = occupiedTiles.clone();
+      Arrays.sort(exclusions);
+
+      // Use the passed in piece as the first instance, then copy only as needed.
+      Piece pieceCopy = piece;
       int pieceInstanceCounter = countPieceInstances(piece.getRank(),
                                                      piece.getPieceAlliance());
       int randomEmptyTile;
 
       while (pieceInstanceCounter < piece.getLegalPieceInstanceCount()) {
-        randomEmptyTile = Utils.getRandomWithExclusion(from, to, occupiedTiles);
+        randomEmptyTile = board == null ?
+          Utils.getRandomWithExclusion(from, to, exclusions) :
+          Utils.getRandomWithExclusion(board.getRandom(RandomStreams.SETUP_STREAM),
+                                       from, to, exclusions);
         pieceCopy.setPieceCoords(randomEmptyTile);
         // TODO: Fix to check if randomEmptyTile is empty
         if (builder.setPiece(pieceCopy)) {
-          pieceCopy = piece.clone();
-          Utils.appendToIntArray(occupiedTiles, randomEmptyTile);
+          exclusions = Utils.appendToIntArray(exclusions, randomEmptyTile);
+          Arrays.sort(exclusions);
           pieceInstanceCounter++;
 
-          if (debugMode)
+          if (pieceInstanceCounter < piece.getLegalPieceInstanceCount())
+            pieceCopy = piece.clone();
+
+          if (isDebugMode())
             System.out.println(piece.getPieceAlliance() + " " +
                 piece.getRank() + " random placement successful");
         }
@@ -1059,7 +1541,7 @@ public class Board {
       if ((piece.getPieceAlliance() == Alliance.BLACK &&
             piece.getPieceCoords() < BoardUtils.ALL_TILES_COUNT / 2) ||
           (piece.getPieceAlliance() == Alliance.WHITE &&
-            piece.getPieceCoords() > BoardUtils.ALL_TILES_COUNT / 2)) {
+            piece.getPieceCoords() >= BoardUtils.ALL_TILES_COUNT / 2)) {
         return true;
       }
 
@@ -1156,16 +1638,44 @@ public class Board {
     /** Containing piece. Null if empty or remains uninitialized. */
     private Piece piece;
 
+    /** Board that owns this Tile. Null if detached from Board. */
+    private final Board board;
+
+    /** BitBoard to keep in sync with this Tile. Null if detached from Board. */
+    private final BitBoard bitBoard;
+
+    /** Legal move cache of the Board to invalidate on change. Null if no Board */
+    private final LegalMoveCache legalMoveCache;
+
     /**
      * Constructor that takes in the tileId and territorial Alliance, and sets
      * the tile as empty.
      */
     public Tile(final int tileId, final Alliance territory) {
+      this(tileId, territory, null);
+    }
+
+    /**
+     * Constructor that takes in the tileId, territorial Alliance and the
+     * owning Board to keep in sync with, and sets the tile as empty.
+     */
+    public Tile(final int tileId, final Alliance territory, final Board board) {
       this.tileId = tileId;
       this.territory = territory;
+      this.board = board;
+      this.bitBoard = board == null ? null : board.getBitBoard();
+      this.legalMoveCache = board == null ? null : board.getLegalMoveCache();
       this.occupied = false;
     }
 
+    /**
+     * Debug mode checker of the Board that owns this Tile.
+     * @return boolean true if Board is in debug mode, else false.
+     */
+    private boolean isDebugMode() {
+      return board != null && board.isDebugMode();
+    }
+
     /**
      * Checks if this Tile is empty of Piece instance.
      * @return boolean true if this Tile is empty, else false.
@@ -1227,6 +1737,11 @@ public class Board {
       if (isTileEmpty()) {
         this.piece = piece;
         this.occupied = true;
+
+        if (bitBoard != null) {
+          bitBoard.setPiece(tileId, piece.getPieceAlliance(), piece.getRankId());
+          legalMoveCache.invalidate(tileId);
+        }
         return true;
       }
 
@@ -1244,6 +1759,11 @@ public class Board {
     public boolean replacePiece(final Piece piece) {
       if (isTileOccupied()) {
         this.piece = piece;
+
+        if (bitBoard != null) {
+          bitBoard.setPiece(tileId, piece.getPieceAlliance(), piece.getRankId());
+          legalMoveCache.invalidate(tileId);
+        }
         return true;
       }
 
@@ -1261,6 +1781,11 @@ public class Board {
       if (isTileOccupied()) {
         this.piece = null;
         this.occupied = false;
+
+        if (bitBoard != null) {
+          bitBoard.clearTile(tileId);
+          legalMoveCache.invalidate(tileId);
+        }
         return true;
       }
 
@@ -0,0 +1,55 @@
+package engine;
+
+/**
+ * Listener of Board game state changes. Lets a user interface follow the game
+ * without the engine depending on it, so Board, Move and Player can run
+ * headless. Listeners are notified on the thread that changed the Board.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public interface BoardListener {
+
+  /**
+   * Called when the game has been initialized and players may arrange their
+   * pieces.
+   * @param board Board that has been initialized.
+   */
+  void onGameInitialized(Board board);
+
+  /**
+   * Called when the game has started and pieces can no longer be arranged.
+   * @param board Board that has started.
+   */
+  void onGameStarted(Board board);
+
+  /**
+   * Called when the game has been rebuilt and players may arrange their pieces
+   * again.
+   * @param board Board that has been restarted.
+   */
+  void onGameRestarted(Board board);
+
+  /**
+   * Called after a move has been made. The piece codes are those of the actual
+   * pieces, so a listener acting for one Alliance must not read the hidden
+   * rank of the opponent piece.
+   * @param board Board the move has been made on.
+   * @param move int encoded move. See Move.encodeMove().
+   * @param sourcePieceCode piece code of the moved piece.
+   * @param targetPieceCode piece code of the challenged piece, else -1.
+   * @param engagement Arbiter outcome of the challenge from the point of view
+   * of the moved piece, else Arbiter.NO_ENGAGEMENT.
+   */
+  void onMoveMade(Board board, int move, int sourcePieceCode, int targetPieceCode,
+                  int engagement);
+
+  /**
+   * Called after the most recent move has been unmade.
+   * @param board Board the move has been unmade on.
+   * @param move int encoded move of the unmade move. Kind is always
+   * Move.NORMAL_MOVE.
+   */
+  void onMoveUnmade(Board board, int move);
+
+}
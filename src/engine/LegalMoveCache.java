@@ -0,0 +1,161 @@
+package engine;
+
+import utils.BoardUtils;
+
+/**
+ * Cache of the classified moves of every tile of a Board position. Each tile
+ * caches the move kind into each of its four directions, and stays valid until
+ * the tile itself or one of its adjacent tiles changes. Board invalidates the
+ * cache from its Tiles on every piece insert, replace and removal, so move
+ * legality and hover highlighting become a lookup instead of regenerating the
+ * moves of the piece.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class LegalMoveCache {
+
+  /** Cached move kind of a direction without a legal move */
+  public static final int NO_MOVE = -1;
+
+  /** BitBoard to classify the moves from */
+  private final BitBoard bitBoard;
+
+  /** Cached move kinds. Indexed by [tileId][direction] */
+  private final byte[] moveKinds;
+
+  /** Bitset of tiles with valid cached move kinds */
+  private final long[] validBits;
+
+  /**
+   * Constructor that takes in the BitBoard to classify the moves from.
+   * @param bitBoard BitBoard of the cached position.
+   */
+  public LegalMoveCache(final BitBoard bitBoard) {
+    this.bitBoard = bitBoard;
+    this.moveKinds = new byte[BoardUtils.ALL_TILES_COUNT * BoardUtils.DIRECTION_COUNT];
+    this.validBits = new long[BitBoard.WORDS];
+  }
+
+  /**
+   * Invalidates the cached moves of a changed tile and of its adjacent tiles.
+   * @param tileId changed tile id.
+   */
+  public void invalidate(final int tileId) {
+    validBits[BitBoard.getWord(tileId)] &= ~BitBoard.getBit(tileId);
+
+    for (int word = 0; word < BitBoard.WORDS; word++)
+      validBits[word] &= ~BoardUtils.getNeighbourMask(tileId, word);
+  }
+
+  /**
+   * Invalidates the cached moves of all tiles.
+   */
+  public void invalidateAll() {
+    for (int word = 0; word < BitBoard.WORDS; word++)
+      validBits[word] = 0L;
+  }
+
+  /**
+   * Checks if the cached moves of a tile are valid.
+   * @param tileId tile id.
+   * @return boolean true if valid, else false if due for reclassification.
+   */
+  public boolean isValid(final int tileId) {
+    return (validBits[BitBoard.getWord(tileId)] & BitBoard.getBit(tileId)) != 0;
+  }
+
+  /**
+   * Gets the move kind of the piece in a tile into a direction.
+   * @param tileId tile id of the piece.
+   * @param direction BoardUtils.UP, DOWN, LEFT or RIGHT.
+   * @return int Move.NORMAL_MOVE, Move.AGGRESSIVE_MOVE or Move.DRAW_MOVE, else
+   * NO_MOVE if tile is empty, direction is off the board or destination has a
+   * friendly piece.
+   */
+  public int getMoveKindInDirection(final int tileId, final int direction) {
+    if (!isValid(tileId))
+      classifyMoves(tileId);
+
+    return moveKinds[tileId * BoardUtils.DIRECTION_COUNT + direction];
+  }
+
+  /**
+   * Gets the move kind of the piece in the origin tile into the destination.
+   * @param origin origin tile coordinates.
+   * @param destination destination tile coordinates.
+   * @return int Move.NORMAL_MOVE, Move.AGGRESSIVE_MOVE or Move.DRAW_MOVE, else
+   * NO_MOVE if illegal.
+   */
+  public int getMoveKind(final int origin, final int destination) {
+    if (origin < 0 || origin >= BoardUtils.ALL_TILES_COUNT ||
+        destination < 0 || destination >= BoardUtils.ALL_TILES_COUNT ||
+        !BoardUtils.isAdjacent(origin, destination))
+      return NO_MOVE;
+
+    return getMoveKindInDirection(origin, getDirection(origin, destination));
+  }
+
+  /**
+   * Checks if the piece in the origin tile can legally move into the
+   * destination tile.
+   * @param origin origin tile coordinates.
+   * @param destination destination tile coordinates.
+   * @return boolean true if legal, else false.
+   */
+  public boolean isLegalMove(final int origin, final int destination) {
+    return getMoveKind(origin, destination) != NO_MOVE;
+  }
+
+  /**
+   * Writes the cached moves of the piece in a tile as int encoded moves.
+   * @param tileId tile id of the piece.
+   * @param moves buffer to write the encoded moves into.
+   * @param offset index of the buffer to start writing into.
+   * @return int offset plus count of moves written into the buffer.
+   */
+  public int getPieceMoves(final int tileId, final int[] moves, int offset) {
+    for (int direction = 0; direction < BoardUtils.DIRECTION_COUNT; direction++) {
+      final int kind = getMoveKindInDirection(tileId, direction);
+
+      if (kind != NO_MOVE)
+        moves[offset++] = Move.encodeMove(
+            tileId, BoardUtils.getAdjacentTile(tileId, direction), kind);
+    }
+
+    return offset;
+  }
+
+  /**
+   * Classifies and caches the moves of a tile into all directions.
+   */
+  private void classifyMoves(final int tileId) {
+    final int offset = tileId * BoardUtils.DIRECTION_COUNT;
+
+    for (int direction = 0; direction < BoardUtils.DIRECTION_COUNT; direction++) {
+      final int destination = BoardUtils.getAdjacentTile(tileId, direction);
+
+      moveKinds[offset + direction] = (byte) (destination == -1 ? NO_MOVE :
+          MoveGenerator.classifyMove(bitBoard, tileId, destination));
+    }
+
+    validBits[BitBoard.getWord(tileId)] |= BitBoard.getBit(tileId);
+  }
+
+  /**
+   * Gets the direction of an adjacent destination from the origin.
+   */
+  private static int getDirection(final int origin, final int destination) {
+    final int distance = destination - origin;
+
+    if (distance == -BoardUtils.TILE_COLUMN_COUNT)
+      return BoardUtils.UP;
+    else if (distance == BoardUtils.TILE_COLUMN_COUNT)
+      return BoardUtils.DOWN;
+    else if (distance == -1)
+      return BoardUtils.LEFT;
+    else
+      return BoardUtils.RIGHT;
+  }
+
+}
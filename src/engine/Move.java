@@ -1,9 +1,7 @@
 package engine;
 
-import java.util.Map;
-
 import engine.Board.Tile;
-import engine.pieces.Piece;
+import engine.pieces.PieceType;
 import engine.player.Player;
 import utils.BoardUtils;
 
@@ -20,6 +18,16 @@ import utils.BoardUtils;
  */
 public class Move {
 
+  /** Encoded move kinds. See encodeMove(). */
+  public static final int NORMAL_MOVE = 0;
+  public static final int AGGRESSIVE_MOVE = 1;
+  public static final int DRAW_MOVE = 2;
+
+  /** Encoded move bit layout */
+  private static final int COORDS_BITS = 7;
+  private static final int COORDS_MASK = (1 << COORDS_BITS) - 1;
+  private static final int KIND_SHIFT = COORDS_BITS * 2;
+
   /** Turn ID that serves as reference. */
   private int turnId;
 
@@ -41,14 +49,14 @@ public class Move {
   /** Move type to determine the behavior of piece relocation */
   private String moveType;
 
-  /** Deep copy of the source piece */
-  private Piece sourcePieceCopy;
+  /** Shared PieceType of the source piece */
+  private PieceType sourcePieceType;
 
-  /** Deep copy of the target piece if move type is aggressive or draw */
-  private Piece targetPieceCopy;
+  /** Shared PieceType of the target piece if move type is aggressive or draw */
+  private PieceType targetPieceType;
 
-  /** Deep copy of the eliminated piece if move type is aggressive */
-  private Piece eliminatedPiece;
+  /** Shared PieceType of the eliminated piece if move type is aggressive */
+  private PieceType eliminatedPieceType;
 
   /**
    * Constructor that takes in the player who will move the piece, board, source
@@ -79,17 +87,17 @@ public class Move {
    *                same rank, with the exception of Flag rank.
    */
   public void evaluateMove() {
-    this.sourcePieceCopy = this.board.getTile(sourceTileCoords).getPiece().clone();
-    if (this.board.getTile(targetTileCoords).isTileOccupied())
-      this.targetPieceCopy = this.board.getTile(targetTileCoords).getPiece().clone();
-    else
-      this.targetPieceCopy = null;
+    // Read tile occupancy and ranks from the packed board representation.
+    final BitBoard bitBoard = this.board.getBitBoard();
+    final int targetRankId = bitBoard.getRankId(targetTileCoords);
 
-    if (board.getTile(targetTileCoords).isTileOccupied())
-      if (targetPieceCopy.getPieceAlliance() != sourcePieceCopy.getPieceAlliance())
-        if (isSameRank() && isTargetPieceFlag())
-          this.moveType = "aggressive";
-        else if (isSameRank())
+    this.sourcePieceType = PieceType.get(bitBoard.getPieceCode(sourceTileCoords));
+    this.targetPieceType = PieceType.get(bitBoard.getPieceCode(targetTileCoords));
+
+    if (bitBoard.isTileOccupied(targetTileCoords))
+      if (!bitBoard.isTileOccupied(targetTileCoords, sourcePieceType.getPieceAlliance()))
+        if (bitBoard.getRankId(sourceTileCoords) == targetRankId &&
+            targetRankId != BoardUtils.FLAG_RANK_ID)
           this.moveType = "draw";
         else
           this.moveType = "aggressive";
@@ -111,46 +119,16 @@ public class Move {
       switch (this.moveType) {
 
         case "aggressive":
-          // Check if source or target piece is Flag rank, then conclude the game.
-          if (isTargetPieceFlag()) {
-            System.out.println("\n" + sourcePieceCopy.getPieceAlliance() +
-                               " player WON!\n");
-            board.setEndGameWinner(sourcePieceCopy.getPieceAlliance());
-          } else if (isSourcePieceFlag() && !isTargetPieceFlag()){
-            System.out.println("\n" + targetPieceCopy.getPieceAlliance() +
-                               " player WON!\n");
-            board.setEndGameWinner(targetPieceCopy.getPieceAlliance());
-          }
-
           // Eliminate low ranking piece from the aggressive engagement.
-          if (isTargetPieceEliminated()) {
-            board.replacePiece(targetTileCoords, sourcePieceCopy);
-            board.getTile(sourceTileCoords).removePiece();
-            eliminatedPiece = targetPieceCopy;
-          } else {
-            board.getTile(sourceTileCoords).removePiece();
-            eliminatedPiece = sourcePieceCopy;
-          }
-          this.isExecuted = true;
+          if (Arbiter.isTargetPieceEliminated(sourcePieceType.getRankId(),
+                                              targetPieceType.getRankId()))
+            eliminatedPieceType = targetPieceType;
+          else
+            eliminatedPieceType = sourcePieceType;
           break;
 
         case "normal":
-          // Check if Flag has been maneuvered into the opposite end row of the board.
-          if (isFlagSucceeded()) {
-            System.out.println("\n" + sourcePieceCopy.getPieceAlliance() +
-                " player WON!\n");
-            board.setEndGameWinner(sourcePieceCopy.getPieceAlliance());
-          }
-
-          // Move Tile normally
-          board.movePiece(sourceTileCoords, targetTileCoords);
-          this.isExecuted = true;
-          break;
-
         case "draw":
-          // Eliminates both pieces from the game.
-          board.getTile(sourceTileCoords).removePiece();
-          board.getTile(targetTileCoords).removePiece();
           break;
 
         case "invalid":
@@ -162,6 +140,14 @@ public class Move {
           return false;
       }
 
+      // Actuate the move in the Board. Board relocates or eliminates the pieces
+      // and concludes the game if a Flag has been captured or has succeeded.
+      if (!board.makeMove(getEncodedMove()))
+        return false;
+
+      if (board.isEndGame())
+        System.out.println("\n" + board.getEndGameWinner() + " player WON!\n");
+
       // If successful, change execution status and return true.
       this.isExecuted = true;
       return true;
@@ -171,33 +157,26 @@ public class Move {
 
   /**
    * Check if this Move instance is one of the legal moves of the current state
-   * of the source piece. Depends on Piece evaluateMoves() method.
+   * of the source piece. Looked up from the Board legal move cache.
    * @return boolean true of this Move is a candidate move for the source piece.
    */
   private boolean legalMoveCheck() {
-    // Fetch all possible moves if any.
-    final Map<String, Move> possiblePieceMoves =
-      this.board.getTile(sourceTileCoords).getPiece().evaluateMoves(board);
-
     // Check if one of possible piece moves
-    for (final Map.Entry<String, Move> entry : possiblePieceMoves.entrySet()) {
-      if (entry.getValue().getDestinationCoords() == targetTileCoords) {
-        return true;
-      }
-    };
+    if (board.isLegalMove(sourceTileCoords, targetTileCoords))
+      return true;
 
     // set move type to "invalid" if not in possible moves.
     moveType = "invalid";
 
     if (this.board.isDebugMode()) {
       String targetPiece;
-      if (targetPieceCopy == null)
+      if (targetPieceType == null)
         targetPiece = "";
       else
-        targetPiece = targetPieceCopy.getRank();
+        targetPiece = targetPieceType.getRank();
 
-      System.out.println(sourcePieceCopy.getPieceAlliance() + " " +
-          sourcePieceCopy.getRank() + " " + sourceTileCoords + " to " +
+      System.out.println(sourcePieceType.getPieceAlliance() + " " +
+          sourcePieceType.getRank() + " " + sourceTileCoords + " to " +
           targetPiece + " " + targetTileCoords + " " +
           this.moveType + " ILLEGAL MOVE");
     }
@@ -206,77 +185,44 @@ public class Move {
   }
 
   /**
-   * Checks if source and target piece has the same rank.
-   * @return boolean true if same rank, else false.
-   */
-  private boolean isSameRank() {
-    if (sourcePieceCopy.getRank() == targetPieceCopy.getRank()) {
-      return true;
-    }
-    return false;
-  }
-
-  /**
-   * Checks if target piece has been eliminated by the source piece. Higher
-   * ranking piece will eliminate lower ranking piece.
-   * Spy piece will eliminated all pieces regardless of rank except the Private
-   * piece.
-   * If both pieces were are of Flag rank, the aggressor piece will win
-   * the engagement.
-   * @return boolean true if target piece is subordinate to the source piece,
-   * else false.
+   * Encodes a move into a single int. Bits 0 - 6 hold the origin coordinates,
+   * bits 7 - 13 hold the destination coordinates and bits 14 - 15 hold the
+   * move kind.
+   * @param originCoords origin tile coordinates.
+   * @param destinationCoords destination tile coordinates.
+   * @param kind NORMAL_MOVE, AGGRESSIVE_MOVE or DRAW_MOVE.
+   * @return int encoded move.
    */
-  private boolean isTargetPieceEliminated() {
-    if (isSourcePieceFlag() && isTargetPieceFlag())
-      return true;
-    else if (sourcePieceCopy.getRank() == "Private" && targetPieceCopy.getRank() == "Spy")
-      return true;
-    else if (sourcePieceCopy.getRank() == "Spy" && targetPieceCopy.getRank() == "Private")
-      return false;
-    else if (sourcePieceCopy.getPowerLevel() > targetPieceCopy.getPowerLevel())
-      return true;
-    else
-      return false;
+  public static int encodeMove(final int originCoords, final int destinationCoords,
+                               final int kind) {
+    return originCoords | (destinationCoords << COORDS_BITS) | (kind << KIND_SHIFT);
   }
 
   /**
-   * Checks if the target piece is ranked Flag.
-   * @return boolean true if target piece is Flag, else false.
+   * Gets the origin coordinates of an encoded move.
+   * @param move encoded move.
+   * @return int origin tile coordinates.
    */
-  private boolean isTargetPieceFlag() {
-    if (targetPieceCopy.getRank() == "Flag")
-      return true;
-    else
-      return false;
+  public static int decodeOrigin(final int move) {
+    return move & COORDS_MASK;
   }
 
   /**
-   * Checks if the source piece is ranked Flag.
-   * @return boolean true if source piece is Flag, else false.
+   * Gets the destination coordinates of an encoded move.
+   * @param move encoded move.
+   * @return int destination tile coordinates.
    */
-  private boolean isSourcePieceFlag() {
-    if (sourcePieceCopy.getRank() == "Flag")
-      return true;
-    else
-      return false;
+  public static int decodeDestination(final int move) {
+    return (move >>> COORDS_BITS) & COORDS_MASK;
   }
 
   /**
-   * Checks if the Flag piece has succeeded maneuvering into opposite end row
-   * of the Board without being eliminated.
-   * @return boolean true if Flag has succeeded, else false.
+   * Gets the kind of an encoded move.
+   * @param move encoded move.
+   * @return int NORMAL_MOVE, AGGRESSIVE_MOVE or DRAW_MOVE.
    */
-  private boolean isFlagSucceeded() {
-    if (sourcePieceCopy.getRank() == "Flag" &&
-        board.getTile(targetTileCoords).isTileEmpty())
-      // Check if Flag piece is in the respective opposite end row of the board.
-      if ((sourcePieceCopy.getPieceAlliance() == Alliance.BLACK &&
-          targetTileCoords >= BoardUtils.LAST_ROW_INIT) ||
-          (sourcePieceCopy.getPieceAlliance() == Alliance.WHITE &&
-          targetTileCoords < BoardUtils.SECOND_ROW_INIT))
-        return true;
-
-    return false;
+  public static int decodeKind(final int move) {
+    return move >>> KIND_SHIFT;
   }
 
   /**
@@ -322,6 +268,23 @@ public class Move {
     return null;
   }
 
+  /**
+   * Gets the int encoded version of this Move instance.
+   * @return int encoded move. See encodeMove().
+   */
+  public int getEncodedMove() {
+    final int kind;
+
+    if ("aggressive".equals(this.moveType))
+      kind = AGGRESSIVE_MOVE;
+    else if ("draw".equals(this.moveType))
+      kind = DRAW_MOVE;
+    else
+      kind = NORMAL_MOVE;
+
+    return encodeMove(sourceTileCoords, targetTileCoords, kind);
+  }
+
   /**
    * Gets the turn ID of this Move instance.
    * @return int turnId field. -1 if not set.
@@ -335,33 +298,33 @@ public class Move {
 
   /**
    * Gets the eliminated piece of the aggressive execution.
-   * @return Piece the eliminated piece after aggressive engagement.
+   * @return PieceType of the eliminated piece after aggressive engagement.
    */
-  public Piece getEliminatedPiece() {
-    if (eliminatedPiece != null)
-      return this.eliminatedPiece;
+  public PieceType getEliminatedPiece() {
+    if (eliminatedPieceType != null)
+      return this.eliminatedPieceType;
 
     return null;
   }
 
   /**
    * Gets the source piece of this Move instance.
-   * @return Piece sourcePieceCopy field. Null if uninitialized.
+   * @return PieceType sourcePieceType field. Null if uninitialized.
    */
-  public Piece getSourcePiece() {
-    if (this.sourcePieceCopy != null)
-      return this.sourcePieceCopy;
+  public PieceType getSourcePiece() {
+    if (this.sourcePieceType != null)
+      return this.sourcePieceType;
 
     return null;
   }
 
   /**
    * Gets the target piece of this Move instance.
-   * @return Piece targetPieceCopy field. Null if uninitialized.
+   * @return PieceType targetPieceType field. Null if uninitialized.
    */
-  public Piece getTargetPiece() {
-    if (this.targetPieceCopy != null)
-      return this.targetPieceCopy;
+  public PieceType getTargetPiece() {
+    if (this.targetPieceType != null)
+      return this.targetPieceType;
 
     return null;
   }
@@ -424,14 +387,14 @@ public class Move {
 
   @Override
   public String toString() {
-    final Alliance sourcePieceAlliance = sourcePieceCopy == null ? null : sourcePieceCopy.getPieceAlliance();
-    final String sourcePiece = sourcePieceCopy == null ? "" : sourcePieceCopy.getRank();
-    final String targetPiece = targetPieceCopy == null ? "" : targetPieceCopy.getRank();
+    final Alliance sourcePieceAlliance = sourcePieceType == null ? null : sourcePieceType.getPieceAlliance();
+    final String sourcePiece = sourcePieceType == null ? "" : sourcePieceType.getRank();
+    final String targetPiece = targetPieceType == null ? "" : targetPieceType.getRank();
 
     if (isExecuted) {
       String superiorPieceAlliance = "";
       if (this.moveType == "aggressive") {
-        superiorPieceAlliance = eliminatedPiece.getPieceAlliance() == Alliance.BLACK ?
+        superiorPieceAlliance = eliminatedPieceType.getPieceAlliance() == Alliance.BLACK ?
           " " + Alliance.WHITE: " " + Alliance.BLACK;
       }
       return "Turn " + this.turnId + ": " +
@@ -0,0 +1,141 @@
+package engine;
+
+import utils.BoardUtils;
+
+/**
+ * Allocation free move generator that reads from the Board BitBoard and
+ * writes int encoded moves into a caller supplied buffer. See
+ * Move.encodeMove() for the move encoding.
+ *
+ * Unlike Piece.evaluateMoves(), friendly occupied tiles are skipped and only
+ * "normal", "aggressive" and "draw" moves are generated.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class MoveGenerator {
+
+  /** Maximum amount of moves a single Alliance can have in one turn */
+  public static final int MAX_MOVES = 21 * 4;
+
+  /** Maximum amount of moves a single piece can have in one turn */
+  public static final int MAX_PIECE_MOVES = 4;
+
+  /**
+   * Generates all moves of the Alliance pieces.
+   * @param bitBoard BitBoard to generate the moves from.
+   * @param alliance Alliance of the pieces to move.
+   * @param moves buffer to write the encoded moves into. Must hold at least
+   * MAX_MOVES.
+   * @return int count of moves written into the buffer.
+   */
+  public static int generateMoves(final BitBoard bitBoard, final Alliance alliance,
+                                  final int[] moves) {
+    int count = 0;
+
+    for (int word = 0; word < BitBoard.WORDS; word++) {
+      long pieces = bitBoard.getAllianceBits(alliance, word);
+
+      while (pieces != 0) {
+        final int tileId = (word << 6) + Long.numberOfTrailingZeros(pieces);
+        count = generatePieceMoves(bitBoard, tileId, moves, count);
+        pieces &= pieces - 1;
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Generates all moves of a single piece.
+   * @param bitBoard BitBoard to generate the moves from.
+   * @param tileId tile coordinates of the piece to move.
+   * @param moves buffer to write the encoded moves into.
+   * @param offset index of the buffer to start writing into.
+   * @return int offset plus count of moves written into the buffer.
+   */
+  public static int generatePieceMoves(final BitBoard bitBoard, final int tileId,
+                                       final int[] moves, int offset) {
+    final int[] neighbours = BoardUtils.getNeighbours(tileId);
+
+    for (int i = 0; i < neighbours.length; i++)
+      offset = addMove(bitBoard, tileId, neighbours[i], moves, offset);
+
+    return offset;
+  }
+
+  /**
+   * Writes encoded move into the buffer if the destination is not occupied by
+   * a friendly piece.
+   * @return int offset plus one if written, else offset.
+   */
+  private static int addMove(final BitBoard bitBoard, final int origin,
+                             final int destination, final int[] moves,
+                             final int offset) {
+    final int kind = classifyMove(bitBoard, origin, destination);
+
+    if (kind == -1)
+      return offset;
+
+    moves[offset] = Move.encodeMove(origin, destination, kind);
+    return offset + 1;
+  }
+
+  /**
+   * Classifies a move of the piece in the origin tile into the destination.
+   * Does not check if the destination is adjacent to the origin.
+   * @param bitBoard BitBoard to read the pieces from.
+   * @param origin origin tile coordinates.
+   * @param destination destination tile coordinates.
+   * @return int Move.NORMAL_MOVE, Move.AGGRESSIVE_MOVE or Move.DRAW_MOVE, else
+   * -1 if origin is empty or destination has a friendly piece.
+   */
+  public static int classifyMove(final BitBoard bitBoard, final int origin,
+                                 final int destination) {
+    final int sourcePieceCode = bitBoard.getPieceCode(origin);
+    final int targetPieceCode = bitBoard.getPieceCode(destination);
+
+    if (sourcePieceCode < 0)
+      return -1;
+    if (targetPieceCode < 0)
+      return Move.NORMAL_MOVE;
+
+    // Piece codes of the same Alliance share the same quotient.
+    if (sourcePieceCode / BoardUtils.RANK_COUNT == targetPieceCode / BoardUtils.RANK_COUNT)
+      return -1;
+
+    final int targetRankId = targetPieceCode % BoardUtils.RANK_COUNT;
+    if (sourcePieceCode % BoardUtils.RANK_COUNT == targetRankId &&
+        targetRankId != BoardUtils.FLAG_RANK_ID)
+      return Move.DRAW_MOVE;
+
+    return Move.AGGRESSIVE_MOVE;
+  }
+
+  /**
+   * Checks if the piece in the origin tile can legally move into the
+   * destination tile.
+   * @param bitBoard BitBoard to read the pieces from.
+   * @param origin origin tile coordinates.
+   * @param destination destination tile coordinates.
+   * @return boolean true if legal, else false.
+   */
+  public static boolean isLegalMove(final BitBoard bitBoard, final int origin,
+                                    final int destination) {
+    if (origin < 0 || origin >= BoardUtils.ALL_TILES_COUNT ||
+        destination < 0 || destination >= BoardUtils.ALL_TILES_COUNT)
+      return false;
+
+    return BoardUtils.isAdjacent(origin, destination) &&
+      classifyMove(bitBoard, origin, destination) != -1;
+  }
+
+  /**
+   * Constructor method that ensures this MoveGenerator class cannot be
+   * instantiated.
+   */
+  private MoveGenerator() {
+    throw new RuntimeException("You cannot instantiate MoveGenerator class");
+  }
+
+}
@@ -0,0 +1,271 @@
+package engine;
+
+import utils.BoardUtils;
+
+/**
+ * One line text notation of a Board position and its codec. Printing writes
+ * into a caller supplied StringBuilder and parsing reads the characters in
+ * place, so neither allocates per tile.
+ *
+ * The notation is made of four space separated fields:
+ *
+ *   <tiles> <move maker> <current turn> <last executed turn>
+ *
+ * Tiles are listed from tile 0 to 71 with rows separated by '/'. Each piece
+ * is a rank symbol, uppercase for WHITE and lowercase for BLACK, followed by
+ * '*' if the piece has been revealed. A run of empty tiles is a single digit
+ * from 1 to 9. The move maker is 'w', 'b' or '-' if not yet assigned.
+ *
+ * Rank symbols indexed by rank ID:
+ *   F Flag, P Private, S Sergeant, T LtTwo, L LtOne, C Captain, M Major,
+ *   N LtCol, O Colonel, G GeneralOne, H GeneralTwo, I GeneralThree,
+ *   J GeneralFour, K GeneralFive, Y Spy.
+ *
+ * For example, the empty board with WHITE to make the first move is
+ *   9/9/9/9/9/9/9/9 w 1 0
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class PositionNotation {
+
+  /** Uppercase rank symbols indexed by rank ID */
+  public static final String RANK_SYMBOLS = "FPSTLCMNOGHIJKY";
+
+  /** Revealed piece marker */
+  public static final char REVEALED_MARKER = '*';
+
+  /** Row separator */
+  public static final char ROW_SEPARATOR = '/';
+
+  /** Field separator */
+  public static final char FIELD_SEPARATOR = ' ';
+
+  /** Move maker symbols */
+  public static final char WHITE_SYMBOL = 'w';
+  public static final char BLACK_SYMBOL = 'b';
+  public static final char NONE_SYMBOL = '-';
+
+  /** Maximum length of a notation excluding the turn fields */
+  private static final int MAX_TILES_LENGTH =
+    BoardUtils.ALL_TILES_COUNT * 2 + BoardUtils.TILE_ROW_COUNT - 1;
+
+  /** Rank IDs indexed by uppercase symbol - 'A'. -1 if not a rank symbol */
+  private static final byte[] SYMBOL_RANK_IDS = new byte['Z' - 'A' + 1];
+
+  static {
+    for (int i = 0; i < SYMBOL_RANK_IDS.length; i++)
+      SYMBOL_RANK_IDS[i] = -1;
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      SYMBOL_RANK_IDS[RANK_SYMBOLS.charAt(rankId) - 'A'] = (byte) rankId;
+  }
+
+  /**
+   * Gets the notation of the Board current position.
+   * @param board Board to print.
+   * @return String position notation.
+   */
+  public static String toNotation(final Board board) {
+    final StringBuilder notation = new StringBuilder(MAX_TILES_LENGTH + 16);
+
+    appendNotation(notation, board.getBitBoard(), board.getMoveMaker(),
+                   board.getCurrentTurn(), board.getLastExecutedTurn());
+
+    return notation.toString();
+  }
+
+  /**
+   * Appends the notation of a position into a StringBuilder.
+   * @param notation StringBuilder to append into.
+   * @param bitBoard BitBoard of the position.
+   * @param moveMaker Alliance of the move maker. Null if not yet assigned.
+   * @param currentTurn current turn.
+   * @param lastExecutedTurn last executed turn.
+   */
+  public static void appendNotation(final StringBuilder notation,
+                                    final BitBoard bitBoard,
+                                    final Alliance moveMaker,
+                                    final int currentTurn,
+                                    final int lastExecutedTurn) {
+    for (int row = 0; row < BoardUtils.TILE_ROW_COUNT; row++) {
+      final int rowInit = row * BoardUtils.TILE_COLUMN_COUNT;
+      int emptyTiles = 0;
+
+      if (row > 0)
+        notation.append(ROW_SEPARATOR);
+
+      for (int tileId = rowInit; tileId < rowInit + BoardUtils.TILE_COLUMN_COUNT; tileId++) {
+        final int rankId = bitBoard.getRankId(tileId);
+
+        if (rankId < 0) {
+          emptyTiles++;
+          continue;
+        }
+
+        if (emptyTiles > 0) {
+          notation.append((char) ('0' + emptyTiles));
+          emptyTiles = 0;
+        }
+
+        final char symbol = RANK_SYMBOLS.charAt(rankId);
+        notation.append(bitBoard.isTileOccupied(tileId, Alliance.WHITE) ?
+                        symbol : Character.toLowerCase(symbol));
+
+        if (bitBoard.isRevealed(tileId))
+          notation.append(REVEALED_MARKER);
+      }
+
+      if (emptyTiles > 0)
+        notation.append((char) ('0' + emptyTiles));
+    }
+
+    notation.append(FIELD_SEPARATOR);
+    if (moveMaker == Alliance.WHITE)
+      notation.append(WHITE_SYMBOL);
+    else if (moveMaker == Alliance.BLACK)
+      notation.append(BLACK_SYMBOL);
+    else
+      notation.append(NONE_SYMBOL);
+
+    notation.append(FIELD_SEPARATOR).append(currentTurn);
+    notation.append(FIELD_SEPARATOR).append(lastExecutedTurn);
+  }
+
+  /**
+   * Parses the tiles field of a notation into a BitBoard. The BitBoard is
+   * cleared first.
+   * @param notation position notation.
+   * @param bitBoard BitBoard to parse into.
+   * @return boolean true if successful, else false if the notation is
+   * malformed. BitBoard content is unspecified if unsuccessful.
+   */
+  public static boolean parseTiles(final CharSequence notation, final BitBoard bitBoard) {
+    bitBoard.clear();
+
+    final int length = notation.length();
+    int tileId = 0;
+    int rowEnd = BoardUtils.TILE_COLUMN_COUNT;
+    int lastPieceTile = -1;
+    int i = 0;
+
+    for (; i < length; i++) {
+      final char c = notation.charAt(i);
+
+      if (c == FIELD_SEPARATOR) {
+        break;
+      } else if (c == ROW_SEPARATOR) {
+        if (tileId != rowEnd || rowEnd == BoardUtils.ALL_TILES_COUNT)
+          return false;
+        rowEnd += BoardUtils.TILE_COLUMN_COUNT;
+      } else if (c >= '1' && c <= '9') {
+        tileId += c - '0';
+        if (tileId > rowEnd)
+          return false;
+      } else if (c == REVEALED_MARKER) {
+        if (lastPieceTile != tileId - 1 || lastPieceTile < 0)
+          return false;
+        bitBoard.setRevealed(lastPieceTile, true);
+      } else {
+        final char upper = Character.toUpperCase(c);
+
+        if (upper < 'A' || upper > 'Z' || SYMBOL_RANK_IDS[upper - 'A'] < 0 ||
+            tileId >= rowEnd)
+          return false;
+
+        bitBoard.setPiece(tileId, c == upper ? Alliance.WHITE : Alliance.BLACK,
+                          SYMBOL_RANK_IDS[upper - 'A']);
+        lastPieceTile = tileId;
+        tileId++;
+      }
+    }
+
+    return tileId == BoardUtils.ALL_TILES_COUNT;
+  }
+
+  /**
+   * Parses the move maker field of a notation.
+   * @param notation position notation.
+   * @return Alliance of the move maker, else null if not assigned or malformed.
+   */
+  public static Alliance parseMoveMaker(final CharSequence notation) {
+    final int start = getFieldStart(notation, 1);
+
+    if (start < 0 || start >= notation.length())
+      return null;
+
+    final char symbol = notation.charAt(start);
+
+    if (symbol == WHITE_SYMBOL)
+      return Alliance.WHITE;
+    else if (symbol == BLACK_SYMBOL)
+      return Alliance.BLACK;
+    else
+      return null;
+  }
+
+  /**
+   * Parses the current turn field of a notation.
+   * @param notation position notation.
+   * @return int current turn, else -1 if missing or malformed.
+   */
+  public static int parseCurrentTurn(final CharSequence notation) {
+    return parseNumberField(notation, 2);
+  }
+
+  /**
+   * Parses the last executed turn field of a notation.
+   * @param notation position notation.
+   * @return int last executed turn, else -1 if missing or malformed.
+   */
+  public static int parseLastExecutedTurn(final CharSequence notation) {
+    return parseNumberField(notation, 3);
+  }
+
+  /**
+   * Parses a non negative number field of a notation.
+   * @return int number, else -1 if missing or malformed.
+   */
+  private static int parseNumberField(final CharSequence notation, final int field) {
+    final int start = getFieldStart(notation, field);
+
+    if (start < 0 || start >= notation.length())
+      return -1;
+
+    int number = 0;
+    int i = start;
+
+    for (; i < notation.length() && notation.charAt(i) != FIELD_SEPARATOR; i++) {
+      final char c = notation.charAt(i);
+
+      if (c < '0' || c > '9')
+        return -1;
+      number = number * 10 + (c - '0');
+    }
+
+    return i == start ? -1 : number;
+  }
+
+  /**
+   * Gets the index of the first character of a field.
+   * @return int index, else -1 if the notation has less fields.
+   */
+  private static int getFieldStart(final CharSequence notation, final int field) {
+    int separators = 0;
+
+    for (int i = 0; i < notation.length(); i++) {
+      if (notation.charAt(i) == FIELD_SEPARATOR && ++separators == field)
+        return i + 1;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Constructor method that ensures this PositionNotation class cannot be
+   * instantiated.
+   */
+  private PositionNotation() {
+    throw new RuntimeException("You cannot instantiate PositionNotation class");
+  }
+
+}
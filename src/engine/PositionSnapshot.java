@@ -0,0 +1,241 @@
+package engine;
+
+import engine.pieces.PieceType;
+import utils.BoardUtils;
+
+/**
+ * Immutable persistent snapshot of a Board position. Tiles are stored in one
+ * small array per board row, and a snapshot taken after another one shares
+ * every row that has not changed in between. Keeping a snapshot per turn then
+ * costs only the rows touched by the move.
+ *
+ * Row arrays are never written after construction and all fields are final,
+ * so snapshots can be read from any thread while the game continues.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public final class PositionSnapshot {
+
+  /** Tile code bit marking a revealed piece. Low bits hold piece code + 1 */
+  private static final int REVEALED_BIT = 0x40;
+
+  /** Tile code bits holding piece code + 1 */
+  private static final int PIECE_MASK = REVEALED_BIT - 1;
+
+  /** Shared empty row */
+  private static final byte[] EMPTY_ROW = new byte[BoardUtils.TILE_COLUMN_COUNT];
+
+  /** Tile codes of each row. Rows may be shared with other snapshots */
+  private final byte[][] rows;
+
+  /** Move maker of the position. Null if not yet assigned */
+  private final Alliance moveMaker;
+
+  /** Turn of the position */
+  private final int turn;
+
+  /** Zobrist key of the position. See Board.getZobristKey() */
+  private final long zobristKey;
+
+  /**
+   * Private constructor. Use of() or next() to take snapshots.
+   */
+  private PositionSnapshot(final byte[][] rows, final Alliance moveMaker,
+                           final int turn, final long zobristKey) {
+    this.rows = rows;
+    this.moveMaker = moveMaker;
+    this.turn = turn;
+    this.zobristKey = zobristKey;
+  }
+
+  /**
+   * Takes a snapshot of the Board current position without sharing.
+   * @param board Board to take the snapshot of.
+   * @return PositionSnapshot of the Board.
+   */
+  public static PositionSnapshot of(final Board board) {
+    return takeSnapshot(null, board);
+  }
+
+  /**
+   * Takes a snapshot of the Board current position, sharing all unchanged
+   * rows with this snapshot.
+   * @param board Board to take the snapshot of.
+   * @return PositionSnapshot of the Board. This if nothing has changed.
+   */
+  public PositionSnapshot next(final Board board) {
+    return takeSnapshot(this, board);
+  }
+
+  /**
+   * Takes a snapshot reusing rows of the previous snapshot if unchanged.
+   */
+  private static PositionSnapshot takeSnapshot(final PositionSnapshot previous,
+                                               final Board board) {
+    final BitBoard bitBoard = board.getBitBoard();
+    final byte[][] rows = new byte[BoardUtils.TILE_ROW_COUNT][];
+    boolean isUnchanged = previous != null;
+
+    for (int row = 0; row < BoardUtils.TILE_ROW_COUNT; row++) {
+      if (previous != null && isSameRow(previous.rows[row], bitBoard, row)) {
+        rows[row] = previous.rows[row];
+        continue;
+      }
+
+      isUnchanged = false;
+      final byte[] tiles = new byte[BoardUtils.TILE_COLUMN_COUNT];
+      boolean isEmpty = true;
+
+      for (int column = 0; column < BoardUtils.TILE_COLUMN_COUNT; column++) {
+        tiles[column] = getTileCode(bitBoard, row * BoardUtils.TILE_COLUMN_COUNT + column);
+        isEmpty &= tiles[column] == 0;
+      }
+      rows[row] = isEmpty ? EMPTY_ROW : tiles;
+    }
+
+    if (isUnchanged && previous.moveMaker == board.getMoveMaker() &&
+        previous.turn == board.getCurrentTurn())
+      return previous;
+
+    return new PositionSnapshot(rows, board.getMoveMaker(),
+                                board.getCurrentTurn(), board.getZobristKey());
+  }
+
+  /**
+   * Gets the tile code of a BitBoard tile.
+   */
+  private static byte getTileCode(final BitBoard bitBoard, final int tileId) {
+    return (byte) ((bitBoard.getPieceCode(tileId) + 1) |
+                   (bitBoard.isRevealed(tileId) ? REVEALED_BIT : 0));
+  }
+
+  /**
+   * Checks if a snapshot row is the same as the BitBoard row.
+   */
+  private static boolean isSameRow(final byte[] tiles, final BitBoard bitBoard,
+                                   final int row) {
+    for (int column = 0; column < BoardUtils.TILE_COLUMN_COUNT; column++)
+      if (tiles[column] != getTileCode(bitBoard, row * BoardUtils.TILE_COLUMN_COUNT + column))
+        return false;
+
+    return true;
+  }
+
+  /**
+   * Gets the PieceType occupying a tile.
+   * @param tileId tile id.
+   * @return PieceType of the piece, else null if empty.
+   */
+  public PieceType getPieceType(final int tileId) {
+    return PieceType.get(getPieceCode(tileId));
+  }
+
+  /**
+   * Gets the piece code of the piece occupying a tile.
+   * @param tileId tile id.
+   * @return int piece code, else -1 if empty.
+   */
+  public int getPieceCode(final int tileId) {
+    return (getTileCode(tileId) & PIECE_MASK) - 1;
+  }
+
+  /**
+   * Checks if the piece occupying a tile has been revealed.
+   * @param tileId tile id.
+   * @return boolean true if revealed, else false if hidden or empty.
+   */
+  public boolean isRevealed(final int tileId) {
+    return (getTileCode(tileId) & REVEALED_BIT) != 0;
+  }
+
+  /**
+   * Checks if a tile is occupied.
+   * @param tileId tile id.
+   * @return boolean true if occupied, else false.
+   */
+  public boolean isTileOccupied(final int tileId) {
+    return (getTileCode(tileId) & PIECE_MASK) != 0;
+  }
+
+  /**
+   * Checks if a row array is shared with another snapshot. Used to verify
+   * structural sharing.
+   * @param other other snapshot.
+   * @param row row index.
+   * @return boolean true if shared, else false.
+   */
+  public boolean isRowShared(final PositionSnapshot other, final int row) {
+    return rows[row] == other.rows[row];
+  }
+
+  /**
+   * Writes this snapshot into a BitBoard. The BitBoard is cleared first.
+   * @param bitBoard BitBoard to write into.
+   */
+  public void copyInto(final BitBoard bitBoard) {
+    bitBoard.clear();
+
+    for (int tileId = 0; tileId < BoardUtils.ALL_TILES_COUNT; tileId++) {
+      final int pieceCode = getPieceCode(tileId);
+
+      if (pieceCode < 0)
+        continue;
+
+      final PieceType pieceType = PieceType.get(pieceCode);
+      bitBoard.setPiece(tileId, pieceType.getPieceAlliance(), pieceType.getRankId());
+      bitBoard.setRevealed(tileId, isRevealed(tileId));
+    }
+  }
+
+  /**
+   * Gets the one line notation of this snapshot. See PositionNotation.
+   * @param lastExecutedTurn last executed turn to write into the notation.
+   * @return String position notation.
+   */
+  public String toNotation(final int lastExecutedTurn) {
+    final BitBoard bitBoard = new BitBoard();
+    final StringBuilder notation = new StringBuilder(160);
+
+    copyInto(bitBoard);
+    PositionNotation.appendNotation(notation, bitBoard, moveMaker, turn, lastExecutedTurn);
+
+    return notation.toString();
+  }
+
+  /**
+   * Gets the move maker of this snapshot.
+   * @return Alliance moveMaker field. Null if not yet assigned.
+   */
+  public Alliance getMoveMaker() {
+    return this.moveMaker;
+  }
+
+  /**
+   * Gets the turn of this snapshot.
+   * @return int turn field.
+   */
+  public int getTurn() {
+    return this.turn;
+  }
+
+  /**
+   * Gets the Zobrist key of this snapshot.
+   * @return long zobristKey field.
+   */
+  public long getZobristKey() {
+    return this.zobristKey;
+  }
+
+  /**
+   * Gets the tile code of a tile.
+   */
+  private int getTileCode(final int tileId) {
+    return rows[tileId / BoardUtils.TILE_COLUMN_COUNT][tileId % BoardUtils.TILE_COLUMN_COUNT];
+  }
+
+  @Override
+  public String toString() {
+    return toNotation(0);
+  }
+}
@@ -0,0 +1,81 @@
+package engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Independent random number streams derived from a single seed. Each random
+ * source of a game draws from its own stream, so fixing the seed fixes every
+ * random decision of the game, and consuming more numbers from one source
+ * does not shift the numbers of the others.
+ *
+ * Streams are not thread safe. Each game owns its own RandomStreams.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class RandomStreams {
+
+  /** Stream IDs of each random source */
+  public static final int SETUP_STREAM = 0;
+  public static final int AI_STREAM = 1;
+  public static final int DETERMINIZATION_STREAM = 2;
+
+  /** Count of all streams */
+  public static final int STREAM_COUNT = 3;
+
+  /** Golden ratio increment used to separate the stream seeds */
+  static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  /** Seed of all streams */
+  private final long seed;
+
+  /** Random number generator of each stream. Indexed by stream ID */
+  private final SplittableRandom[] streams = new SplittableRandom[STREAM_COUNT];
+
+  /**
+   * Constructor that takes in the seed of all streams.
+   * @param seed seed of all streams.
+   */
+  public RandomStreams(final long seed) {
+    this.seed = seed;
+    reset();
+  }
+
+  /**
+   * Gets the seed of all streams.
+   * @return long seed field.
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Gets the random number generator of a stream.
+   * @param streamId SETUP_STREAM, AI_STREAM or DETERMINIZATION_STREAM.
+   * @return SplittableRandom of the stream.
+   */
+  public SplittableRandom getStream(final int streamId) {
+    return streams[streamId];
+  }
+
+  /**
+   * Rewinds all streams to their beginning.
+   */
+  public void reset() {
+    for (int streamId = 0; streamId < STREAM_COUNT; streamId++)
+      streams[streamId] = new SplittableRandom(mix64(seed + (streamId + 1) * GOLDEN_GAMMA));
+  }
+
+  /**
+   * Scrambles the bits of a long. Used to derive seeds and checksums that
+   * are identical on every machine. SplitMix64 finalizer.
+   * @param value long to scramble.
+   * @return long scrambled value.
+   */
+  public static long mix64(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+
+}
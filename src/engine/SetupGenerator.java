@@ -0,0 +1,151 @@
+package engine;
+
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import utils.BoardUtils;
+
+/**
+ * Seedable random setup generator. A setup is a legal arrangement of the 21
+ * pieces of an Alliance within its territory, made in linear time by a partial
+ * Fisher-Yates shuffle of the territory tiles. The same seed always yields the
+ * same sequence of setups.
+ *
+ * A setup is a byte array of TERRITORY_TILES_COUNT holding the rank ID of the
+ * piece on each territory tile, or EMPTY. Index 0 is the first tile of the
+ * Alliance territory, i.e. tile 0 for BLACK and tile 36 for WHITE.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class SetupGenerator {
+
+  /** Count of tiles within the territory of each Alliance */
+  public static final int TERRITORY_TILES_COUNT = BoardUtils.ALL_TILES_COUNT / 2;
+
+  /** Setup value of an empty tile */
+  public static final byte EMPTY = -1;
+
+  /** Rank IDs of all 21 pieces of a setup */
+  private static final byte[] SETUP_RANK_IDS = createSetupRankIds();
+
+  /** Count of pieces of a setup */
+  public static final int SETUP_PIECES_COUNT = SETUP_RANK_IDS.length;
+
+  /** Seed of this generator */
+  private final long seed;
+
+  /** Random number generator of this generator */
+  private final SplittableRandom random;
+
+  /** Reusable buffer of territory tile offsets to shuffle */
+  private final byte[] tileOffsets = new byte[TERRITORY_TILES_COUNT];
+
+  /**
+   * Constructor that takes in the seed of the generator.
+   * @param seed seed of the setups sequence.
+   */
+  public SetupGenerator(final long seed) {
+    this.seed = seed;
+    this.random = new SplittableRandom(seed);
+  }
+
+  /**
+   * Gets the seed of this generator.
+   * @return long seed field.
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Generates the next setup into a reusable buffer.
+   * @param setup buffer of TERRITORY_TILES_COUNT to write the setup into.
+   */
+  public void nextSetup(final byte[] setup) {
+    generateSetup(random, tileOffsets, setup);
+  }
+
+  /**
+   * Generates the next setup.
+   * @return byte[] setup.
+   */
+  public byte[] nextSetup() {
+    final byte[] setup = new byte[TERRITORY_TILES_COUNT];
+    nextSetup(setup);
+    return setup;
+  }
+
+  /**
+   * Streams setups that only depend on the seed of this generator and their
+   * index, so the stream is reproducible even when run in parallel. Does not
+   * advance this generator.
+   * @param count count of setups to stream.
+   * @return Stream<byte[]> of setups.
+   */
+  public Stream<byte[]> setups(final long count) {
+    return LongStream.range(0, count).mapToObj(index -> {
+      final byte[] setup = new byte[TERRITORY_TILES_COUNT];
+      // Mixed, since SplittableRandom steps its seed by the same gamma.
+      generateSetup(new SplittableRandom(
+                      RandomStreams.mix64(seed + (index + 1) * RandomStreams.GOLDEN_GAMMA)),
+                    new byte[TERRITORY_TILES_COUNT], setup);
+      return setup;
+    });
+  }
+
+  /**
+   * Gets the board tile id of a setup index.
+   * @param alliance Alliance of the setup.
+   * @param index setup index from 0 to TERRITORY_TILES_COUNT - 1.
+   * @return int tile id.
+   */
+  public static int getTileId(final Alliance alliance, final int index) {
+    return alliance == Alliance.BLACK ? index : TERRITORY_TILES_COUNT + index;
+  }
+
+  /**
+   * Generates a setup by shuffling only the first SETUP_PIECES_COUNT tile
+   * offsets of the territory.
+   */
+  private static void generateSetup(final SplittableRandom random,
+                                    final byte[] tileOffsets,
+                                    final byte[] setup) {
+    for (int i = 0; i < TERRITORY_TILES_COUNT; i++) {
+      tileOffsets[i] = (byte) i;
+      setup[i] = EMPTY;
+    }
+
+    for (int i = 0; i < SETUP_PIECES_COUNT; i++) {
+      final int j = i + random.nextInt(TERRITORY_TILES_COUNT - i);
+      final byte tileOffset = tileOffsets[j];
+
+      tileOffsets[j] = tileOffsets[i];
+      tileOffsets[i] = tileOffset;
+      setup[tileOffset] = SETUP_RANK_IDS[i];
+    }
+  }
+
+  /**
+   * Creates the rank IDs of all pieces of a setup from the legal piece
+   * instance count of each rank.
+   */
+  private static byte[] createSetupRankIds() {
+    final byte[] rankIds = new byte[BoardUtils.ALL_TILES_COUNT];
+    int count = 0;
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++) {
+      final int instances = BoardUtils.pieceInstanceCreator(
+          BoardUtils.RANKS[rankId], null, Alliance.WHITE).getLegalPieceInstanceCount();
+
+      for (int i = 0; i < instances; i++)
+        rankIds[count++] = (byte) rankId;
+    }
+
+    final byte[] setupRankIds = new byte[count];
+    System.arraycopy(rankIds, 0, setupRankIds, 0, count);
+    return setupRankIds;
+  }
+
+}
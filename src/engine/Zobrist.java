@@ -0,0 +1,100 @@
+package engine;
+
+import java.util.SplittableRandom;
+
+import utils.BoardUtils;
+
+/**
+ * Zobrist hashing keys of the Board position. A position key is the XOR of the
+ * key of each piece on its tile, the key of each revealed piece tile, and the
+ * side to move key if BLACK is the move maker. Keys are generated from a fixed
+ * seed so that the same position always hashes to the same key across runs.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class Zobrist {
+
+  /** Seed of the keys generator. Changing it invalidates stored keys */
+  private static final long SEED = 0x9E3779B97F4A7C15L;
+
+  /** Keys of each piece code on each tile. Indexed by [pieceCode][tileId] */
+  private static final long[] PIECE_KEYS =
+    new long[BoardUtils.ALLIANCE_COUNT * BoardUtils.RANK_COUNT * BoardUtils.ALL_TILES_COUNT];
+
+  /** Keys of a revealed piece on each tile */
+  private static final long[] REVEALED_KEYS = new long[BoardUtils.ALL_TILES_COUNT];
+
+  /** Key of BLACK being the move maker */
+  public static final long BLACK_TO_MOVE_KEY;
+
+  static {
+    final SplittableRandom random = new SplittableRandom(SEED);
+
+    for (int i = 0; i < PIECE_KEYS.length; i++)
+      PIECE_KEYS[i] = random.nextLong();
+    for (int i = 0; i < REVEALED_KEYS.length; i++)
+      REVEALED_KEYS[i] = random.nextLong();
+    BLACK_TO_MOVE_KEY = random.nextLong();
+  }
+
+  /**
+   * Gets the key of a piece on a tile.
+   * @param pieceCode piece code. See BitBoard.getPieceCode().
+   * @param tileId tile id.
+   * @return long piece key.
+   */
+  public static long getPieceKey(final int pieceCode, final int tileId) {
+    return PIECE_KEYS[pieceCode * BoardUtils.ALL_TILES_COUNT + tileId];
+  }
+
+  /**
+   * Gets the key of a revealed piece on a tile.
+   * @param tileId tile id.
+   * @return long revealed key.
+   */
+  public static long getRevealedKey(final int tileId) {
+    return REVEALED_KEYS[tileId];
+  }
+
+  /**
+   * Gets the key of the move maker.
+   * @param moveMaker Alliance of the current move maker.
+   * @return long BLACK_TO_MOVE_KEY if BLACK, else 0.
+   */
+  public static long getMoveMakerKey(final Alliance moveMaker) {
+    return moveMaker == Alliance.BLACK ? BLACK_TO_MOVE_KEY : 0L;
+  }
+
+  /**
+   * Computes the key of a position from scratch. Used to verify incrementally
+   * maintained keys.
+   * @param bitBoard BitBoard to hash.
+   * @param moveMaker Alliance of the current move maker.
+   * @return long position key.
+   */
+  public static long computeKey(final BitBoard bitBoard, final Alliance moveMaker) {
+    long key = getMoveMakerKey(moveMaker);
+
+    for (int tileId = 0; tileId < BoardUtils.ALL_TILES_COUNT; tileId++) {
+      final int pieceCode = bitBoard.getPieceCode(tileId);
+
+      if (pieceCode < 0)
+        continue;
+
+      key ^= getPieceKey(pieceCode, tileId);
+      if (bitBoard.isRevealed(tileId))
+        key ^= getRevealedKey(tileId);
+    }
+
+    return key;
+  }
+
+  /**
+   * Constructor method that ensures this Zobrist class cannot be instantiated.
+   */
+  private Zobrist() {
+    throw new RuntimeException("You cannot instantiate Zobrist class");
+  }
+
+}
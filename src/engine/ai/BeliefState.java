@@ -0,0 +1,601 @@
+package engine.ai;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import engine.Alliance;
+import engine.Arbiter;
+import engine.BitBoard;
+import engine.Board;
+import engine.BoardListener;
+import engine.Move;
+import engine.SetupGenerator;
+import engine.pieces.PieceType;
+import utils.BoardUtils;
+
+/**
+ * Bayesian belief over the hidden ranks of the opponent pieces, from the
+ * point of view of one Alliance. Every opponent piece on the board has a
+ * probability distribution over the 15 ranks, kept in one flat double array
+ * indexed by [piece][rankId].
+ *
+ * Distributions are updated in place from what the Alliance can observe:
+ * challenge outcomes rule out every rank the Arbiter would have decided
+ * differently, a moving piece is less likely to be the Flag, and eliminated
+ * pieces leave the board with their distribution. After every update the
+ * distributions are refitted so each rank is expected as many times as it
+ * can still be on the board, i.e. its legal piece instance count minus its
+ * expected eliminations.
+ *
+ * Registered as a BoardListener, a BeliefState follows the Board by itself.
+ * Unmade moves restore the previous distributions. Sampling only reads the
+ * distributions, so searches may sample from several threads while the Board
+ * is not changing.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class BeliefState implements BoardListener {
+
+  /** Maximum count of opponent pieces */
+  public static final int MAX_PIECES = SetupGenerator.SETUP_PIECES_COUNT;
+
+  /** Default likelihood of the Flag being the piece that has moved */
+  public static final double DEFAULT_FLAG_MOVE_LIKELIHOOD = 0.5;
+
+  /** Count of fitting passes after every update */
+  private static final int FIT_ITERATIONS = 4;
+
+  /** Least expected count of a rank not known to be all eliminated */
+  private static final double MIN_EXPECTED_COUNT = 0.01;
+
+  /** Probability above which an eliminated piece rank is considered known */
+  private static final double CERTAINTY = 1.0 - 1e-9;
+
+  /** Values saved per move to restore on unmake */
+  private static final int SAVED_LENGTH =
+    MAX_PIECES * BoardUtils.RANK_COUNT + BoardUtils.RANK_COUNT * 2 + MAX_PIECES;
+
+  /** Alliance whose pieces are known */
+  private final Alliance perspective;
+
+  /** Alliance whose ranks are hidden */
+  private final Alliance opponent;
+
+  /** Legal piece instance count of each opponent rank */
+  private final int[] initialCounts = new int[BoardUtils.RANK_COUNT];
+
+  /** Rank probabilities of each opponent piece. Indexed by [piece][rankId] */
+  private final double[] probabilities = new double[MAX_PIECES * BoardUtils.RANK_COUNT];
+
+  /** Expected count of eliminated opponent pieces of each rank */
+  private final double[] eliminatedCounts = new double[BoardUtils.RANK_COUNT];
+
+  /** Count of eliminated opponent pieces of each rank known for certain */
+  private final double[] knownEliminatedCounts = new double[BoardUtils.RANK_COUNT];
+
+  /** Tile of each opponent piece, else -1 if eliminated */
+  private final int[] pieceTiles = new int[MAX_PIECES];
+
+  /** Opponent piece occupying each tile, else -1 */
+  private final int[] tilePieces = new int[BoardUtils.ALL_TILES_COUNT];
+
+  /** Count of tracked opponent pieces including eliminated ones */
+  private int pieceCount;
+
+  /** Saved values of each made move, restored by unmade moves */
+  private double[] history = new double[SAVED_LENGTH * 64];
+
+  /** Count of saved moves */
+  private int historyCount;
+
+  /** Board followed by this BeliefState. Null until reset */
+  private Board board;
+
+  /** Likelihood of the Flag being the piece that has moved */
+  private double flagMoveLikelihood = DEFAULT_FLAG_MOVE_LIKELIHOOD;
+
+  /**
+   * Constructor that takes in the Alliance whose pieces are known.
+   * @param perspective Alliance to hold the belief of.
+   */
+  public BeliefState(final Alliance perspective) {
+    this.perspective = perspective;
+    this.opponent = SearchPosition.getOpponent(perspective);
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      initialCounts[rankId] = PieceType.get(opponent, rankId).getLegalPieceInstanceCount();
+  }
+
+  /**
+   * Resets the belief to the Board current position. Revealed opponent pieces
+   * are known, and hidden ones share the ranks not revealed.
+   * @param board Board to follow.
+   */
+  public void reset(final Board board) {
+    final BitBoard bitBoard = board.getBitBoard();
+    final double[] remaining = new double[BoardUtils.RANK_COUNT];
+    double remainingTotal = 0;
+    int hiddenCount = 0;
+
+    this.board = board;
+    this.pieceCount = 0;
+    this.historyCount = 0;
+    Arrays.fill(tilePieces, -1);
+    Arrays.fill(probabilities, 0);
+    Arrays.fill(knownEliminatedCounts, 0);
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      remaining[rankId] = initialCounts[rankId];
+
+    for (int tileId = 0; tileId < BoardUtils.ALL_TILES_COUNT; tileId++) {
+      if (!bitBoard.isTileOccupied(tileId, opponent) || pieceCount == MAX_PIECES)
+        continue;
+
+      final int piece = pieceCount++;
+      pieceTiles[piece] = tileId;
+      tilePieces[tileId] = piece;
+
+      if (bitBoard.isRevealed(tileId)) {
+        final int rankId = bitBoard.getRankId(tileId);
+        probabilities[piece * BoardUtils.RANK_COUNT + rankId] = 1;
+        remaining[rankId] = Math.max(0, remaining[rankId] - 1);
+      } else {
+        hiddenCount++;
+      }
+    }
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      remainingTotal += remaining[rankId];
+
+    // Pieces missing from the board are eliminated in proportion.
+    final double survivalRate = remainingTotal == 0 ? 0 : hiddenCount / remainingTotal;
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++) {
+      final double hidden = rankId == BoardUtils.FLAG_RANK_ID ?
+        remaining[rankId] : remaining[rankId] * survivalRate;
+      eliminatedCounts[rankId] = remaining[rankId] - hidden;
+
+      for (int piece = 0; piece < pieceCount; piece++)
+        if (!bitBoard.isRevealed(pieceTiles[piece]))
+          probabilities[piece * BoardUtils.RANK_COUNT + rankId] = hidden;
+    }
+
+    fit();
+  }
+
+  /**
+   * Checks if this BeliefState follows the Board current opponent pieces.
+   * @param board Board to check.
+   * @return boolean true if following, else false if due for a reset.
+   */
+  public boolean isTracking(final Board board) {
+    if (this.board != board)
+      return false;
+
+    final BitBoard bitBoard = board.getBitBoard();
+
+    for (int tileId = 0; tileId < BoardUtils.ALL_TILES_COUNT; tileId++)
+      if (bitBoard.isTileOccupied(tileId, opponent) != (tilePieces[tileId] >= 0))
+        return false;
+
+    return true;
+  }
+
+  /**
+   * Updates the belief from a made move as seen by the perspective Alliance.
+   * @param move int encoded move.
+   * @param mover Alliance that made the move.
+   * @param ownRankId rank ID of the perspective piece involved in the move,
+   * else -1 if none.
+   * @param engagement Arbiter outcome from the point of view of the moved
+   * piece, else Arbiter.NO_ENGAGEMENT.
+   */
+  public void update(final int move, final Alliance mover, final int ownRankId,
+                     final int engagement) {
+    final int origin = Move.decodeOrigin(move);
+    final int destination = Move.decodeDestination(move);
+
+    saveHistory();
+
+    if (mover == opponent) {
+      final int piece = tilePieces[origin];
+      if (piece < 0)
+        return;
+
+      if (engagement == Arbiter.NO_ENGAGEMENT) {
+        scaleRank(piece, BoardUtils.FLAG_RANK_ID, flagMoveLikelihood);
+        relocate(piece, destination);
+      } else {
+        // Opponent piece attacked the own piece of a known rank.
+        for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+          if (Arbiter.getOutcome(rankId, ownRankId) != engagement)
+            probabilities[piece * BoardUtils.RANK_COUNT + rankId] = 0;
+
+        if (engagement == Arbiter.LOSE || engagement == Arbiter.DRAW)
+          eliminate(piece);
+        else
+          relocate(piece, destination);
+      }
+    } else if (engagement != Arbiter.NO_ENGAGEMENT) {
+      final int piece = tilePieces[destination];
+      if (piece < 0)
+        return;
+
+      // Own piece of a known rank attacked the opponent piece.
+      for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+        if (Arbiter.getOutcome(ownRankId, rankId) != engagement)
+          probabilities[piece * BoardUtils.RANK_COUNT + rankId] = 0;
+
+      if (engagement != Arbiter.LOSE)
+        eliminate(piece);
+    }
+
+    fit();
+  }
+
+  /**
+   * Restores the belief before the most recent update.
+   * @return boolean true if successful, else false if there is no update to
+   * restore.
+   */
+  public boolean undo() {
+    if (historyCount == 0)
+      return false;
+
+    final int offset = --historyCount * SAVED_LENGTH;
+    final int rankValues = MAX_PIECES * BoardUtils.RANK_COUNT;
+
+    System.arraycopy(history, offset, probabilities, 0, rankValues);
+    System.arraycopy(history, offset + rankValues, eliminatedCounts, 0, BoardUtils.RANK_COUNT);
+    System.arraycopy(history, offset + rankValues + BoardUtils.RANK_COUNT,
+                     knownEliminatedCounts, 0, BoardUtils.RANK_COUNT);
+
+    Arrays.fill(tilePieces, -1);
+    for (int piece = 0; piece < pieceCount; piece++) {
+      pieceTiles[piece] = (int) history[offset + rankValues + BoardUtils.RANK_COUNT * 2 + piece];
+      if (pieceTiles[piece] >= 0)
+        tilePieces[pieceTiles[piece]] = piece;
+    }
+
+    return true;
+  }
+
+  /**
+   * Saves the belief before an update.
+   */
+  private void saveHistory() {
+    if ((historyCount + 1) * SAVED_LENGTH > history.length)
+      history = Arrays.copyOf(history, history.length * 2);
+
+    final int offset = historyCount++ * SAVED_LENGTH;
+    final int rankValues = MAX_PIECES * BoardUtils.RANK_COUNT;
+
+    System.arraycopy(probabilities, 0, history, offset, rankValues);
+    System.arraycopy(eliminatedCounts, 0, history, offset + rankValues, BoardUtils.RANK_COUNT);
+    System.arraycopy(knownEliminatedCounts, 0, history, offset + rankValues + BoardUtils.RANK_COUNT,
+                     BoardUtils.RANK_COUNT);
+
+    for (int piece = 0; piece < pieceCount; piece++)
+      history[offset + rankValues + BoardUtils.RANK_COUNT * 2 + piece] = pieceTiles[piece];
+  }
+
+  /**
+   * Multiplies the probability of one rank of a piece and renormalizes it.
+   */
+  private void scaleRank(final int piece, final int rankId, final double likelihood) {
+    probabilities[piece * BoardUtils.RANK_COUNT + rankId] *= likelihood;
+    normalizePiece(piece);
+  }
+
+  /**
+   * Moves a piece into another tile.
+   */
+  private void relocate(final int piece, final int destination) {
+    tilePieces[pieceTiles[piece]] = -1;
+    tilePieces[destination] = piece;
+    pieceTiles[piece] = destination;
+  }
+
+  /**
+   * Removes a piece from the board and adds its distribution to the expected
+   * eliminations.
+   */
+  private void eliminate(final int piece) {
+    final int offset = piece * BoardUtils.RANK_COUNT;
+
+    normalizePiece(piece);
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++) {
+      final double probability = probabilities[offset + rankId];
+
+      eliminatedCounts[rankId] += probability;
+      if (probability > CERTAINTY)
+        knownEliminatedCounts[rankId]++;
+      probabilities[offset + rankId] = 0;
+    }
+
+    tilePieces[pieceTiles[piece]] = -1;
+    pieceTiles[piece] = -1;
+  }
+
+  /**
+   * Normalizes the distribution of a piece. An impossible distribution falls
+   * back to the ranks that may still be on the board.
+   */
+  private void normalizePiece(final int piece) {
+    final int offset = piece * BoardUtils.RANK_COUNT;
+    double sum = 0;
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      sum += probabilities[offset + rankId];
+
+    if (sum <= 0) {
+      for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++) {
+        probabilities[offset + rankId] = getExpectedCount(rankId);
+        sum += probabilities[offset + rankId];
+      }
+    }
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      probabilities[offset + rankId] /= sum;
+  }
+
+  /**
+   * Refits the distributions so each rank is expected as many times as it can
+   * still be on the board, then renormalizes every piece.
+   */
+  private void fit() {
+    for (int iteration = 0; iteration < FIT_ITERATIONS; iteration++) {
+      for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++) {
+        double sum = 0;
+
+        for (int piece = 0; piece < pieceCount; piece++)
+          sum += probabilities[piece * BoardUtils.RANK_COUNT + rankId];
+
+        if (sum <= 0)
+          continue;
+
+        final double scale = getExpectedCount(rankId) / sum;
+        for (int piece = 0; piece < pieceCount; piece++)
+          probabilities[piece * BoardUtils.RANK_COUNT + rankId] *= scale;
+      }
+
+      for (int piece = 0; piece < pieceCount; piece++)
+        if (pieceTiles[piece] >= 0)
+          normalizePiece(piece);
+    }
+  }
+
+  /**
+   * Gets the expected count of a rank still on the board.
+   */
+  private double getExpectedCount(final int rankId) {
+    if (rankId == BoardUtils.FLAG_RANK_ID)
+      return 1;
+
+    // Expected eliminations are soft, so only known ones may rule a rank out.
+    if (initialCounts[rankId] - knownEliminatedCounts[rankId] <= 0)
+      return 0;
+
+    return Math.max(MIN_EXPECTED_COUNT, initialCounts[rankId] - eliminatedCounts[rankId]);
+  }
+
+  /**
+   * Gets the probability of the opponent piece in a tile having a rank.
+   * @param tileId tile id of the opponent piece.
+   * @param rankId rank ID.
+   * @return double probability, else 0 if the tile has no opponent piece.
+   */
+  public double getProbability(final int tileId, final int rankId) {
+    final int piece = tilePieces[tileId];
+
+    return piece < 0 ? 0 : probabilities[piece * BoardUtils.RANK_COUNT + rankId];
+  }
+
+  /**
+   * Gets the expected rank value of the opponent piece in a tile. See
+   * BoardUtils.getRankValue().
+   * @param tileId tile id of the opponent piece.
+   * @return double expected rank value, else 0 if the tile has no opponent piece.
+   */
+  public double getExpectedRankValue(final int tileId) {
+    final int piece = tilePieces[tileId];
+    double value = 0;
+
+    if (piece < 0)
+      return 0;
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      value += probabilities[piece * BoardUtils.RANK_COUNT + rankId] *
+        BoardUtils.getRankValue(rankId);
+
+    return value;
+  }
+
+  /**
+   * Samples a full assignment of the hidden opponent ranks consistent with
+   * the piece counts, and writes it into a BitBoard. The Flag is placed first,
+   * then every other hidden piece draws from its own distribution among the
+   * ranks with instances left. Only reads the belief.
+   * @param source BitBoard of the actual position.
+   * @param random random number generator to sample with.
+   * @param target BitBoard to write the sampled position into.
+   */
+  public void sample(final BitBoard source, final SplittableRandom random,
+                     final BitBoard target) {
+    sample(source, random, target, new SampleBuffers());
+  }
+
+  /**
+   * Samples like sample(BitBoard, SplittableRandom, BitBoard) into caller
+   * owned buffers, so repeated sampling does not allocate.
+   * @param source BitBoard of the actual position.
+   * @param random random number generator to sample with.
+   * @param target BitBoard to write the sampled position into.
+   * @param buffers SampleBuffers of the calling thread.
+   */
+  public void sample(final BitBoard source, final SplittableRandom random,
+                     final BitBoard target, final SampleBuffers buffers) {
+    final int[] budget = buffers.budget;
+    final int[] hiddenTiles = buffers.hiddenTiles;
+    final double[] weights = buffers.weights;
+    int hiddenCount = 0;
+    boolean isFlagHidden = true;
+
+    target.copyFrom(source);
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      budget[rankId] = initialCounts[rankId] - (int) knownEliminatedCounts[rankId];
+
+    for (int tileId = 0; tileId < BoardUtils.ALL_TILES_COUNT; tileId++) {
+      if (!source.isTileOccupied(tileId, opponent))
+        continue;
+
+      if (source.isRevealed(tileId)) {
+        budget[source.getRankId(tileId)]--;
+        isFlagHidden &= source.getRankId(tileId) != BoardUtils.FLAG_RANK_ID;
+      } else if (hiddenCount < MAX_PIECES) {
+        hiddenTiles[hiddenCount++] = tileId;
+      }
+    }
+
+    if (hiddenCount == 0)
+      return;
+
+    if (isFlagHidden) {
+      weights[0] = 0;
+      for (int i = 0; i < hiddenCount; i++)
+        weights[0] += getWeight(hiddenTiles[i], BoardUtils.FLAG_RANK_ID);
+
+      double pick = random.nextDouble() * weights[0];
+      int flagIndex = weights[0] > 0 ? hiddenCount - 1 : random.nextInt(hiddenCount);
+
+      for (int i = 0; weights[0] > 0 && i < hiddenCount; i++) {
+        pick -= getWeight(hiddenTiles[i], BoardUtils.FLAG_RANK_ID);
+        if (pick < 0) {
+          flagIndex = i;
+          break;
+        }
+      }
+
+      target.setPiece(hiddenTiles[flagIndex], opponent, BoardUtils.FLAG_RANK_ID);
+      hiddenTiles[flagIndex] = hiddenTiles[--hiddenCount];
+    }
+    budget[BoardUtils.FLAG_RANK_ID] = 0;
+
+    // Visit the other hidden pieces in random order.
+    for (int i = 0; i < hiddenCount; i++) {
+      final int j = i + random.nextInt(hiddenCount - i);
+      final int tileId = hiddenTiles[j];
+      double total = 0;
+
+      hiddenTiles[j] = hiddenTiles[i];
+      hiddenTiles[i] = tileId;
+
+      for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++) {
+        weights[rankId] = budget[rankId] > 0 ? getWeight(tileId, rankId) : 0;
+        total += weights[rankId];
+      }
+
+      // Fall back to any rank left if the belief rules out all of them.
+      if (total <= 0) {
+        for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++) {
+          weights[rankId] = Math.max(0, budget[rankId]);
+          total += weights[rankId];
+        }
+      }
+
+      int rankId = BoardUtils.PRIVATE_RANK_ID;
+      double pick = random.nextDouble() * total;
+
+      for (int r = 0; total > 0 && r < BoardUtils.RANK_COUNT; r++) {
+        if (weights[r] <= 0)
+          continue;
+        rankId = r;
+        pick -= weights[r];
+        if (pick < 0)
+          break;
+      }
+
+      budget[rankId]--;
+      target.setPiece(tileId, opponent, rankId);
+    }
+  }
+
+  /**
+   * Gets the sampling weight of a rank for the opponent piece in a tile.
+   * Untracked pieces weigh every rank by its expected count.
+   */
+  private double getWeight(final int tileId, final int rankId) {
+    final int piece = tilePieces[tileId];
+
+    return piece < 0 ? getExpectedCount(rankId) :
+      probabilities[piece * BoardUtils.RANK_COUNT + rankId];
+  }
+
+  /**
+   * Gets the Alliance whose pieces are known.
+   * @return Alliance perspective field.
+   */
+  public Alliance getPerspective() {
+    return this.perspective;
+  }
+
+  /**
+   * Sets the likelihood of the Flag being the piece that has moved.
+   * @param flagMoveLikelihood likelihood from 0 to 1. 1 ignores movement.
+   */
+  public void setFlagMoveLikelihood(final double flagMoveLikelihood) {
+    this.flagMoveLikelihood = flagMoveLikelihood;
+  }
+
+  @Override
+  public void onGameInitialized(final Board board) {
+    reset(board);
+  }
+
+  @Override
+  public void onGameStarted(final Board board) {
+    reset(board);
+  }
+
+  @Override
+  public void onGameRestarted(final Board board) {
+    reset(board);
+  }
+
+  @Override
+  public void onMoveMade(final Board board, final int move, final int sourcePieceCode,
+                         final int targetPieceCode, final int engagement) {
+    if (board != this.board)
+      return;
+
+    final Alliance mover = PieceType.get(sourcePieceCode).getPieceAlliance();
+    final int ownPieceCode = mover == perspective ? sourcePieceCode : targetPieceCode;
+
+    update(move, mover, ownPieceCode < 0 ? -1 : ownPieceCode % BoardUtils.RANK_COUNT,
+           engagement);
+  }
+
+  @Override
+  public void onMoveUnmade(final Board board, final int move) {
+    if (board == this.board && !undo())
+      reset(board);
+  }
+
+  /**
+   * Scratch buffers of sampling. Each sampling thread owns its own.
+   */
+  public static class SampleBuffers {
+
+    /** Instances left of each rank */
+    private final int[] budget = new int[BoardUtils.RANK_COUNT];
+
+    /** Tiles of the hidden opponent pieces */
+    private final int[] hiddenTiles = new int[MAX_PIECES];
+
+    /** Sampling weight of each rank */
+    private final double[] weights = new double[BoardUtils.RANK_COUNT];
+  }
+
+}
@@ -0,0 +1,90 @@
+package engine.ai;
+
+import java.util.SplittableRandom;
+
+import engine.Alliance;
+import engine.BitBoard;
+import engine.pieces.PieceType;
+import utils.BoardUtils;
+
+/**
+ * Samples a determinization of a position from the point of view of one
+ * Alliance. Hidden opponent pieces are assigned ranks drawn without
+ * replacement from the opponent pieces not yet revealed, so every sampled
+ * position is a legal arrangement the opponent could actually have. The
+ * opponent Flag is always assigned first so it is never left out.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class Determinizer {
+
+  /**
+   * Writes a determinization of a position into a BitBoard.
+   * @param source BitBoard of the actual position.
+   * @param perspective Alliance whose pieces are known.
+   * @param random random number generator to sample with.
+   * @param target BitBoard to write the determinization into.
+   */
+  public static void determinize(final BitBoard source, final Alliance perspective,
+                                 final SplittableRandom random, final BitBoard target) {
+    final Alliance opponent = SearchPosition.getOpponent(perspective);
+    final int[] hiddenTiles = new int[BoardUtils.ALL_TILES_COUNT];
+    final int[] pool = new int[BoardUtils.ALL_TILES_COUNT];
+    final int[] remaining = new int[BoardUtils.RANK_COUNT];
+    int hiddenCount = 0;
+    int poolCount = 0;
+    boolean isFlagHidden = true;
+
+    target.copyFrom(source);
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      remaining[rankId] = PieceType.get(opponent, rankId).getLegalPieceInstanceCount();
+
+    for (int tileId = 0; tileId < BoardUtils.ALL_TILES_COUNT; tileId++) {
+      if (!source.isTileOccupied(tileId, opponent))
+        continue;
+
+      if (source.isRevealed(tileId)) {
+        final int rankId = source.getRankId(tileId);
+        remaining[rankId] = Math.max(0, remaining[rankId] - 1);
+        isFlagHidden &= rankId != BoardUtils.FLAG_RANK_ID;
+      } else {
+        hiddenTiles[hiddenCount++] = tileId;
+      }
+    }
+
+    if (hiddenCount == 0)
+      return;
+
+    // Flag must be on the board, so place it before sampling the others.
+    if (isFlagHidden) {
+      final int flagIndex = random.nextInt(hiddenCount);
+      target.setPiece(hiddenTiles[flagIndex], opponent, BoardUtils.FLAG_RANK_ID);
+      hiddenTiles[flagIndex] = hiddenTiles[--hiddenCount];
+    }
+    remaining[BoardUtils.FLAG_RANK_ID] = 0;
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      for (int i = 0; i < remaining[rankId]; i++)
+        pool[poolCount++] = rankId;
+
+    for (int i = 0; i < hiddenCount && i < poolCount; i++) {
+      final int j = i + random.nextInt(poolCount - i);
+      final int rankId = pool[j];
+
+      pool[j] = pool[i];
+      pool[i] = rankId;
+      target.setPiece(hiddenTiles[i], opponent, rankId);
+    }
+  }
+
+  /**
+   * Constructor method that ensures this Determinizer class cannot be
+   * instantiated.
+   */
+  private Determinizer() {
+    throw new RuntimeException("You cannot instantiate Determinizer class");
+  }
+
+}
@@ -0,0 +1,343 @@
+package engine.ai;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Scanner;
+
+import engine.Alliance;
+import engine.BitBoard;
+import utils.BoardUtils;
+
+/**
+ * Parameterized static evaluation of a position. The score is a weighted sum
+ * of features, each the difference between the move maker and the opponent:
+ *
+ *   material      count of pieces of each rank,
+ *   flag safety   count of enemy and friendly pieces adjacent to the Flag,
+ *   flag advance  count of rows the Flag has advanced toward its winning row,
+ *                 i.e. toward BoardUtils.LAST_ROW_INIT for BLACK,
+ *   mobility      count of tiles the pieces can move into,
+ *   information   count of pieces not yet revealed to the opponent.
+ *
+ * The default weights reproduce the material and Flag advancement evaluation
+ * the search had used, at the same cost, and EvaluationTuner fits all of them
+ * to game results. Evaluating does not allocate, and is thread safe as long as
+ * the weights are not changed meanwhile.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class Evaluator {
+
+  /** Feature index of the material of rank ID 0. Other ranks follow */
+  public static final int MATERIAL = 0;
+
+  /** Feature index of the enemy pieces adjacent to the Flag */
+  public static final int FLAG_ATTACKERS = MATERIAL + BoardUtils.RANK_COUNT;
+
+  /** Feature index of the friendly pieces adjacent to the Flag */
+  public static final int FLAG_DEFENDERS = FLAG_ATTACKERS + 1;
+
+  /** Feature index of the rows the Flag has advanced */
+  public static final int FLAG_ADVANCE = FLAG_DEFENDERS + 1;
+
+  /** Feature index of the tiles the pieces can move into */
+  public static final int MOBILITY = FLAG_ADVANCE + 1;
+
+  /** Feature index of the pieces not yet revealed */
+  public static final int HIDDEN_PIECES = MOBILITY + 1;
+
+  /** Count of features and weights */
+  public static final int WEIGHT_COUNT = HIDDEN_PIECES + 1;
+
+  /** Default weight of a material point. See BoardUtils.getRankValue() */
+  private static final int MATERIAL_WEIGHT = 100;
+
+  /** Default weight of every row the Flag has advanced */
+  private static final int FLAG_ADVANCE_WEIGHT = 10;
+
+  /** Weight of each feature */
+  private final int[] weights = new int[WEIGHT_COUNT];
+
+  /** Set if the material weights are the defaults */
+  private boolean isDefaultMaterial;
+
+  /**
+   * No argument constructor that sets the default weights.
+   */
+  public Evaluator() {
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      weights[MATERIAL + rankId] = MATERIAL_WEIGHT * BoardUtils.getRankValue(rankId);
+    weights[FLAG_ADVANCE] = FLAG_ADVANCE_WEIGHT;
+    this.isDefaultMaterial = true;
+  }
+
+  /**
+   * Evaluates a position. Features of zero weight are not computed, and
+   * default material weights are taken from the incremental material scores.
+   * @param bitBoard BitBoard of the position.
+   * @param moveMaker Alliance to make the next move.
+   * @return int score from the point of view of the move maker.
+   */
+  public int evaluate(final BitBoard bitBoard, final Alliance moveMaker) {
+    int score = 0;
+
+    for (int side = 0; side < BoardUtils.ALLIANCE_COUNT; side++) {
+      final Alliance alliance = side == 0 ? moveMaker : SearchPosition.getOpponent(moveMaker);
+      final int sign = side == 0 ? 1 : -1;
+      int sideScore = 0;
+
+      if (isDefaultMaterial) {
+        sideScore += MATERIAL_WEIGHT * bitBoard.getMaterialScore(alliance);
+      } else {
+        for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+          sideScore += weights[MATERIAL + rankId] * bitBoard.countPieces(alliance, rankId);
+      }
+
+      final int flagTile = bitBoard.findPiece(alliance, BoardUtils.FLAG_RANK_ID);
+      if (flagTile >= 0) {
+        sideScore += weights[FLAG_ADVANCE] * getFlagAdvance(flagTile, alliance);
+        if (weights[FLAG_ATTACKERS] != 0)
+          sideScore += weights[FLAG_ATTACKERS] *
+            countNeighbours(bitBoard, flagTile, SearchPosition.getOpponent(alliance));
+        if (weights[FLAG_DEFENDERS] != 0)
+          sideScore += weights[FLAG_DEFENDERS] * countNeighbours(bitBoard, flagTile, alliance);
+      }
+
+      if (weights[MOBILITY] != 0)
+        sideScore += weights[MOBILITY] * countMobility(bitBoard, alliance);
+      if (weights[HIDDEN_PIECES] != 0)
+        sideScore += weights[HIDDEN_PIECES] * countHiddenPieces(bitBoard, alliance);
+
+      score += sign * sideScore;
+    }
+
+    return score;
+  }
+
+  /**
+   * Extracts the features of a position.
+   * @param bitBoard BitBoard of the position.
+   * @param moveMaker Alliance to make the next move.
+   * @param features buffer to write the WEIGHT_COUNT features into.
+   * @param offset index of the buffer to start writing into.
+   */
+  public static void extractFeatures(final BitBoard bitBoard, final Alliance moveMaker,
+                                     final byte[] features, final int offset) {
+    for (int i = 0; i < WEIGHT_COUNT; i++)
+      features[offset + i] = 0;
+
+    for (int side = 0; side < BoardUtils.ALLIANCE_COUNT; side++) {
+      final Alliance alliance = side == 0 ? moveMaker : SearchPosition.getOpponent(moveMaker);
+      final int sign = side == 0 ? 1 : -1;
+
+      for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+        features[offset + MATERIAL + rankId] += sign * bitBoard.countPieces(alliance, rankId);
+
+      final int flagTile = bitBoard.findPiece(alliance, BoardUtils.FLAG_RANK_ID);
+      if (flagTile >= 0) {
+        features[offset + FLAG_ATTACKERS] +=
+          sign * countNeighbours(bitBoard, flagTile, SearchPosition.getOpponent(alliance));
+        features[offset + FLAG_DEFENDERS] += sign * countNeighbours(bitBoard, flagTile, alliance);
+        features[offset + FLAG_ADVANCE] += sign * getFlagAdvance(flagTile, alliance);
+      }
+
+      features[offset + MOBILITY] += sign * countMobility(bitBoard, alliance);
+      features[offset + HIDDEN_PIECES] += sign * countHiddenPieces(bitBoard, alliance);
+    }
+  }
+
+  /**
+   * Gets the count of rows a Flag has advanced from its back row.
+   */
+  private static int getFlagAdvance(final int flagTile, final Alliance alliance) {
+    final int row = flagTile / BoardUtils.TILE_COLUMN_COUNT;
+    return alliance == Alliance.BLACK ? row : BoardUtils.TILE_ROW_COUNT - 1 - row;
+  }
+
+  /**
+   * Gets the count of pieces of an Alliance adjacent to a tile.
+   */
+  private static int countNeighbours(final BitBoard bitBoard, final int tileId,
+                                     final Alliance alliance) {
+    int count = 0;
+
+    for (final int neighbour : BoardUtils.getNeighbours(tileId))
+      if (bitBoard.isTileOccupied(neighbour, alliance))
+        count++;
+
+    return count;
+  }
+
+  /**
+   * Gets the count of tiles the pieces of an Alliance can move into.
+   */
+  private static int countMobility(final BitBoard bitBoard, final Alliance alliance) {
+    int mobility = 0;
+
+    for (int word = 0; word < BitBoard.WORDS; word++) {
+      long pieces = bitBoard.getAllianceBits(alliance, word);
+
+      while (pieces != 0) {
+        final int tileId = (word << 6) + Long.numberOfTrailingZeros(pieces);
+        pieces &= pieces - 1;
+
+        for (final int neighbour : BoardUtils.getNeighbours(tileId))
+          if (!bitBoard.isTileOccupied(neighbour, alliance))
+            mobility++;
+      }
+    }
+
+    return mobility;
+  }
+
+  /**
+   * Gets the count of pieces of an Alliance not yet revealed.
+   */
+  private static int countHiddenPieces(final BitBoard bitBoard, final Alliance alliance) {
+    int hiddenPieces = 0;
+
+    for (int word = 0; word < BitBoard.WORDS; word++) {
+      long pieces = bitBoard.getAllianceBits(alliance, word);
+
+      while (pieces != 0) {
+        final int tileId = (word << 6) + Long.numberOfTrailingZeros(pieces);
+        pieces &= pieces - 1;
+
+        if (!bitBoard.isRevealed(tileId))
+          hiddenPieces++;
+      }
+    }
+
+    return hiddenPieces;
+  }
+
+  /**
+   * Gets the name of a weight.
+   * @param index weight index.
+   * @return String weight name.
+   */
+  public static String getWeightName(final int index) {
+    if (index < FLAG_ATTACKERS)
+      return "material" + BoardUtils.RANKS[index - MATERIAL];
+    else if (index == FLAG_ATTACKERS)
+      return "flagAttackers";
+    else if (index == FLAG_DEFENDERS)
+      return "flagDefenders";
+    else if (index == FLAG_ADVANCE)
+      return "flagAdvance";
+    else if (index == MOBILITY)
+      return "mobility";
+    else
+      return "hiddenPieces";
+  }
+
+  /**
+   * Saves the weights into a file.
+   * @param path file path.
+   * @return boolean true if successful, else false.
+   */
+  public boolean save(final String path) {
+    try {
+      final PrintWriter pWriter = new PrintWriter(new FileWriter(new File(path)));
+
+      pWriter.println("Evaluator=" + WEIGHT_COUNT + ";");
+      for (int i = 0; i < WEIGHT_COUNT; i++)
+        pWriter.println(getWeightName(i) + "=" + weights[i] + ";");
+      pWriter.close();
+
+      return !pWriter.checkError();
+    } catch (final IOException e) {
+      System.out.println("Evaluator error: save unsuccessful.\npath: " + path);
+      return false;
+    }
+  }
+
+  /**
+   * Loads the weights from a file. Weights missing from the file are kept.
+   * @param path file path.
+   * @return boolean true if successful, else false if missing or malformed.
+   */
+  public boolean load(final String path) {
+    final int[] loadedWeights = weights.clone();
+
+    try {
+      final Scanner scan = new Scanner(new File(path));
+
+      while (scan.hasNextLine()) {
+        final String line = scan.nextLine();
+        final int separator = line.indexOf('=');
+
+        if (separator < 0 || !line.endsWith(";"))
+          continue;
+
+        final String name = line.substring(0, separator);
+        for (int i = 0; i < WEIGHT_COUNT; i++)
+          if (getWeightName(i).equals(name))
+            loadedWeights[i] = Integer.parseInt(line.substring(separator + 1, line.length() - 1));
+      }
+      scan.close();
+    } catch (final FileNotFoundException e) {
+      System.out.println("Evaluator error: weights not found");
+      return false;
+    } catch (final NumberFormatException e) {
+      return false;
+    }
+
+    setWeights(loadedWeights);
+    return true;
+  }
+
+  /**
+   * Gets the weight of a feature.
+   * @param index feature index.
+   * @return int weight.
+   */
+  public int getWeight(final int index) {
+    return weights[index];
+  }
+
+  /**
+   * Sets the weight of a feature.
+   * @param index feature index.
+   * @param weight weight.
+   */
+  public void setWeight(final int index, final int weight) {
+    weights[index] = weight;
+    updateDefaultMaterial();
+  }
+
+  /**
+   * Gets the weights of all features.
+   * @return int[] copy of the weights.
+   */
+  public int[] getWeights() {
+    return weights.clone();
+  }
+
+  /**
+   * Sets the weights of all features.
+   * @param weights WEIGHT_COUNT weights.
+   */
+  public void setWeights(final int[] weights) {
+    System.arraycopy(weights, 0, this.weights, 0, WEIGHT_COUNT);
+    updateDefaultMaterial();
+  }
+
+  /**
+   * Checks if the material weights are the defaults, so evaluate() can use
+   * the incremental material scores of the BitBoard.
+   */
+  private void updateDefaultMaterial() {
+    boolean isDefault = true;
+
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++)
+      isDefault &= weights[MATERIAL + rankId] == MATERIAL_WEIGHT * BoardUtils.getRankValue(rankId);
+
+    this.isDefaultMaterial = isDefault;
+  }
+
+}
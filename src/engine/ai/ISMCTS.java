@@ -0,0 +1,445 @@
+package engine.ai;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import engine.Alliance;
+import engine.BitBoard;
+import engine.MoveGenerator;
+
+/**
+ * Single observer Information Set Monte Carlo Tree Search. Every iteration
+ * samples a determinization of the hidden opponent ranks, from the
+ * BeliefState if set, else uniformly with Determinizer, and descends a tree
+ * of moves shared by all determinizations, so the search never relies on
+ * ranks it cannot see. Children are selected by UCB1 using their
+ * availability count, i.e. how often they were legal when their parent was
+ * visited, in place of the parent visit count.
+ *
+ * Runs tree parallel: all threads iterate on one shared tree. Node statistics
+ * are updated with atomic field updaters and children are published copy on
+ * write, so selection never locks. A thread passing through a node adds a
+ * virtual loss to it until its result is backed up, steering other threads
+ * into other branches.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class ISMCTS {
+
+  /** Returned move if there is no move to make */
+  public static final int NO_MOVE = -1;
+
+  /** Default UCB1 exploration constant */
+  public static final double DEFAULT_EXPLORATION = 0.7;
+
+  /** Default count of random moves played after leaving the tree */
+  public static final int DEFAULT_ROLLOUT_DEPTH = 16;
+
+  /** Maximum depth of the tree descent */
+  public static final int MAX_TREE_DEPTH = 64;
+
+  /** Reward of a won iteration. Rewards are fixed point to add atomically */
+  private static final int REWARD_SCALE = 1 << 16;
+
+  /** Material difference worth about 73% winning chances at the rollout end */
+  private static final double MATERIAL_SCALE = 10.0;
+
+  /** Count of threads searching the tree */
+  private final int threadCount;
+
+  /** Threads searching the tree */
+  private final ExecutorService executor;
+
+  /** UCB1 exploration constant */
+  private double exploration = DEFAULT_EXPLORATION;
+
+  /** Count of random moves played after leaving the tree */
+  private int rolloutDepth = DEFAULT_ROLLOUT_DEPTH;
+
+  /** Belief to sample the determinizations from. Null to sample uniformly */
+  private BeliefState beliefState;
+
+  /** Set once the running search has to stop */
+  private volatile boolean isStopped;
+
+  /** Iterations of the running or last search */
+  private final LongAdder iterationCount = new LongAdder();
+
+  /** Duration of the last search in nanoseconds */
+  private long elapsedNanos;
+
+  /** Root of the last search */
+  private Node root;
+
+  /**
+   * No argument constructor that searches with all available processors.
+   */
+  public ISMCTS() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor that takes in the count of threads to search with.
+   * @param threadCount count of threads sharing the tree.
+   */
+  public ISMCTS(final int threadCount) {
+    this.threadCount = Math.max(1, threadCount);
+    this.executor = Executors.newFixedThreadPool(this.threadCount, runnable -> {
+      final Thread thread = new Thread(runnable, "ISMCTS");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Searches the best move of the move maker within a time budget using all
+   * threads.
+   * @param bitBoard BitBoard of the actual position.
+   * @param moveMaker Alliance to search the move of.
+   * @param timeBudgetNanos time budget in nanoseconds.
+   * @param random random number generator to seed every thread from.
+   * @return int encoded move, else NO_MOVE if the move maker cannot move.
+   */
+  public int findBestMove(final BitBoard bitBoard, final Alliance moveMaker,
+                          final long timeBudgetNanos, final SplittableRandom random) {
+    final int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+    final int rootCount = MoveGenerator.generateMoves(bitBoard, moveMaker, rootMoves);
+
+    if (rootCount == 0)
+      return NO_MOVE;
+
+    final BitBoard rootBoard = new BitBoard();
+    final long start = System.nanoTime();
+    final long deadline = start + timeBudgetNanos;
+    final Future<?>[] workers = new Future<?>[threadCount];
+
+    rootBoard.copyFrom(bitBoard);
+    this.root = new Node(NO_MOVE, null);
+    this.isStopped = false;
+    this.iterationCount.reset();
+
+    for (int i = 0; i < threadCount; i++) {
+      final SplittableRandom threadRandom = random.split();
+      workers[i] = executor.submit(() -> iterate(rootBoard, moveMaker, deadline, threadRandom));
+    }
+
+    for (final Future<?> worker : workers) {
+      try {
+        worker.get();
+      } catch (final Exception e) {
+        isStopped = true;
+        throw new IllegalStateException("ISMCTS worker failed", e);
+      }
+    }
+    this.elapsedNanos = System.nanoTime() - start;
+
+    // Most visited child is the most robust choice.
+    Node best = null;
+    for (final Node child : root.children)
+      if (best == null || child.visits > best.visits)
+        best = child;
+
+    for (int i = 0; best != null && i < rootCount; i++)
+      if ((rootMoves[i] & SearchPosition.ORIGIN_DESTINATION_MASK) == best.move)
+        return rootMoves[i];
+
+    return rootMoves[random.nextInt(rootCount)];
+  }
+
+  /**
+   * Runs iterations on the shared tree until the deadline or a stop.
+   */
+  private void iterate(final BitBoard rootBoard, final Alliance perspective,
+                       final long deadline, final SplittableRandom random) {
+    final SearchPosition position = new SearchPosition();
+    final BitBoard sample = new BitBoard();
+    final BeliefState.SampleBuffers sampleBuffers = new BeliefState.SampleBuffers();
+    final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    final int[] untried = new int[MoveGenerator.MAX_MOVES];
+    final Node[] legalChildren = new Node[MoveGenerator.MAX_MOVES];
+    final Node[] path = new Node[MAX_TREE_DEPTH + 1];
+    long iterations = 0;
+
+    while (!isStopped && System.nanoTime() < deadline) {
+      if (beliefState != null && beliefState.getPerspective() == perspective)
+        beliefState.sample(rootBoard, random, sample, sampleBuffers);
+      else
+        Determinizer.determinize(rootBoard, perspective, random, sample);
+      position.load(sample, perspective);
+
+      // Selection and expansion.
+      Node node = root;
+      int depth = 0;
+
+      while (!position.isEndGame() && depth < MAX_TREE_DEPTH) {
+        final int moveCount = position.generateMoves(moves);
+        if (moveCount == 0)
+          break;
+
+        final Node[] children = node.children;
+        int untriedCount = 0;
+        int legalCount = 0;
+
+        for (int i = 0; i < moveCount; i++) {
+          final Node child = node.findChild(children, moves[i] & SearchPosition.ORIGIN_DESTINATION_MASK);
+
+          if (child == null) {
+            untried[untriedCount++] = moves[i];
+          } else {
+            Node.AVAILABILITY.incrementAndGet(child);
+            legalChildren[legalCount++] = child;
+          }
+        }
+
+        final int move;
+        if (untriedCount > 0) {
+          move = untried[random.nextInt(untriedCount)];
+          node = node.addChild(move & SearchPosition.ORIGIN_DESTINATION_MASK,
+                               position.getMoveMaker());
+          Node.AVAILABILITY.incrementAndGet(node);
+        } else {
+          node = selectChild(legalChildren, legalCount);
+          move = node.move;
+        }
+
+        Node.VIRTUAL_LOSSES.incrementAndGet(node);
+        position.makeMove(move);
+        path[++depth] = node;
+
+        if (untriedCount > 0)
+          break;
+      }
+
+      // Simulation and backpropagation.
+      final int reward = rollout(position, perspective, moves, random);
+
+      for (int i = depth; i > 0; i--) {
+        final Node visited = path[i];
+        Node.REWARDS.addAndGet(visited, visited.mover == perspective ? reward : REWARD_SCALE - reward);
+        Node.VISITS.incrementAndGet(visited);
+        Node.VIRTUAL_LOSSES.decrementAndGet(visited);
+      }
+      Node.VISITS.incrementAndGet(root);
+      iterations++;
+    }
+
+    iterationCount.add(iterations);
+  }
+
+  /**
+   * Selects the child with the best UCB1 score. Virtual losses count as
+   * visits without reward.
+   */
+  private Node selectChild(final Node[] children, final int count) {
+    Node best = children[0];
+    double bestScore = Double.NEGATIVE_INFINITY;
+
+    for (int i = 0; i < count; i++) {
+      final Node child = children[i];
+      final int visits = child.visits + child.virtualLosses;
+
+      if (visits == 0)
+        return child;
+
+      final double score = (double) child.rewards / REWARD_SCALE / visits +
+        exploration * Math.sqrt(Math.log(child.availability) / visits);
+
+      if (score > bestScore) {
+        bestScore = score;
+        best = child;
+      }
+    }
+
+    return best;
+  }
+
+  /**
+   * Plays random moves then scores the reached position.
+   * @return int reward of the perspective from 0 to REWARD_SCALE.
+   */
+  private int rollout(final SearchPosition position, final Alliance perspective,
+                      final int[] moves, final SplittableRandom random) {
+    for (int i = 0; i < rolloutDepth && !position.isEndGame(); i++) {
+      final int moveCount = position.generateMoves(moves);
+      if (moveCount == 0)
+        return position.getMoveMaker() == perspective ? 0 : REWARD_SCALE;
+
+      position.makeMove(moves[random.nextInt(moveCount)]);
+    }
+
+    if (position.isEndGame())
+      return position.getWinner() == perspective ? REWARD_SCALE : 0;
+
+    final BitBoard bitBoard = position.getBitBoard();
+    final int material = bitBoard.getMaterialScore(perspective) -
+      bitBoard.getMaterialScore(SearchPosition.getOpponent(perspective));
+
+    return (int) (REWARD_SCALE / (1.0 + Math.exp(-material / MATERIAL_SCALE)));
+  }
+
+  /**
+   * Stops the running search. The search returns the most visited move so far.
+   */
+  public void stop() {
+    this.isStopped = true;
+  }
+
+  /**
+   * Shuts down the search threads. This ISMCTS cannot search afterwards.
+   */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Gets the count of iterations of the last search.
+   * @return long count of iterations.
+   */
+  public long getIterationCount() {
+    return iterationCount.sum();
+  }
+
+  /**
+   * Gets the iterations per second of the last search over all threads.
+   * @return double iterations per second.
+   */
+  public double getIterationsPerSecond() {
+    return elapsedNanos == 0 ? 0 : getIterationCount() * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Gets the visit count of a root move of the last search.
+   * @param move int encoded move.
+   * @return int visit count, else 0 if not visited.
+   */
+  public int getRootVisits(final int move) {
+    final Node child = root == null ? null :
+      root.findChild(root.children, move & SearchPosition.ORIGIN_DESTINATION_MASK);
+
+    return child == null ? 0 : child.visits;
+  }
+
+  /**
+   * Gets the count of threads searching the tree.
+   * @return int threadCount field.
+   */
+  public int getThreadCount() {
+    return this.threadCount;
+  }
+
+  /**
+   * Sets the belief to sample the determinizations from. Only used when
+   * searching for the perspective Alliance of the belief, and must not change
+   * during a search.
+   * @param beliefState BeliefState to sample from, else null to sample
+   * uniformly.
+   */
+  public void setBeliefState(final BeliefState beliefState) {
+    this.beliefState = beliefState;
+  }
+
+  /**
+   * Sets the UCB1 exploration constant.
+   * @param exploration exploration constant.
+   */
+  public void setExploration(final double exploration) {
+    this.exploration = exploration;
+  }
+
+  /**
+   * Sets the count of random moves played after leaving the tree.
+   * @param rolloutDepth count of rollout moves.
+   */
+  public void setRolloutDepth(final int rolloutDepth) {
+    this.rolloutDepth = Math.max(0, Math.min(SearchPosition.MAX_PLY - MAX_TREE_DEPTH, rolloutDepth));
+  }
+
+  /**
+   * Shared tree node of a move. Statistics are from the point of view of the
+   * Alliance that made the move.
+   */
+  private static final class Node {
+
+    static final AtomicIntegerFieldUpdater<Node> VISITS =
+      AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+    static final AtomicIntegerFieldUpdater<Node> AVAILABILITY =
+      AtomicIntegerFieldUpdater.newUpdater(Node.class, "availability");
+    static final AtomicIntegerFieldUpdater<Node> VIRTUAL_LOSSES =
+      AtomicIntegerFieldUpdater.newUpdater(Node.class, "virtualLosses");
+    static final AtomicLongFieldUpdater<Node> REWARDS =
+      AtomicLongFieldUpdater.newUpdater(Node.class, "rewards");
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    /** Origin and destination bits of the move. NO_MOVE for the root */
+    final int move;
+
+    /** Alliance that made the move */
+    final Alliance mover;
+
+    /** Children sorted by move. Replaced, never written, once published */
+    volatile Node[] children = NO_CHILDREN;
+
+    volatile int visits;
+    volatile int availability;
+    volatile int virtualLosses;
+    volatile long rewards;
+
+    Node(final int move, final Alliance mover) {
+      this.move = move;
+      this.mover = mover;
+    }
+
+    /**
+     * Finds the child of a move by binary search.
+     */
+    Node findChild(final Node[] children, final int move) {
+      int low = 0;
+      int high = children.length - 1;
+
+      while (low <= high) {
+        final int middle = (low + high) >>> 1;
+        final int middleMove = children[middle].move;
+
+        if (middleMove < move)
+          low = middle + 1;
+        else if (middleMove > move)
+          high = middle - 1;
+        else
+          return children[middle];
+      }
+
+      return null;
+    }
+
+    /**
+     * Adds the child of a move, or returns it if another thread already did.
+     */
+    synchronized Node addChild(final int move, final Alliance mover) {
+      final Node[] current = children;
+      final Node existing = findChild(current, move);
+
+      if (existing != null)
+        return existing;
+
+      final Node child = new Node(move, mover);
+      final Node[] next = Arrays.copyOf(current, current.length + 1);
+      int i = current.length;
+
+      for (; i > 0 && next[i - 1].move > move; i--)
+        next[i] = next[i - 1];
+      next[i] = child;
+
+      children = next;
+      return child;
+    }
+  }
+
+}
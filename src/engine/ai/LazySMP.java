@@ -0,0 +1,217 @@
+package engine.ai;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import engine.Alliance;
+import engine.BitBoard;
+
+/**
+ * Lazy SMP multithreaded Search. The calling thread runs the main search
+ * while helper threads search the same root and the same determinized worlds
+ * at the same time, sharing their results only through the
+ * TranspositionTable. Helpers start one iteration deeper on every other
+ * thread and visit the root moves in a rotated order, so they fill the table
+ * with entries the main search reaches later.
+ *
+ * A single best move is reported: the one of the deepest completed
+ * iteration, preferring the main search on ties. Every search stops on the
+ * deadline, on stop(), or as soon as the main search returns.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class LazySMP extends Search {
+
+  /** Helper searches. One per helper thread */
+  private final Search[] helpers;
+
+  /** Helper threads */
+  private final ExecutorService executor;
+
+  /** Stop signal shared by the main and helper searches */
+  private final AtomicBoolean stopSignal = new AtomicBoolean();
+
+  /** Depth of the reported best move of the last search */
+  private int reportedDepth;
+
+  /** Count of helpers that ran the last search */
+  private int helperCount;
+
+  /**
+   * Constructor that takes in the count of threads and the shared
+   * transposition table.
+   * @param threadCount count of threads including the calling thread.
+   * @param transpositionTable TranspositionTable shared by all threads.
+   */
+  public LazySMP(final int threadCount, final TranspositionTable transpositionTable) {
+    this(threadCount, transpositionTable, DEFAULT_WORLD_COUNT);
+  }
+
+  /**
+   * Constructor that takes in the count of threads, the shared transposition
+   * table and the count of determinized worlds searched per move.
+   * @param threadCount count of threads including the calling thread.
+   * @param transpositionTable TranspositionTable shared by all threads.
+   * @param worldCount count of worlds searched by every thread.
+   */
+  public LazySMP(final int threadCount, final TranspositionTable transpositionTable,
+                 final int worldCount) {
+    super(worldCount);
+    this.helpers = new Search[Math.max(0, threadCount - 1)];
+    this.executor = helpers.length == 0 ? null :
+      Executors.newFixedThreadPool(helpers.length, runnable -> {
+        final Thread thread = new Thread(runnable, "LazySMP");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+    for (int i = 0; i < helpers.length; i++) {
+      helpers[i] = new Search(worldCount);
+      helpers[i].isTableAgedElsewhere = true;
+      helpers[i].setStartDepth(1 + (i + 1) % 2);
+      helpers[i].setRootRotation(i + 1);
+      helpers[i].setStopSignal(stopSignal);
+    }
+    super.setStopSignal(stopSignal);
+    this.isTableAgedElsewhere = true;
+    setTranspositionTable(transpositionTable);
+  }
+
+  @Override
+  public int findBestMove(final BitBoard bitBoard, final Alliance moveMaker,
+                          final long timeBudgetNanos,
+                          final SplittableRandom determinizationRandom,
+                          final SplittableRandom tieBreakRandom) {
+    // Every thread samples the same worlds so they can share the table.
+    final long worldSeed = determinizationRandom.nextLong();
+    // Without helper threads, only the main search runs.
+    helperCount = executor == null || executor.isShutdown() ? 0 : helpers.length;
+    final Future<?>[] helperMoves = new Future<?>[helperCount];
+
+    stopSignal.set(false);
+
+    // Age the table before any helper stores, so all entries of this search
+    // are of the same generation.
+    if (getTranspositionTable() != null)
+      getTranspositionTable().newSearch();
+
+    for (int i = 0; i < helperCount; i++) {
+      final Search helper = helpers[i];
+      final SplittableRandom helperTieBreakRandom = tieBreakRandom.split();
+
+      helperMoves[i] = executor.submit(() -> helper.findBestMove(
+          bitBoard, moveMaker, timeBudgetNanos, new SplittableRandom(worldSeed),
+          helperTieBreakRandom));
+    }
+
+    int bestMove = super.findBestMove(bitBoard, moveMaker, timeBudgetNanos,
+                                      new SplittableRandom(worldSeed), tieBreakRandom);
+    reportedDepth = super.getCompletedDepth();
+    stopSignal.set(true);
+
+    for (int i = 0; i < helperCount; i++) {
+      try {
+        final int helperMove = (Integer) helperMoves[i].get();
+
+        if (helpers[i].getCompletedDepth() > reportedDepth && helperMove != NO_MOVE) {
+          bestMove = helperMove;
+          reportedDepth = helpers[i].getCompletedDepth();
+        }
+      } catch (final Exception e) {
+        throw new IllegalStateException("LazySMP helper failed", e);
+      }
+    }
+
+    return bestMove;
+  }
+
+  /**
+   * Stops the main and all helper searches. The search returns the best move
+   * of the deepest completed iteration.
+   */
+  @Override
+  public void stop() {
+    stopSignal.set(true);
+    super.stop();
+  }
+
+  /**
+   * Shuts down the helper threads. This LazySMP can only search on the
+   * calling thread afterwards, as a single threaded Search.
+   */
+  public void shutdown() {
+    if (executor != null)
+      executor.shutdownNow();
+  }
+
+  @Override
+  public void setBeliefState(final BeliefState beliefState) {
+    super.setBeliefState(beliefState);
+    for (final Search helper : helpers)
+      helper.setBeliefState(beliefState);
+  }
+
+  @Override
+  public void setTranspositionTable(final TranspositionTable transpositionTable) {
+    super.setTranspositionTable(transpositionTable);
+    for (final Search helper : helpers)
+      helper.setTranspositionTable(transpositionTable);
+  }
+
+  @Override
+  public void setEvaluator(final Evaluator evaluator) {
+    super.setEvaluator(evaluator);
+    for (final Search helper : helpers)
+      helper.setEvaluator(evaluator);
+  }
+
+  @Override
+  public void setTablebase(final Tablebase tablebase) {
+    super.setTablebase(tablebase);
+    for (final Search helper : helpers)
+      helper.setTablebase(tablebase);
+  }
+
+  @Override
+  public void setMaxDepth(final int maxDepth) {
+    super.setMaxDepth(maxDepth);
+    for (final Search helper : helpers)
+      helper.setMaxDepth(maxDepth);
+  }
+
+  /**
+   * Gets the depth of the reported best move of the last search.
+   * @return int depth of the deepest completed iteration of all threads.
+   */
+  @Override
+  public int getCompletedDepth() {
+    return this.reportedDepth;
+  }
+
+  /**
+   * Gets the count of nodes visited by all threads in the last search.
+   * @return long count of nodes.
+   */
+  @Override
+  public long getNodeCount() {
+    long nodeCount = super.getNodeCount();
+
+    for (int i = 0; i < helperCount; i++)
+      nodeCount += helpers[i].getNodeCount();
+
+    return nodeCount;
+  }
+
+  /**
+   * Gets the count of threads including the calling thread.
+   * @return int count of threads.
+   */
+  public int getThreadCount() {
+    return helpers.length + 1;
+  }
+
+}
@@ -0,0 +1,269 @@
+package engine.ai;
+
+import engine.Alliance;
+import engine.Arbiter;
+import engine.BitBoard;
+import engine.Move;
+import utils.BoardUtils;
+
+/**
+ * Move ordering of the search. Moves are tried in the order of the hash move,
+ * challenges by expected gain, killer moves, then quiet moves by history.
+ *
+ * The expected gain of a challenge is taken from the BeliefState for the
+ * hidden opponent pieces that have not moved since the root, and from the
+ * determinized ranks otherwise. Killer moves are the last two quiet moves
+ * that caused a cutoff at the same ply. The history table counts the cutoffs
+ * of every quiet move by piece code, origin and destination, and is kept in
+ * primitive arrays so scoring a move does not allocate.
+ *
+ * Not thread safe. Each Search owns its own MoveOrderer.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class MoveOrderer {
+
+  /** Score of the hash move */
+  public static final int HASH_MOVE_SCORE = Integer.MAX_VALUE;
+
+  /** Base score of challenges. Expected gains are added onto it */
+  public static final int CHALLENGE_SCORE = 1 << 30;
+
+  /** Score of the second killer move. The first scores one more */
+  public static final int KILLER_SCORE = 1 << 29;
+
+  /** Maximum history score before all history scores are halved */
+  private static final int MAX_HISTORY_SCORE = KILLER_SCORE - 1;
+
+  /** Count of killer moves per ply */
+  private static final int KILLER_SLOTS = 2;
+
+  /** Gain of a captured or lost Flag */
+  private static final int FLAG_GAIN = 10_000;
+
+  /** Scale of a rank value in gains */
+  private static final int GAIN_SCALE = 100;
+
+  /** Exact gain of every challenge. Indexed by [sourceRankId][targetRankId] */
+  private static final int[] GAINS = new int[BoardUtils.RANK_COUNT * BoardUtils.RANK_COUNT];
+
+  static {
+    for (int source = 0; source < BoardUtils.RANK_COUNT; source++)
+      for (int target = 0; target < BoardUtils.RANK_COUNT; target++)
+        GAINS[source * BoardUtils.RANK_COUNT + target] = computeGain(source, target);
+  }
+
+  /** Killer moves of each ply. Indexed by [ply][slot] */
+  private final int[] killers = new int[(Search.MAX_DEPTH + 1) * KILLER_SLOTS];
+
+  /** History scores. Indexed by [pieceCode][origin][destination] */
+  private final int[] history = new int[BoardUtils.ALLIANCE_COUNT * BoardUtils.RANK_COUNT *
+                                        BoardUtils.ALL_TILES_COUNT * BoardUtils.ALL_TILES_COUNT];
+
+  /** Expected gains from the belief. Indexed by [tileId][sourceRankId] */
+  private final int[] beliefGains = new int[BoardUtils.ALL_TILES_COUNT * BoardUtils.RANK_COUNT];
+
+  /** Bitset of the tiles with hidden opponent pieces at the root */
+  private final long[] beliefTiles = new long[BitBoard.WORDS];
+
+  /** Alliance the belief gains are of. Null if none */
+  private Alliance beliefAlliance;
+
+  /**
+   * No argument constructor that creates empty tables.
+   */
+  public MoveOrderer() {
+    clearKillers();
+  }
+
+  /**
+   * Prepares for a new search. Clears the killer moves, ages the history and
+   * takes the expected gains of the belief for the root position.
+   * @param bitBoard BitBoard of the actual position.
+   * @param moveMaker Alliance to search the move of.
+   * @param beliefState BeliefState of the move maker, else null.
+   */
+  public void newSearch(final BitBoard bitBoard, final Alliance moveMaker,
+                        final BeliefState beliefState) {
+    clearKillers();
+    for (int i = 0; i < history.length; i++)
+      history[i] >>= 1;
+
+    beliefTiles[0] = 0;
+    beliefTiles[1] = 0;
+    beliefAlliance = null;
+    if (beliefState == null || beliefState.getPerspective() != moveMaker)
+      return;
+
+    final Alliance opponent = SearchPosition.getOpponent(moveMaker);
+    beliefAlliance = moveMaker;
+
+    for (int tileId = 0; tileId < BoardUtils.ALL_TILES_COUNT; tileId++) {
+      if (!bitBoard.isTileOccupied(tileId, opponent) || bitBoard.isRevealed(tileId))
+        continue;
+
+      beliefTiles[BitBoard.getWord(tileId)] |= BitBoard.getBit(tileId);
+      for (int source = 0; source < BoardUtils.RANK_COUNT; source++) {
+        double gain = 0;
+
+        for (int target = 0; target < BoardUtils.RANK_COUNT; target++)
+          gain += beliefState.getProbability(tileId, target) *
+            GAINS[source * BoardUtils.RANK_COUNT + target];
+        beliefGains[tileId * BoardUtils.RANK_COUNT + source] = (int) Math.round(gain);
+      }
+    }
+  }
+
+  /**
+   * Scores the moves of a position for ordering.
+   * @param position SearchPosition the moves are of.
+   * @param moves encoded moves.
+   * @param scores buffer to write the score of each move into.
+   * @param moveCount count of moves.
+   * @param hashMove origin and destination bits of the hash move, else
+   * Search.NO_MOVE.
+   * @param ply ply of the position.
+   */
+  public void scoreMoves(final SearchPosition position, final int[] moves,
+                         final int[] scores, final int moveCount,
+                         final int hashMove, final int ply) {
+    final BitBoard bitBoard = position.getBitBoard();
+    final boolean isBeliefMover = position.getMoveMaker() == beliefAlliance;
+    final int killer = killers[ply * KILLER_SLOTS];
+    final int secondKiller = killers[ply * KILLER_SLOTS + 1];
+
+    for (int i = 0; i < moveCount; i++) {
+      final int move = moves[i] & SearchPosition.ORIGIN_DESTINATION_MASK;
+      final int origin = Move.decodeOrigin(move);
+      final int destination = Move.decodeDestination(move);
+
+      if (move == hashMove) {
+        scores[i] = HASH_MOVE_SCORE;
+      } else if (bitBoard.isTileOccupied(destination)) {
+        final int source = bitBoard.getRankId(origin);
+
+        // Hidden pieces still on their root tile are judged by the belief.
+        if (isBeliefMover && !bitBoard.isRevealed(destination) &&
+            (beliefTiles[BitBoard.getWord(destination)] & BitBoard.getBit(destination)) != 0)
+          scores[i] = CHALLENGE_SCORE + beliefGains[destination * BoardUtils.RANK_COUNT + source];
+        else
+          scores[i] = CHALLENGE_SCORE +
+            GAINS[source * BoardUtils.RANK_COUNT + bitBoard.getRankId(destination)];
+      } else if (move == killer) {
+        scores[i] = KILLER_SCORE + 1;
+      } else if (move == secondKiller) {
+        scores[i] = KILLER_SCORE;
+      } else {
+        scores[i] = history[getHistoryIndex(bitBoard.getPieceCode(origin), origin, destination)];
+      }
+    }
+  }
+
+  /**
+   * Moves the best scored move from an index onwards into the index.
+   * @param moves encoded moves.
+   * @param scores scores of the moves.
+   * @param index index to pick the move into.
+   * @param moveCount count of moves.
+   * @return int picked encoded move.
+   */
+  public static int pickMove(final int[] moves, final int[] scores, final int index,
+                             final int moveCount) {
+    int best = index;
+
+    for (int i = index + 1; i < moveCount; i++)
+      if (scores[i] > scores[best])
+        best = i;
+
+    final int move = moves[best];
+    final int score = scores[best];
+    moves[best] = moves[index];
+    scores[best] = scores[index];
+    moves[index] = move;
+    scores[index] = score;
+
+    return move;
+  }
+
+  /**
+   * Records a quiet move that caused a cutoff. Call before the move is made.
+   * @param bitBoard BitBoard of the position the move is of.
+   * @param move encoded move.
+   * @param depth remaining depth of the position.
+   * @param ply ply of the position.
+   */
+  public void addCutoff(final BitBoard bitBoard, final int move, final int depth,
+                        final int ply) {
+    final int originDestination = move & SearchPosition.ORIGIN_DESTINATION_MASK;
+    final int origin = Move.decodeOrigin(move);
+    final int index = getHistoryIndex(bitBoard.getPieceCode(origin), origin,
+                                      Move.decodeDestination(move));
+
+    if (killers[ply * KILLER_SLOTS] != originDestination) {
+      killers[ply * KILLER_SLOTS + 1] = killers[ply * KILLER_SLOTS];
+      killers[ply * KILLER_SLOTS] = originDestination;
+    }
+
+    history[index] += depth * depth;
+    if (history[index] > MAX_HISTORY_SCORE)
+      for (int i = 0; i < history.length; i++)
+        history[i] >>= 1;
+  }
+
+  /**
+   * Checks if a move is quiet, i.e. into an empty tile.
+   * @param bitBoard BitBoard of the position the move is of.
+   * @param move encoded move.
+   * @return boolean true if quiet, else false if a challenge.
+   */
+  public static boolean isQuiet(final BitBoard bitBoard, final int move) {
+    return !bitBoard.isTileOccupied(Move.decodeDestination(move));
+  }
+
+  /**
+   * Gets the history score of a quiet move.
+   * @param pieceCode piece code of the moving piece.
+   * @param origin origin tile id.
+   * @param destination destination tile id.
+   * @return int history score.
+   */
+  public int getHistoryScore(final int pieceCode, final int origin, final int destination) {
+    return history[getHistoryIndex(pieceCode, origin, destination)];
+  }
+
+  /**
+   * Clears the killer moves of all plies.
+   */
+  private void clearKillers() {
+    for (int i = 0; i < killers.length; i++)
+      killers[i] = Search.NO_MOVE;
+  }
+
+  /**
+   * Gets the history table index of a move.
+   */
+  private static int getHistoryIndex(final int pieceCode, final int origin,
+                                     final int destination) {
+    return (pieceCode * BoardUtils.ALL_TILES_COUNT + origin) * BoardUtils.ALL_TILES_COUNT +
+      destination;
+  }
+
+  /**
+   * Computes the gain in rank values of a challenge.
+   */
+  private static int computeGain(final int source, final int target) {
+    final int outcome = Arbiter.getOutcome(source, target);
+
+    if (outcome == Arbiter.FLAG_CAPTURE)
+      return FLAG_GAIN;
+    if (source == BoardUtils.FLAG_RANK_ID)
+      return -FLAG_GAIN;
+    if (outcome == Arbiter.WIN)
+      return GAIN_SCALE * BoardUtils.getRankValue(target);
+    if (outcome == Arbiter.LOSE)
+      return -GAIN_SCALE * BoardUtils.getRankValue(source);
+    return 0;
+  }
+
+}
@@ -0,0 +1,498 @@
+package engine.ai;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import engine.Alliance;
+import engine.BitBoard;
+import engine.MoveGenerator;
+
+/**
+ * Iterative deepening alpha-beta search over determinized positions. The
+ * hidden opponent ranks are sampled into several worlds from the BeliefState
+ * if set, else uniformly with Determinizer. Every root move is searched in
+ * every world, and the move with the best score summed over all worlds is
+ * chosen. Each deeper iteration is only accepted if it completes within the
+ * time budget, so the search can be stopped at any node and still return the
+ * best move of the last iteration.
+ *
+ * An optional TranspositionTable cuts off positions already searched deep
+ * enough and tries their best move first. Worlds are keyed by their sampled
+ * ranks too, so identical determinizations share entries.
+ *
+ * Moves are ordered by the hash move, challenges by expected gain, killer
+ * moves and history. See MoveOrderer.
+ *
+ * An optional Tablebase scores low material positions exactly instead of
+ * searching them.
+ *
+ * Not thread safe. Each thread needs its own Search.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class Search {
+
+  /** Returned move if there is no move to make */
+  public static final int NO_MOVE = -1;
+
+  /** Score of a won position. Reduced by the ply it is won at */
+  public static final int WIN_SCORE = 1_000_000;
+
+  /** Scores above this are won positions */
+  public static final int WIN_THRESHOLD = WIN_SCORE - SearchPosition.MAX_PLY;
+
+  /** Maximum iterative deepening depth */
+  public static final int MAX_DEPTH = 64;
+
+  /** Default count of determinized worlds searched per move */
+  public static final int DEFAULT_WORLD_COUNT = 4;
+
+  /** Score bound beyond all scores */
+  private static final int INFINITY = WIN_SCORE + 1;
+
+  /** Count of nodes between two deadline checks minus one */
+  private static final int CHECK_INTERVAL_MASK = 1023;
+
+  /** Determinized worlds */
+  private final SearchPosition[] worlds;
+
+  /** Reusable BitBoard to sample worlds into */
+  private final BitBoard sample = new BitBoard();
+
+  /** Reusable buffers of sampling worlds from the belief */
+  private final BeliefState.SampleBuffers sampleBuffers = new BeliefState.SampleBuffers();
+
+  /** Move buffer of each ply */
+  private final int[][] moveBuffers = new int[MAX_DEPTH + 1][MoveGenerator.MAX_MOVES];
+
+  /** Ordering score buffer of each ply */
+  private final int[][] scoreBuffers = new int[MAX_DEPTH + 1][MoveGenerator.MAX_MOVES];
+
+  /** Move ordering tables */
+  private final MoveOrderer moveOrderer = new MoveOrderer();
+
+  /** Root moves and their summed scores of the last completed iteration */
+  private final int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+  private final long[] rootScores = new long[MoveGenerator.MAX_MOVES];
+
+  /** Summed scores of the root moves of the running iteration */
+  private final long[] iterationScores = new long[MoveGenerator.MAX_MOVES];
+
+  /** Maximum depth to search to */
+  private int maxDepth = MAX_DEPTH;
+
+  /** Belief to sample the worlds from. Null to sample uniformly */
+  private BeliefState beliefState;
+
+  /** Transposition table. Null to search without one */
+  private TranspositionTable transpositionTable;
+
+  /** Static evaluation of the leaf positions */
+  private Evaluator evaluator = new Evaluator();
+
+  /** Endgame tablebase. Null to search without one */
+  private Tablebase tablebase;
+
+  /** Depth of the first iteration */
+  private int startDepth = 1;
+
+  /** Index of the first root move searched in every iteration */
+  private int rootRotation = 0;
+
+  /** Stop signal shared with other Searches. Null if none */
+  private AtomicBoolean stopSignal;
+
+  /** Set if another Search or LazySMP ages the shared table */
+  boolean isTableAgedElsewhere;
+
+  /** Deadline of the running search in System.nanoTime() */
+  private long deadline;
+
+  /** Set once the running search has to stop */
+  private volatile boolean isStopped;
+
+  /** Count of nodes visited by the running or last search */
+  private long nodeCount;
+
+  /** Depth of the last completed iteration */
+  private int completedDepth;
+
+  /**
+   * No argument constructor that searches DEFAULT_WORLD_COUNT worlds.
+   */
+  public Search() {
+    this(DEFAULT_WORLD_COUNT);
+  }
+
+  /**
+   * Constructor that takes in the count of determinized worlds to search.
+   * @param worldCount count of worlds. More worlds cost depth.
+   */
+  public Search(final int worldCount) {
+    this.worlds = new SearchPosition[Math.max(1, worldCount)];
+
+    for (int i = 0; i < worlds.length; i++)
+      worlds[i] = new SearchPosition();
+  }
+
+  /**
+   * Searches the best move of the move maker within a time budget.
+   * @param bitBoard BitBoard of the actual position.
+   * @param moveMaker Alliance to search the move of.
+   * @param timeBudgetNanos time budget in nanoseconds.
+   * @param determinizationRandom random number generator to sample worlds with.
+   * @param tieBreakRandom random number generator to break score ties with.
+   * @return int encoded move, else NO_MOVE if the move maker cannot move.
+   */
+  public int findBestMove(final BitBoard bitBoard, final Alliance moveMaker,
+                          final long timeBudgetNanos,
+                          final SplittableRandom determinizationRandom,
+                          final SplittableRandom tieBreakRandom) {
+    final long start = System.nanoTime();
+    final int rootCount = MoveGenerator.generateMoves(bitBoard, moveMaker, rootMoves);
+
+    this.deadline = start + timeBudgetNanos;
+    this.isStopped = false;
+    this.nodeCount = 0;
+    this.completedDepth = 0;
+
+    if (rootCount == 0)
+      return NO_MOVE;
+
+    if (transpositionTable != null && !isTableAgedElsewhere)
+      transpositionTable.newSearch();
+    moveOrderer.newSearch(bitBoard, moveMaker, beliefState);
+
+    for (final SearchPosition world : worlds) {
+      if (beliefState != null && beliefState.getPerspective() == moveMaker)
+        beliefState.sample(bitBoard, determinizationRandom, sample, sampleBuffers);
+      else
+        Determinizer.determinize(bitBoard, moveMaker, determinizationRandom, sample);
+      world.load(sample, moveMaker);
+    }
+
+    int bestIndex = tieBreakRandom.nextInt(rootCount);
+
+    for (int depth = Math.min(startDepth, maxDepth); depth <= maxDepth && rootCount > 1; depth++) {
+      if (!searchRoot(depth, rootCount))
+        break;
+
+      System.arraycopy(iterationScores, 0, rootScores, 0, rootCount);
+      bestIndex = pickBestIndex(rootCount, tieBreakRandom);
+      completedDepth = depth;
+
+      // Stop if won in every world, or if the next iteration cannot complete.
+      if (rootScores[bestIndex] / worlds.length > WIN_THRESHOLD ||
+          System.nanoTime() - start > timeBudgetNanos / 2)
+        break;
+    }
+
+    return rootMoves[bestIndex];
+  }
+
+  /**
+   * Searches all root moves in all worlds to a depth.
+   * @return boolean true if the iteration has completed, else false if stopped.
+   */
+  private boolean searchRoot(final int depth, final int rootCount) {
+    for (int i = 0; i < rootCount; i++)
+      iterationScores[i] = 0;
+
+    for (final SearchPosition world : worlds) {
+      for (int n = 0; n < rootCount; n++) {
+        final int i = (n + rootRotation) % rootCount;
+
+        world.makeMove(rootMoves[i]);
+        iterationScores[i] -= alphaBeta(world, depth - 1, -INFINITY, INFINITY, 1);
+        world.unmakeMove();
+
+        if (isStopped)
+          return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Negamax alpha-beta search.
+   * @return int score from the point of view of the move maker.
+   */
+  private int alphaBeta(final SearchPosition position, final int depth,
+                        int alpha, final int beta, final int ply) {
+    if ((++nodeCount & CHECK_INTERVAL_MASK) == 0 &&
+        (System.nanoTime() >= deadline || (stopSignal != null && stopSignal.get())))
+      isStopped = true;
+    if (isStopped)
+      return 0;
+
+    if (position.isEndGame())
+      return position.getWinner() == position.getMoveMaker() ?
+        WIN_SCORE - ply : -WIN_SCORE + ply;
+
+    if (tablebase != null) {
+      final int value = tablebase.probe(position.getBitBoard(), position.getMoveMaker());
+
+      if (value != Tablebase.NOT_FOUND)
+        return getTablebaseScore(value, ply);
+    }
+
+    if (depth <= 0 || ply >= MAX_DEPTH)
+      return evaluator.evaluate(position.getBitBoard(), position.getMoveMaker());
+
+    final long key = position.getZobristKey();
+    final int originalAlpha = alpha;
+    int hashMove = NO_MOVE;
+
+    if (transpositionTable != null) {
+      final long entry = transpositionTable.probe(key);
+
+      if (entry != TranspositionTable.NO_ENTRY) {
+        hashMove = TranspositionTable.getMove(entry);
+
+        if (TranspositionTable.getDepth(entry) >= depth) {
+          final int score = fromTableScore(TranspositionTable.getScore(entry), ply);
+          final int bound = TranspositionTable.getBound(entry);
+
+          if (bound == TranspositionTable.EXACT ||
+              (bound == TranspositionTable.LOWER_BOUND && score >= beta) ||
+              (bound == TranspositionTable.UPPER_BOUND && score <= alpha))
+            return score;
+        }
+      }
+    }
+
+    final int[] moves = moveBuffers[ply];
+    final int[] scores = scoreBuffers[ply];
+    final int moveCount = position.generateMoves(moves);
+
+    if (moveCount == 0)
+      return -WIN_SCORE + ply;
+
+    moveOrderer.scoreMoves(position, moves, scores, moveCount, hashMove, ply);
+
+    int bestScore = -INFINITY;
+    int bestMove = NO_MOVE;
+
+    for (int i = 0; i < moveCount; i++) {
+      final int move = MoveOrderer.pickMove(moves, scores, i, moveCount);
+
+      position.makeMove(move);
+      final int score = -alphaBeta(position, depth - 1, -beta, -alpha, ply + 1);
+      position.unmakeMove();
+
+      if (score > bestScore) {
+        bestScore = score;
+        bestMove = move;
+        if (score > alpha) {
+          alpha = score;
+          if (alpha >= beta) {
+            if (MoveOrderer.isQuiet(position.getBitBoard(), move))
+              moveOrderer.addCutoff(position.getBitBoard(), move, depth, ply);
+            break;
+          }
+        }
+      }
+    }
+
+    if (transpositionTable != null && !isStopped) {
+      final int bound = bestScore <= originalAlpha ? TranspositionTable.UPPER_BOUND :
+        bestScore >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+      transpositionTable.store(key, depth, bound, toTableScore(bestScore, ply), bestMove);
+    }
+
+    return bestScore;
+  }
+
+  /**
+   * Converts a tablebase value into a score from the distance to the root.
+   */
+  private static int getTablebaseScore(final int value, final int ply) {
+    if (Tablebase.isWin(value))
+      return WIN_SCORE - ply - Tablebase.getDistance(value);
+    if (Tablebase.isLoss(value))
+      return -WIN_SCORE + ply + Tablebase.getDistance(value);
+    return 0;
+  }
+
+  /**
+   * Converts a won score from the distance to the root into the distance to
+   * the position, so it stays valid when reached at another ply.
+   */
+  private static int toTableScore(final int score, final int ply) {
+    if (score > WIN_THRESHOLD)
+      return score + ply;
+    if (score < -WIN_THRESHOLD)
+      return score - ply;
+    return score;
+  }
+
+  /**
+   * Converts a won score from the table back into the distance to the root.
+   */
+  private static int fromTableScore(final int score, final int ply) {
+    if (score > WIN_THRESHOLD)
+      return score - ply;
+    if (score < -WIN_THRESHOLD)
+      return score + ply;
+    return score;
+  }
+
+  /**
+   * Picks the root move with the best score, breaking ties randomly.
+   */
+  private int pickBestIndex(final int rootCount, final SplittableRandom tieBreakRandom) {
+    int bestIndex = 0;
+    int ties = 1;
+
+    for (int i = 1; i < rootCount; i++) {
+      if (rootScores[i] > rootScores[bestIndex]) {
+        bestIndex = i;
+        ties = 1;
+      } else if (rootScores[i] == rootScores[bestIndex] && tieBreakRandom.nextInt(++ties) == 0) {
+        bestIndex = i;
+      }
+    }
+
+    return bestIndex;
+  }
+
+  /**
+   * Stops the running search. The search returns the best move of the last
+   * completed iteration.
+   */
+  public void stop() {
+    this.isStopped = true;
+  }
+
+  /**
+   * Sets the belief to sample the worlds from. Only used when searching for
+   * the perspective Alliance of the belief.
+   * @param beliefState BeliefState to sample from, else null to sample
+   * uniformly.
+   */
+  public void setBeliefState(final BeliefState beliefState) {
+    this.beliefState = beliefState;
+  }
+
+  /**
+   * Sets the depth of the first iteration. Helper searches start deeper to
+   * spread the work. See LazySMP.
+   * @param startDepth depth from 1 to MAX_DEPTH.
+   */
+  public void setStartDepth(final int startDepth) {
+    this.startDepth = Math.max(1, Math.min(MAX_DEPTH, startDepth));
+  }
+
+  /**
+   * Sets the index of the first root move searched in every iteration, so
+   * helper searches visit the root moves in a different order. See LazySMP.
+   * @param rootRotation non negative root move index, wrapped around.
+   */
+  public void setRootRotation(final int rootRotation) {
+    this.rootRotation = Math.max(0, rootRotation);
+  }
+
+  /**
+   * Sets a stop signal shared with other Searches. Checked along with the
+   * deadline, so setting it stops the running search within a few
+   * thousand nodes.
+   * @param stopSignal AtomicBoolean stop signal, else null if none.
+   */
+  public void setStopSignal(final AtomicBoolean stopSignal) {
+    this.stopSignal = stopSignal;
+  }
+
+  /**
+   * Sets the transposition table. May be shared with other Searches.
+   * @param transpositionTable TranspositionTable, else null to search
+   * without one.
+   */
+  public void setTranspositionTable(final TranspositionTable transpositionTable) {
+    this.transpositionTable = transpositionTable;
+  }
+
+  /**
+   * Gets the transposition table.
+   * @return TranspositionTable transpositionTable field. Null if none.
+   */
+  public TranspositionTable getTranspositionTable() {
+    return this.transpositionTable;
+  }
+
+  /**
+   * Sets the static evaluation of the leaf positions. May be shared with
+   * other Searches.
+   * @param evaluator Evaluator.
+   */
+  public void setEvaluator(final Evaluator evaluator) {
+    this.evaluator = evaluator;
+  }
+
+  /**
+   * Gets the static evaluation of the leaf positions.
+   * @return Evaluator evaluator field.
+   */
+  public Evaluator getEvaluator() {
+    return this.evaluator;
+  }
+
+  /**
+   * Sets the endgame tablebase. May be shared with other Searches.
+   * @param tablebase Tablebase, else null to search without one.
+   */
+  public void setTablebase(final Tablebase tablebase) {
+    this.tablebase = tablebase;
+  }
+
+  /**
+   * Gets the endgame tablebase.
+   * @return Tablebase tablebase field. Null if none.
+   */
+  public Tablebase getTablebase() {
+    return this.tablebase;
+  }
+
+  /**
+   * Sets the maximum depth to search to. A fixed depth with a generous time
+   * budget makes the search reproducible in deterministic mode.
+   * @param maxDepth depth from 1 to MAX_DEPTH.
+   */
+  public void setMaxDepth(final int maxDepth) {
+    this.maxDepth = Math.max(1, Math.min(MAX_DEPTH, maxDepth));
+  }
+
+  /**
+   * Gets the maximum depth to search to.
+   * @return int maxDepth field.
+   */
+  public int getMaxDepth() {
+    return this.maxDepth;
+  }
+
+  /**
+   * Gets the depth of the last completed iteration of the last search.
+   * @return int completedDepth field.
+   */
+  public int getCompletedDepth() {
+    return this.completedDepth;
+  }
+
+  /**
+   * Gets the count of nodes visited by the last search.
+   * @return long nodeCount field.
+   */
+  public long getNodeCount() {
+    return this.nodeCount;
+  }
+
+  /**
+   * Gets the count of determinized worlds searched per move.
+   * @return int count of worlds.
+   */
+  public int getWorldCount() {
+    return worlds.length;
+  }
+
+}
@@ -0,0 +1,210 @@
+package engine.ai;
+
+import engine.Alliance;
+import engine.Arbiter;
+import engine.BitBoard;
+import engine.Move;
+import engine.MoveGenerator;
+import engine.Zobrist;
+import utils.BoardUtils;
+
+/**
+ * Lightweight position used by the search. Makes and unmakes int encoded
+ * moves on its own BitBoard with the same rules as Board.makeMove(), but
+ * without Tiles, Pieces or Players, and without allocating.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class SearchPosition {
+
+  /** Maximum count of moves that can be made from a loaded position */
+  public static final int MAX_PLY = 256;
+
+  /** Winner value while the game is ongoing */
+  public static final int NO_WINNER = -1;
+
+  /** Mask of the origin and destination bits of an encoded move */
+  public static final int ORIGIN_DESTINATION_MASK = (1 << 14) - 1;
+
+  /** Pieces of the position */
+  private final BitBoard bitBoard = new BitBoard();
+
+  /**
+   * Undo records of the made moves. Holds origin, destination, source and
+   * target piece codes + 1, previous winner + 1 and revealed flags.
+   */
+  private final long[] undoRecords = new long[MAX_PLY];
+
+  /** Count of moves made since the position has been loaded */
+  private int ply = 0;
+
+  /** Move maker of the position */
+  private Alliance moveMaker = Alliance.WHITE;
+
+  /** Alliance ordinal of the winner, else NO_WINNER */
+  private int winner = NO_WINNER;
+
+  /**
+   * Loads a position and clears the made moves.
+   * @param source BitBoard to copy the pieces from.
+   * @param moveMaker Alliance to make the next move.
+   */
+  public void load(final BitBoard source, final Alliance moveMaker) {
+    this.bitBoard.copyFrom(source);
+    this.moveMaker = moveMaker;
+    this.winner = NO_WINNER;
+    this.ply = 0;
+  }
+
+  /**
+   * Makes a move of the move maker. The move kind bits are ignored, so a move
+   * generated from another determinization of the same position can be made.
+   * Does not check legality. See MoveGenerator.
+   * @param move int encoded move. See Move.encodeMove().
+   */
+  public void makeMove(final int move) {
+    final int origin = Move.decodeOrigin(move);
+    final int destination = Move.decodeDestination(move);
+    final int sourceCode = bitBoard.getPieceCode(origin);
+    final int targetCode = bitBoard.getPieceCode(destination);
+    final boolean isSourceRevealed = bitBoard.isRevealed(origin);
+    final boolean isTargetRevealed = bitBoard.isRevealed(destination);
+    final int sourceRankId = sourceCode % BoardUtils.RANK_COUNT;
+    final Alliance sourceAlliance = this.moveMaker;
+
+    undoRecords[ply++] = origin | (destination << 7) |
+      ((long) (sourceCode + 1) << 14) | ((long) (targetCode + 1) << 19) |
+      ((long) (winner + 1) << 24) |
+      ((isSourceRevealed ? 1L : 0L) << 26) | ((isTargetRevealed ? 1L : 0L) << 27);
+
+    bitBoard.clearTile(origin);
+
+    if (targetCode < 0) {
+      bitBoard.setPiece(destination, sourceAlliance, sourceRankId);
+      bitBoard.setRevealed(destination, isSourceRevealed);
+
+      if (sourceRankId == BoardUtils.FLAG_RANK_ID &&
+          ((sourceAlliance == Alliance.BLACK && destination >= BoardUtils.LAST_ROW_INIT) ||
+           (sourceAlliance == Alliance.WHITE && destination < BoardUtils.SECOND_ROW_INIT)))
+        winner = sourceAlliance.ordinal();
+    } else {
+      final int engagement =
+        Arbiter.getOutcome(sourceRankId, targetCode % BoardUtils.RANK_COUNT);
+
+      if (engagement == Arbiter.DRAW) {
+        bitBoard.clearTile(destination);
+      } else if (engagement != Arbiter.LOSE) {
+        bitBoard.setPiece(destination, sourceAlliance, sourceRankId);
+        bitBoard.setRevealed(destination, isSourceRevealed);
+      }
+
+      if (engagement == Arbiter.FLAG_CAPTURE)
+        winner = sourceAlliance.ordinal();
+      else if (sourceRankId == BoardUtils.FLAG_RANK_ID)
+        winner = 1 - sourceAlliance.ordinal();
+    }
+
+    moveMaker = getOpponent(moveMaker);
+  }
+
+  /**
+   * Unmakes the most recent move.
+   * @return boolean true if successful, else false if no move has been made.
+   */
+  public boolean unmakeMove() {
+    if (ply == 0)
+      return false;
+
+    final long record = undoRecords[--ply];
+    final int origin = (int) (record & 0x7F);
+    final int destination = (int) ((record >>> 7) & 0x7F);
+    final int sourceCode = (int) ((record >>> 14) & 0x1F) - 1;
+    final int targetCode = (int) ((record >>> 19) & 0x1F) - 1;
+
+    bitBoard.clearTile(destination);
+    setPieceCode(origin, sourceCode, ((record >>> 26) & 1) != 0);
+    if (targetCode >= 0)
+      setPieceCode(destination, targetCode, ((record >>> 27) & 1) != 0);
+
+    winner = (int) ((record >>> 24) & 0x3) - 1;
+    moveMaker = getOpponent(moveMaker);
+    return true;
+  }
+
+  /**
+   * Places a piece by its piece code.
+   */
+  private void setPieceCode(final int tileId, final int pieceCode, final boolean revealed) {
+    bitBoard.setPiece(tileId, Alliance.values()[pieceCode / BoardUtils.RANK_COUNT],
+                      pieceCode % BoardUtils.RANK_COUNT);
+    bitBoard.setRevealed(tileId, revealed);
+  }
+
+  /**
+   * Generates all moves of the move maker.
+   * @param moves buffer of at least MoveGenerator.MAX_MOVES.
+   * @return int count of moves written into the buffer.
+   */
+  public int generateMoves(final int[] moves) {
+    return MoveGenerator.generateMoves(bitBoard, moveMaker, moves);
+  }
+
+  /**
+   * Gets the Zobrist key of the position including the move maker.
+   * @return long Zobrist key.
+   */
+  public long getZobristKey() {
+    return bitBoard.getZobristKey() ^ Zobrist.getMoveMakerKey(moveMaker);
+  }
+
+  /**
+   * Gets the pieces of the position.
+   * @return BitBoard bitBoard field.
+   */
+  public BitBoard getBitBoard() {
+    return this.bitBoard;
+  }
+
+  /**
+   * Gets the move maker of the position.
+   * @return Alliance moveMaker field.
+   */
+  public Alliance getMoveMaker() {
+    return this.moveMaker;
+  }
+
+  /**
+   * Gets the count of moves made since the position has been loaded.
+   * @return int ply field.
+   */
+  public int getPly() {
+    return this.ply;
+  }
+
+  /**
+   * Checks if the game has ended.
+   * @return boolean true if ended, else false.
+   */
+  public boolean isEndGame() {
+    return winner != NO_WINNER;
+  }
+
+  /**
+   * Gets the winner of the game.
+   * @return Alliance of the winner, else null if the game is ongoing.
+   */
+  public Alliance getWinner() {
+    return winner == NO_WINNER ? null : Alliance.values()[winner];
+  }
+
+  /**
+   * Gets the opposing Alliance.
+   * @param alliance Alliance to get the opponent of.
+   * @return Alliance opponent.
+   */
+  public static Alliance getOpponent(final Alliance alliance) {
+    return alliance == Alliance.WHITE ? Alliance.BLACK : Alliance.WHITE;
+  }
+
+}
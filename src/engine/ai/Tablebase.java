@@ -0,0 +1,351 @@
+package engine.ai;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import engine.Alliance;
+import engine.BitBoard;
+import engine.PositionNotation;
+import utils.BoardUtils;
+
+/**
+ * Endgame tablebase of positions with both Flags and up to MAX_PIECES other
+ * pieces, with every rank known. Each material signature is a separate table
+ * file made by TablebaseGenerator and memory-mapped on load, holding one byte
+ * per position. Probing finds the table and the position index in constant
+ * time, without allocating, and can be shared by all search threads.
+ *
+ * Positions are indexed by a perfect hash over the tiles of the pieces:
+ *
+ *   ((whiteFlag * FLAG_TILES_COUNT + blackFlag) * 72 + tile0) ... * 2 + moveMaker
+ *
+ * where the Flags exclude their winning row, and the other pieces are ordered
+ * by piece code, then by tile. Values are from the point of view of the move
+ * maker: a positive value is a win in that many plies, a negative value v a
+ * loss in -v - 1 plies and 0 a draw.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class Tablebase {
+
+  /** Maximum count of pieces besides both Flags */
+  public static final int MAX_PIECES = 3;
+
+  /** Probe result of a position without a table or a resolved value */
+  public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+  /** Probe result of a drawn position */
+  public static final int DRAW = 0;
+
+  /** Maximum win or loss distance in plies */
+  public static final int MAX_DISTANCE = 126;
+
+  /** Table file name extension */
+  public static final String FILE_EXTENSION = ".tb";
+
+  /** Value of an unresolved or invalid position */
+  static final byte UNKNOWN = Byte.MIN_VALUE;
+
+  /** Count of tiles a Flag can occupy. Excludes its winning row */
+  static final int FLAG_TILES_COUNT = BoardUtils.ALL_TILES_COUNT - BoardUtils.TILE_COLUMN_COUNT;
+
+  /** Radix of a piece code within a signature key */
+  static final int SIGNATURE_RADIX = BoardUtils.ALLIANCE_COUNT * BoardUtils.RANK_COUNT + 1;
+
+  /** Log2 of the bytes of a mapped table chunk */
+  static final int CHUNK_BITS = 30;
+  static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+  /** Table file header */
+  static final int MAGIC = 0x47544231;
+  static final int HEADER_SIZE = 32;
+
+  /** Piece codes of both Flags */
+  private static final int WHITE_FLAG_CODE =
+    BitBoard.getPieceCode(Alliance.WHITE, BoardUtils.FLAG_RANK_ID);
+  private static final int BLACK_FLAG_CODE =
+    BitBoard.getPieceCode(Alliance.BLACK, BoardUtils.FLAG_RANK_ID);
+
+  /** Table chunks indexed by signature key. Null if not loaded */
+  private final ByteBuffer[][] tables =
+    new ByteBuffer[SIGNATURE_RADIX * SIGNATURE_RADIX * SIGNATURE_RADIX][];
+
+  /** Completeness of each loaded table. Indexed by signature key */
+  private final boolean[] completeTables = new boolean[tables.length];
+
+  /** Count of loaded tables */
+  private int tableCount = 0;
+
+  /**
+   * Loads and memory-maps all table files of a directory.
+   * @param directory directory of the table files.
+   * @return boolean true if successful, else false if a file is unreadable or
+   * malformed.
+   */
+  public boolean load(final String directory) {
+    final File[] files = new File(directory).listFiles(
+        (dir, name) -> name.endsWith(FILE_EXTENSION));
+
+    if (files == null)
+      return false;
+
+    for (final File file : files)
+      if (!loadTable(file))
+        return false;
+
+    return true;
+  }
+
+  /**
+   * Loads and memory-maps a single table file.
+   * @param file table file.
+   * @return boolean true if successful, else false.
+   */
+  boolean loadTable(final File file) {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+      while (header.hasRemaining() && channel.read(header) >= 0);
+      header.flip();
+      if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC)
+        return false;
+
+      final int pieceCount = header.getInt();
+      final int key = header.getInt();
+      final boolean isComplete = header.getInt() != 0;
+      final long size = header.getLong();
+
+      if (pieceCount < 0 || pieceCount > MAX_PIECES || size != getTableSize(pieceCount) ||
+          key < 0 || key >= tables.length || channel.size() != HEADER_SIZE + size)
+        return false;
+
+      final ByteBuffer[] chunks = new ByteBuffer[(int) ((size + CHUNK_MASK) >>> CHUNK_BITS)];
+      for (int i = 0; i < chunks.length; i++) {
+        final long offset = (long) i << CHUNK_BITS;
+        chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + offset,
+                                Math.min(CHUNK_MASK + 1, size - offset));
+      }
+
+      if (tables[key] == null)
+        tableCount++;
+      tables[key] = chunks;
+      completeTables[key] = isComplete;
+      return true;
+    } catch (final IOException e) {
+      System.out.println("Tablebase error: load unsuccessful.\npath: " + file.getPath());
+      return false;
+    }
+  }
+
+  /**
+   * Probes the value of a position.
+   * @param bitBoard BitBoard of the position with every rank known.
+   * @param moveMaker Alliance to make the next move.
+   * @return int win distance if positive, loss distance - 1 if negative
+   * with getDistance(), DRAW, else NOT_FOUND.
+   */
+  public int probe(final BitBoard bitBoard, final Alliance moveMaker) {
+    final int pieceCount = bitBoard.countPieces(Alliance.WHITE) +
+      bitBoard.countPieces(Alliance.BLACK) - 2;
+
+    if (pieceCount < 0 || pieceCount > MAX_PIECES)
+      return NOT_FOUND;
+
+    final long location = locate(bitBoard, moveMaker);
+    if (location < 0)
+      return NOT_FOUND;
+
+    final int value = getValue((int) (location >>> 32), location & 0xFFFFFFFFL);
+    return value == UNKNOWN ? NOT_FOUND : value;
+  }
+
+  /**
+   * Gets the value of a position of a loaded table.
+   * @return int value, else UNKNOWN if the table is not loaded.
+   */
+  int getValue(final int key, final long index) {
+    final ByteBuffer[] chunks = tables[key];
+
+    if (chunks == null)
+      return UNKNOWN;
+
+    return chunks[(int) (index >>> CHUNK_BITS)].get((int) (index & CHUNK_MASK));
+  }
+
+  /**
+   * Checks if a table is loaded.
+   * @param key signature key of the table.
+   * @return boolean true if loaded, else false.
+   */
+  boolean hasTable(final int key) {
+    return tables[key] != null;
+  }
+
+  /**
+   * Checks if a loaded table has resolved every position.
+   * @param key signature key of the table.
+   * @return boolean true if complete, else false.
+   */
+  boolean isComplete(final int key) {
+    return completeTables[key];
+  }
+
+  /**
+   * Locates the table and index of a position with up to MAX_PIECES other
+   * pieces.
+   * @param bitBoard BitBoard of the position.
+   * @param moveMaker Alliance to make the next move.
+   * @return long signature key in the high and index in the low 32 bits, else
+   * -1 if a Flag is missing or on its winning row.
+   */
+  static long locate(final BitBoard bitBoard, final Alliance moveMaker) {
+    int whiteFlag = -1;
+    int blackFlag = -1;
+    int count = 0;
+    // Pieces sorted by piece code, then tile. Each is piece code * 128 + tile.
+    int first = Integer.MAX_VALUE;
+    int second = Integer.MAX_VALUE;
+    int third = Integer.MAX_VALUE;
+
+    for (int word = 0; word < BitBoard.WORDS; word++) {
+      long pieces = bitBoard.getAllianceBits(Alliance.WHITE, word) |
+        bitBoard.getAllianceBits(Alliance.BLACK, word);
+
+      while (pieces != 0) {
+        final int tileId = (word << 6) + Long.numberOfTrailingZeros(pieces);
+        final int pieceCode = bitBoard.getPieceCode(tileId);
+        pieces &= pieces - 1;
+
+        if (pieceCode == WHITE_FLAG_CODE) {
+          whiteFlag = tileId;
+          continue;
+        } else if (pieceCode == BLACK_FLAG_CODE) {
+          blackFlag = tileId;
+          continue;
+        } else if (++count > MAX_PIECES) {
+          return -1;
+        }
+
+        int piece = (pieceCode << 7) | tileId;
+        if (piece < first) {
+          final int swap = first;
+          first = piece;
+          piece = swap;
+        }
+        if (piece < second) {
+          final int swap = second;
+          second = piece;
+          piece = swap;
+        }
+        if (piece < third)
+          third = piece;
+      }
+    }
+
+    if (whiteFlag < BoardUtils.SECOND_ROW_INIT || blackFlag < 0 ||
+        blackFlag >= BoardUtils.LAST_ROW_INIT)
+      return -1;
+
+    long index = (whiteFlag - BoardUtils.SECOND_ROW_INIT) * FLAG_TILES_COUNT + blackFlag;
+    int key = 0;
+    int radix = 1;
+
+    for (int i = 0; i < count; i++) {
+      final int piece = i == 0 ? first : i == 1 ? second : third;
+
+      index = index * BoardUtils.ALL_TILES_COUNT + (piece & 0x7F);
+      key += ((piece >>> 7) + 1) * radix;
+      radix *= SIGNATURE_RADIX;
+    }
+
+    return ((long) key << 32) | (index * 2 + moveMaker.ordinal());
+  }
+
+  /**
+   * Gets the signature key of sorted piece codes.
+   * @param pieceCodes piece codes in ascending order, excluding both Flags.
+   * @return int signature key.
+   */
+  static int getSignatureKey(final int[] pieceCodes) {
+    int key = 0;
+    int radix = 1;
+
+    for (final int pieceCode : pieceCodes) {
+      key += (pieceCode + 1) * radix;
+      radix *= SIGNATURE_RADIX;
+    }
+
+    return key;
+  }
+
+  /**
+   * Gets the count of positions of a table.
+   * @param pieceCount count of pieces besides both Flags.
+   * @return long count of positions.
+   */
+  static long getTableSize(final int pieceCount) {
+    long size = 2L * FLAG_TILES_COUNT * FLAG_TILES_COUNT;
+
+    for (int i = 0; i < pieceCount; i++)
+      size *= BoardUtils.ALL_TILES_COUNT;
+
+    return size;
+  }
+
+  /**
+   * Gets the file name of a table. Flags, then uppercase WHITE and lowercase
+   * BLACK rank symbols of the pieces. See PositionNotation.RANK_SYMBOLS.
+   * @param pieceCodes piece codes in ascending order, excluding both Flags.
+   * @return String file name.
+   */
+  static String getFileName(final int[] pieceCodes) {
+    final StringBuilder name = new StringBuilder("Ff");
+
+    for (final int pieceCode : pieceCodes) {
+      final char symbol = PositionNotation.RANK_SYMBOLS.charAt(pieceCode % BoardUtils.RANK_COUNT);
+      name.append(pieceCode < BoardUtils.RANK_COUNT ? symbol : Character.toLowerCase(symbol));
+    }
+
+    return name.append(FILE_EXTENSION).toString();
+  }
+
+  /**
+   * Checks if a probe value is a win for the move maker.
+   * @param value probe value other than NOT_FOUND.
+   * @return boolean true if won, else false.
+   */
+  public static boolean isWin(final int value) {
+    return value > 0;
+  }
+
+  /**
+   * Checks if a probe value is a loss for the move maker.
+   * @param value probe value other than NOT_FOUND.
+   * @return boolean true if lost, else false.
+   */
+  public static boolean isLoss(final int value) {
+    return value < 0;
+  }
+
+  /**
+   * Gets the count of plies until the game ends with perfect play.
+   * @param value probe value other than NOT_FOUND and DRAW.
+   * @return int distance in plies.
+   */
+  public static int getDistance(final int value) {
+    return value > 0 ? value : -value - 1;
+  }
+
+  /**
+   * Gets the count of loaded tables.
+   * @return int tableCount field.
+   */
+  public int getTableCount() {
+    return this.tableCount;
+  }
+
+}
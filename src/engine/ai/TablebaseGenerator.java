@@ -0,0 +1,603 @@
+package engine.ai;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import engine.Alliance;
+import engine.Arbiter;
+import engine.BitBoard;
+import engine.Move;
+import engine.MoveGenerator;
+import engine.PositionNotation;
+import utils.BoardUtils;
+
+/**
+ * Retrograde analysis generator of Tablebase files. A table is solved in
+ * passes, where pass n resolves exactly the positions won or lost in n plies,
+ * so every pass only reads values of earlier passes and the result does not
+ * depend on the thread count. A pass only revisits positions whose children
+ * have just been resolved, found by unmaking the quiet moves of the opponent,
+ * or whose captures lead into a smaller table at that distance.
+ *
+ * Captures remove pieces, so all smaller tables of a signature are generated
+ * first and probed from their memory-mapped files.
+ *
+ * Positions still unresolved once no pass can resolve more are draws. A table
+ * that reaches Tablebase.MAX_DISTANCE first, or that captures into such a
+ * table, leaves them unknown instead.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class TablebaseGenerator {
+
+  /** Log2 of the count of positions per parallel block */
+  private static final int BLOCK_BITS = 15;
+
+  /** Pending pass marker of a position without a pending pass */
+  private static final byte NO_PASS = 0;
+
+  /** Child location of a move that ends the game. See Tablebase.locate() */
+  private static final long WON = -2;
+  private static final long LOST = -3;
+
+  /** Directory of the table files */
+  private final String directory;
+
+  /** Loaded tables to probe captures from */
+  private final Tablebase tablebase = new Tablebase();
+
+  /** Count of worker threads */
+  private int threadCount = Runtime.getRuntime().availableProcessors();
+
+  /** Count of tables generated by this generator */
+  private int generatedCount = 0;
+
+  /**
+   * Constructor that takes in the directory of the table files. Existing
+   * tables of the directory are reused.
+   * @param directory directory of the table files.
+   */
+  public TablebaseGenerator(final String directory) {
+    this.directory = directory;
+    new File(directory).mkdirs();
+    tablebase.load(directory);
+  }
+
+  /**
+   * Generates the table of a material signature and all its smaller tables
+   * that do not exist yet.
+   * @param pieces rank symbols of the pieces besides both Flags, uppercase
+   * for WHITE and lowercase for BLACK. See PositionNotation.RANK_SYMBOLS.
+   * @return boolean true if successful, else false if malformed or a table
+   * file cannot be written.
+   */
+  public boolean generate(final String pieces) {
+    final int[] pieceCodes = new int[pieces.length()];
+
+    if (pieceCodes.length > Tablebase.MAX_PIECES)
+      return false;
+
+    for (int i = 0; i < pieceCodes.length; i++) {
+      final char symbol = pieces.charAt(i);
+      final int rankId = PositionNotation.RANK_SYMBOLS.indexOf(Character.toUpperCase(symbol));
+
+      if (rankId <= BoardUtils.FLAG_RANK_ID)
+        return false;
+      pieceCodes[i] = BitBoard.getPieceCode(
+          Character.isUpperCase(symbol) ? Alliance.WHITE : Alliance.BLACK, rankId);
+    }
+
+    Arrays.sort(pieceCodes);
+    final ForkJoinPool pool = new ForkJoinPool(threadCount);
+
+    try {
+      return generate(pieceCodes, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Generates the smaller tables, then the table itself if missing.
+   */
+  private boolean generate(final int[] pieceCodes, final ForkJoinPool pool) {
+    if (tablebase.hasTable(Tablebase.getSignatureKey(pieceCodes)))
+      return true;
+
+    for (int i = 0; i < pieceCodes.length; i++) {
+      if (i > 0 && pieceCodes[i] == pieceCodes[i - 1])
+        continue;
+
+      final int[] subPieceCodes = new int[pieceCodes.length - 1];
+      System.arraycopy(pieceCodes, 0, subPieceCodes, 0, i);
+      System.arraycopy(pieceCodes, i + 1, subPieceCodes, i, subPieceCodes.length - i);
+
+      if (!generate(subPieceCodes, pool))
+        return false;
+    }
+
+    final Table table = new Table(pieceCodes);
+    try {
+      pool.submit(table::solve).get();
+    } catch (final InterruptedException | ExecutionException e) {
+      throw new IllegalStateException("Tablebase generation failed", e);
+    }
+
+    final File file = new File(directory, Tablebase.getFileName(pieceCodes));
+    if (!table.write(file) || !tablebase.loadTable(file))
+      return false;
+
+    generatedCount++;
+    return true;
+  }
+
+  /**
+   * Sets the count of worker threads.
+   * @param threadCount count of threads, at least one.
+   */
+  public void setThreadCount(final int threadCount) {
+    this.threadCount = Math.max(1, threadCount);
+  }
+
+  /**
+   * Gets the count of tables generated by this generator.
+   * @return int generatedCount field.
+   */
+  public int getGeneratedCount() {
+    return this.generatedCount;
+  }
+
+  /**
+   * Table being solved. Values and pending passes are held in chunks of
+   * 2^Tablebase.CHUNK_BITS positions.
+   */
+  private class Table {
+
+    /** Sorted piece codes besides both Flags */
+    private final int[] pieceCodes;
+
+    /** Signature key of the table */
+    private final int key;
+
+    /** Count of positions */
+    private final long size;
+
+    /** Value of each position. 0 while unresolved */
+    private final byte[][] values;
+
+    /**
+     * Pass each unresolved position is due to be revisited at for its
+     * captures, else NO_PASS.
+     */
+    private final byte[][] wakePasses;
+
+    /** Bitsets of positions to revisit at the running and the next pass */
+    private AtomicLongArray pending;
+    private AtomicLongArray nextPending;
+
+    /** Set if the table has unknown positions */
+    private boolean hasUnknowns;
+
+    private Table(final int[] pieceCodes) {
+      this.pieceCodes = pieceCodes;
+      this.key = Tablebase.getSignatureKey(pieceCodes);
+      this.size = Tablebase.getTableSize(pieceCodes.length);
+      this.values = createChunks(size);
+      this.wakePasses = createChunks(size);
+      this.pending = new AtomicLongArray((int) ((size + 63) >>> 6));
+      this.nextPending = new AtomicLongArray(pending.length());
+    }
+
+    /**
+     * Solves all positions pass by pass until no pass can resolve more.
+     */
+    private void solve() {
+      final int blockCount = (int) ((size + (1L << BLOCK_BITS) - 1) >>> BLOCK_BITS);
+      boolean isComplete = false;
+
+      for (int pass = 0; pass <= Tablebase.MAX_DISTANCE; pass++) {
+        final int n = pass;
+        final long result = IntStream.range(0, blockCount).parallel()
+          .mapToLong(block -> new Worker(this).solveBlock(block, n))
+          .reduce(0L, (a, b) -> (((a >>> 8) + (b >>> 8)) << 8) | Math.max(a & 0xFF, b & 0xFF));
+
+        final AtomicLongArray solvedPending = pending;
+        pending = nextPending;
+        nextPending = solvedPending;
+        for (int i = 0; i < nextPending.length(); i++)
+          nextPending.set(i, 0L);
+
+        // Nothing resolved and no capture due at a later pass.
+        if (pass > 0 && (result >>> 8) == 0 && (result & 0xFF) <= pass) {
+          isComplete = true;
+          break;
+        }
+      }
+
+      for (final int subKey : getSubKeys())
+        isComplete &= tablebase.isComplete(subKey);
+
+      // Unresolved positions are draws only if the table is complete.
+      if (!isComplete) {
+        hasUnknowns = true;
+        for (final byte[] chunk : values)
+          for (int i = 0; i < chunk.length; i++)
+            if (chunk[i] == 0)
+              chunk[i] = Tablebase.UNKNOWN;
+      }
+    }
+
+    /**
+     * Gets the signature keys of all tables captures lead into.
+     */
+    private int[] getSubKeys() {
+      final int[] subKeys = new int[pieceCodes.length * (pieceCodes.length + 1) / 2];
+      int count = 0;
+
+      for (int i = 0; i < pieceCodes.length; i++) {
+        for (int j = i; j < pieceCodes.length; j++) {
+          final int[] subPieceCodes = new int[pieceCodes.length - (i == j ? 1 : 2)];
+          int n = 0;
+
+          for (int k = 0; k < pieceCodes.length; k++)
+            if (k != i && k != j)
+              subPieceCodes[n++] = pieceCodes[k];
+          subKeys[count++] = Tablebase.getSignatureKey(subPieceCodes);
+        }
+      }
+
+      return subKeys;
+    }
+
+    private int getValue(final long index) {
+      return values[(int) (index >>> Tablebase.CHUNK_BITS)][(int) (index & Tablebase.CHUNK_MASK)];
+    }
+
+    private void setValue(final long index, final int value) {
+      values[(int) (index >>> Tablebase.CHUNK_BITS)][(int) (index & Tablebase.CHUNK_MASK)] =
+        (byte) value;
+    }
+
+    private int getWakePass(final long index) {
+      return wakePasses[(int) (index >>> Tablebase.CHUNK_BITS)][(int) (index & Tablebase.CHUNK_MASK)];
+    }
+
+    private void setWakePass(final long index, final int pass) {
+      wakePasses[(int) (index >>> Tablebase.CHUNK_BITS)][(int) (index & Tablebase.CHUNK_MASK)] =
+        (byte) pass;
+    }
+
+    private boolean isPending(final long index) {
+      return (pending.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    private void setNextPending(final long index) {
+      final int word = (int) (index >>> 6);
+      final long bit = 1L << index;
+      long bits = nextPending.get(word);
+
+      // Workers of other blocks may set bits of the same word at once.
+      while ((bits & bit) == 0 && !nextPending.compareAndSet(word, bits, bits | bit))
+        bits = nextPending.get(word);
+    }
+
+    /**
+     * Writes the table into a file.
+     * @return boolean true if successful, else false.
+     */
+    private boolean write(final File file) {
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                                                  StandardOpenOption.WRITE,
+                                                  StandardOpenOption.TRUNCATE_EXISTING)) {
+        final ByteBuffer header = ByteBuffer.allocate(Tablebase.HEADER_SIZE);
+
+        header.putInt(Tablebase.MAGIC).putInt(pieceCodes.length).putInt(key)
+          .putInt(hasUnknowns ? 0 : 1).putLong(size);
+        header.rewind();
+        while (header.hasRemaining())
+          channel.write(header);
+
+        for (final byte[] chunk : values) {
+          final ByteBuffer buffer = ByteBuffer.wrap(chunk);
+          while (buffer.hasRemaining())
+            channel.write(buffer);
+        }
+
+        return true;
+      } catch (final IOException e) {
+        System.out.println("Tablebase error: write unsuccessful.\npath: " + file.getPath());
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Solver of a block of positions of a Table. Owns the scratch position.
+   */
+  private class Worker {
+
+    private final Table table;
+    private final BitBoard bitBoard = new BitBoard();
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private final int[] tiles = new int[Tablebase.MAX_PIECES + 2];
+
+    /** Earliest later pass a capture of the last solved position is due at */
+    private int wakePass;
+
+    private Worker(final Table table) {
+      this.table = table;
+    }
+
+    /**
+     * Solves all due positions of a block at a pass.
+     * @return long count of resolved positions in the high bits and the
+     * latest pending wake pass in the low 8 bits.
+     */
+    private long solveBlock(final int block, final int pass) {
+      final long start = (long) block << BLOCK_BITS;
+      final long end = Math.min(table.size, start + (1L << BLOCK_BITS));
+      long resolved = 0;
+      int latestWakePass = 0;
+
+      for (long index = start; index < end; index++) {
+        if (pass == 0) {
+          if (!load(index)) {
+            table.setValue(index, Tablebase.UNKNOWN);
+            continue;
+          }
+        } else if (table.getValue(index) != 0 ||
+                   (!table.isPending(index) && table.getWakePass(index) != pass)) {
+          latestWakePass = Math.max(latestWakePass, table.getWakePass(index));
+          continue;
+        } else {
+          load(index);
+        }
+
+        final Alliance moveMaker = (index & 1) == 0 ? Alliance.WHITE : Alliance.BLACK;
+        final int value = solve(moveMaker, pass);
+
+        if (value != 0) {
+          table.setValue(index, value);
+          table.setWakePass(index, NO_PASS);
+          addPredecessors(SearchPosition.getOpponent(moveMaker));
+          resolved++;
+        } else {
+          table.setWakePass(index, wakePass);
+          latestWakePass = Math.max(latestWakePass, wakePass);
+        }
+        unload();
+      }
+
+      return (resolved << 8) | latestWakePass;
+    }
+
+    /**
+     * Places the pieces of a position into the scratch BitBoard.
+     * @return boolean true if a canonical position, else false.
+     */
+    private boolean load(long index) {
+      final int pieceCount = table.pieceCodes.length;
+
+      index >>>= 1;
+      for (int i = pieceCount - 1; i >= 0; i--) {
+        tiles[i + 2] = (int) (index % BoardUtils.ALL_TILES_COUNT);
+        index /= BoardUtils.ALL_TILES_COUNT;
+      }
+      tiles[1] = (int) (index % Tablebase.FLAG_TILES_COUNT);
+      tiles[0] = (int) (index / Tablebase.FLAG_TILES_COUNT) + BoardUtils.SECOND_ROW_INIT;
+
+      for (int i = 0; i < pieceCount + 2; i++) {
+        for (int j = 0; j < i; j++)
+          if (tiles[i] == tiles[j])
+            return false;
+
+        // Identical pieces are only indexed in ascending tiles.
+        if (i > 2 && table.pieceCodes[i - 2] == table.pieceCodes[i - 3] && tiles[i] < tiles[i - 1])
+          return false;
+      }
+
+      bitBoard.setPiece(tiles[0], Alliance.WHITE, BoardUtils.FLAG_RANK_ID);
+      bitBoard.setPiece(tiles[1], Alliance.BLACK, BoardUtils.FLAG_RANK_ID);
+      for (int i = 2; i < pieceCount + 2; i++)
+        setPieceCode(tiles[i], getPieceCode(i));
+
+      return true;
+    }
+
+    /**
+     * Clears the pieces of the loaded position.
+     */
+    private void unload() {
+      for (int i = 0; i < table.pieceCodes.length + 2; i++)
+        bitBoard.clearTile(tiles[i]);
+    }
+
+    /**
+     * Solves the loaded position with the values resolved before a pass, and
+     * sets the wake pass if unresolved.
+     * @return int value, else 0 if unresolved.
+     */
+    private int solve(final Alliance moveMaker, final int pass) {
+      final int moveCount = MoveGenerator.generateMoves(bitBoard, moveMaker, moves);
+      int winDistance = Integer.MAX_VALUE;
+      int lossDistance = 0;
+      boolean isLost = true;
+
+      wakePass = NO_PASS;
+      if (moveCount == 0)
+        return -1;
+
+      for (int i = 0; i < moveCount; i++) {
+        final long child = makeMove(moves[i], moveMaker);
+        final boolean isCapture;
+        final boolean isChildLost;
+        final int distance;
+
+        // Child distance in plies from the point of view of the opponent.
+        if (child == WON || child == LOST) {
+          isCapture = true;
+          isChildLost = child == WON;
+          distance = 0;
+        } else {
+          final int childKey = (int) (child >>> 32);
+          final long childIndex = child & 0xFFFFFFFFL;
+
+          isCapture = childKey != table.key;
+          final int childValue = isCapture ? tablebase.getValue(childKey, childIndex) :
+            table.getValue(childIndex);
+          unmakeMove(moves[i]);
+
+          if (childValue == Tablebase.DRAW || childValue == Tablebase.UNKNOWN) {
+            isLost = false;
+            continue;
+          }
+          isChildLost = Tablebase.isLoss(childValue);
+          distance = Tablebase.getDistance(childValue);
+        }
+
+        // Only children resolved before this pass are used.
+        if (distance >= pass) {
+          isLost = false;
+          if (isCapture && distance + 1 <= Tablebase.MAX_DISTANCE &&
+              (wakePass == NO_PASS || distance + 1 < wakePass))
+            wakePass = distance + 1;
+          continue;
+        }
+
+        if (isChildLost)
+          winDistance = Math.min(winDistance, distance + 1);
+        else
+          lossDistance = Math.max(lossDistance, distance + 1);
+      }
+
+      if (winDistance != Integer.MAX_VALUE)
+        return winDistance;
+      if (isLost)
+        return -lossDistance - 1;
+      return 0;
+    }
+
+    /**
+     * Makes a move on the scratch BitBoard with the same rules as
+     * SearchPosition.makeMove().
+     * @return long child location. See Tablebase.locate(). WON or LOST if the
+     * move ends the game, without making it.
+     */
+    private long makeMove(final int move, final Alliance moveMaker) {
+      final int origin = Move.decodeOrigin(move);
+      final int destination = Move.decodeDestination(move);
+      final int sourceRankId = bitBoard.getRankId(origin);
+      final int targetRankId = bitBoard.getRankId(destination);
+
+      if (targetRankId < 0) {
+        if (sourceRankId == BoardUtils.FLAG_RANK_ID &&
+            ((moveMaker == Alliance.BLACK && destination >= BoardUtils.LAST_ROW_INIT) ||
+             (moveMaker == Alliance.WHITE && destination < BoardUtils.SECOND_ROW_INIT)))
+          return WON;
+
+        bitBoard.clearTile(origin);
+        bitBoard.setPiece(destination, moveMaker, sourceRankId);
+      } else {
+        final int engagement = Arbiter.getOutcome(sourceRankId, targetRankId);
+
+        if (engagement == Arbiter.FLAG_CAPTURE)
+          return WON;
+        if (sourceRankId == BoardUtils.FLAG_RANK_ID)
+          return LOST;
+
+        bitBoard.clearTile(origin);
+        if (engagement == Arbiter.DRAW) {
+          bitBoard.clearTile(destination);
+        } else if (engagement == Arbiter.WIN) {
+          bitBoard.clearTile(destination);
+          bitBoard.setPiece(destination, moveMaker, sourceRankId);
+        }
+      }
+
+      return Tablebase.locate(bitBoard, SearchPosition.getOpponent(moveMaker));
+    }
+
+    /**
+     * Unmakes a move made by makeMove() from the loaded tiles.
+     */
+    private void unmakeMove(final int move) {
+      final int origin = Move.decodeOrigin(move);
+      final int destination = Move.decodeDestination(move);
+
+      bitBoard.clearTile(origin);
+      bitBoard.clearTile(destination);
+
+      for (int i = 0; i < table.pieceCodes.length + 2; i++) {
+        if (tiles[i] == origin || tiles[i] == destination)
+          setPieceCode(tiles[i], getPieceCode(i));
+      }
+    }
+
+    /**
+     * Marks the positions the opponent reaches the loaded position from by a
+     * quiet move as pending at the next pass.
+     */
+    private void addPredecessors(final Alliance opponent) {
+      for (int i = 0; i < table.pieceCodes.length + 2; i++) {
+        final int tileId = tiles[i];
+
+        if (bitBoard.getAlliance(tileId) != opponent)
+          continue;
+
+        final int pieceCode = bitBoard.getPieceCode(tileId);
+        for (final int previous : BoardUtils.getNeighbours(tileId)) {
+          if (bitBoard.isTileOccupied(previous))
+            continue;
+
+          bitBoard.clearTile(tileId);
+          setPieceCode(previous, pieceCode);
+
+          final long location = Tablebase.locate(bitBoard, opponent);
+          if (location >= 0)
+            table.setNextPending(location & 0xFFFFFFFFL);
+
+          bitBoard.clearTile(previous);
+          setPieceCode(tileId, pieceCode);
+        }
+      }
+    }
+
+    /**
+     * Gets the piece code of a loaded piece. Both Flags come first.
+     */
+    private int getPieceCode(final int piece) {
+      if (piece < 2)
+        return BitBoard.getPieceCode(piece == 0 ? Alliance.WHITE : Alliance.BLACK,
+                                     BoardUtils.FLAG_RANK_ID);
+      return table.pieceCodes[piece - 2];
+    }
+
+    private void setPieceCode(final int tileId, final int pieceCode) {
+      bitBoard.setPiece(tileId, pieceCode < BoardUtils.RANK_COUNT ? Alliance.WHITE : Alliance.BLACK,
+                        pieceCode % BoardUtils.RANK_COUNT);
+    }
+  }
+
+  /**
+   * Creates zeroed chunks of a count of bytes.
+   */
+  private static byte[][] createChunks(final long size) {
+    final byte[][] chunks = new byte[(int) ((size + Tablebase.CHUNK_MASK) >>> Tablebase.CHUNK_BITS)][];
+
+    for (int i = 0; i < chunks.length; i++)
+      chunks[i] = new byte[(int) Math.min(Tablebase.CHUNK_MASK + 1,
+                                          size - ((long) i << Tablebase.CHUNK_BITS))];
+
+    return chunks;
+  }
+
+}
@@ -0,0 +1,282 @@
+package engine.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size transposition table shared by search threads without locks.
+ * Entries are stored in a single long array as pairs of (key ^ data, data),
+ * so an entry torn by two threads writing at once fails verification on the
+ * next probe and reads as a miss instead of returning a wrong entry. The
+ * entries are an AtomicLongArray, which makes every single long access atomic
+ * without locking.
+ *
+ * Entries are grouped into buckets of BUCKET_SIZE that fit one cache line.
+ * A store replaces an entry of the same key, else an empty one, else the one
+ * chosen by the replacement policy.
+ *
+ * Entry data bits:
+ *   0-31 score, 32-45 move origin and destination, 46-53 depth,
+ *   54-55 bound, 56-61 generation.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class TranspositionTable {
+
+  /** Probe result of a missing entry */
+  public static final long NO_ENTRY = 0L;
+
+  /** Bound types of a stored score */
+  public static final int LOWER_BOUND = 1;
+  public static final int UPPER_BOUND = 2;
+  public static final int EXACT = 3;
+
+  /** Replacement policies */
+  public static final int REPLACE_ALWAYS = 0;
+  public static final int REPLACE_DEPTH = 1;
+  public static final int REPLACE_AGED_DEPTH = 2;
+
+  /** Count of entries per bucket */
+  public static final int BUCKET_SIZE = 4;
+
+  /** Bytes per entry */
+  public static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+  /** Maximum storable depth */
+  public static final int MAX_DEPTH = 0xFF;
+
+  /** Most buckets a single long array can hold */
+  private static final long MAX_BUCKETS = 1L << 27;
+
+  /** Stored move bits of no move */
+  private static final int NO_MOVE_BITS = 0x3FFF;
+
+  /** Depth worth of one generation of age under REPLACE_AGED_DEPTH */
+  private static final int AGE_WEIGHT = 4;
+
+  /** Pairs of (key ^ data, data) */
+  private final AtomicLongArray entries;
+
+  /** Bucket count minus one. Bucket count is a power of two */
+  private final long bucketMask;
+
+  /** Replacement policy */
+  private final int replacementPolicy;
+
+  /** Generation of the running search. Entries of older ones are aged */
+  private volatile int generation;
+
+  /**
+   * Constructor that takes in the memory budget and uses REPLACE_AGED_DEPTH.
+   * @param megabytes memory budget in megabytes. At least one bucket is used.
+   */
+  public TranspositionTable(final int megabytes) {
+    this(megabytes, REPLACE_AGED_DEPTH);
+  }
+
+  /**
+   * Constructor that takes in the memory budget and the replacement policy.
+   * @param megabytes memory budget in megabytes. At least one bucket is used.
+   * @param replacementPolicy REPLACE_ALWAYS, REPLACE_DEPTH or
+   * REPLACE_AGED_DEPTH.
+   */
+  public TranspositionTable(final int megabytes, final int replacementPolicy) {
+    final long budgetBuckets = Math.max(1L, (long) megabytes * 1024 * 1024 /
+                                        (BUCKET_SIZE * ENTRY_BYTES));
+    final long buckets = Long.highestOneBit(Math.min(budgetBuckets, MAX_BUCKETS));
+
+    this.entries = new AtomicLongArray((int) (buckets * BUCKET_SIZE * 2));
+    this.bucketMask = buckets - 1;
+    this.replacementPolicy = replacementPolicy;
+  }
+
+  /**
+   * Probes the entry of a key.
+   * @param key Zobrist key of the position.
+   * @return long entry data, else NO_ENTRY. See getScore(), getMove(),
+   * getDepth() and getBound().
+   */
+  public long probe(final long key) {
+    final int bucket = getBucketIndex(key);
+
+    for (int i = bucket; i < bucket + BUCKET_SIZE * 2; i += 2) {
+      final long data = entries.get(i + 1);
+
+      if (data != NO_ENTRY && (entries.get(i) ^ data) == key)
+        return data;
+    }
+
+    return NO_ENTRY;
+  }
+
+  /**
+   * Stores an entry.
+   * @param key Zobrist key of the position.
+   * @param depth searched depth from 0 to MAX_DEPTH.
+   * @param bound LOWER_BOUND, UPPER_BOUND or EXACT.
+   * @param score searched score.
+   * @param move int encoded best move, else Search.NO_MOVE.
+   */
+  public void store(final long key, final int depth, final int bound,
+                    final int score, final int move) {
+    final int bucket = getBucketIndex(key);
+    final int currentGeneration = this.generation;
+    int replaced = -1;
+    int victim = bucket;
+    int victimWorth = Integer.MAX_VALUE;
+    int previousMove = NO_MOVE_BITS;
+
+    for (int i = bucket; i < bucket + BUCKET_SIZE * 2; i += 2) {
+      final long data = entries.get(i + 1);
+
+      if (data == NO_ENTRY) {
+        replaced = i;
+        break;
+      }
+
+      if ((entries.get(i) ^ data) == key) {
+        // A deeper entry of the same position is kept under REPLACE_DEPTH.
+        if (replacementPolicy == REPLACE_DEPTH && depth < getDepth(data))
+          return;
+
+        replaced = i;
+        previousMove = (int) ((data >>> 32) & NO_MOVE_BITS);
+        break;
+      }
+
+      final int worth = getWorth(data, currentGeneration);
+      if (worth < victimWorth) {
+        victimWorth = worth;
+        victim = i;
+      }
+    }
+
+    // Without an empty or same key entry, evict the least worth keeping.
+    if (replaced < 0) {
+      if (replacementPolicy == REPLACE_DEPTH && depth < victimWorth)
+        return;
+      replaced = victim;
+    }
+
+    // Keep the previous best move of the same position if none was found.
+    final int moveBits = move < 0 ? previousMove :
+      move & SearchPosition.ORIGIN_DESTINATION_MASK;
+    final long data = (score & 0xFFFFFFFFL) |
+      ((long) moveBits << 32) |
+      ((long) Math.max(0, Math.min(MAX_DEPTH, depth)) << 46) |
+      ((long) bound << 54) |
+      ((long) (currentGeneration & 0x3F) << 56);
+
+    entries.lazySet(replaced, key ^ data);
+    entries.lazySet(replaced + 1, data);
+  }
+
+  /**
+   * Gets how much an entry is worth keeping under the replacement policy.
+   */
+  private int getWorth(final long data, final int currentGeneration) {
+    switch (replacementPolicy) {
+      case REPLACE_ALWAYS:
+        return 0;
+      case REPLACE_DEPTH:
+        return getDepth(data);
+      default:
+        final int age = (currentGeneration - getGeneration(data)) & 0x3F;
+        return getDepth(data) - AGE_WEIGHT * age;
+    }
+  }
+
+  /**
+   * Gets the index of the first entry of the bucket of a key.
+   */
+  private int getBucketIndex(final long key) {
+    return (int) ((key & bucketMask) * BUCKET_SIZE * 2);
+  }
+
+  /**
+   * Ages all entries. Called once per search.
+   */
+  public void newSearch() {
+    this.generation = (generation + 1) & 0x3F;
+  }
+
+  /**
+   * Empties all entries. Must not be called while searching.
+   */
+  public void clear() {
+    for (int i = 0; i < entries.length(); i++)
+      entries.set(i, 0L);
+    this.generation = 0;
+  }
+
+  /**
+   * Gets the permille of entries used by the running search, sampled from
+   * the first thousand entries.
+   * @return int permille from 0 to 1000.
+   */
+  public int getHashfull() {
+    final int sampled = Math.min(1000, entries.length() / 2);
+    int used = 0;
+
+    for (int i = 0; i < sampled; i++) {
+      final long data = entries.get(i * 2 + 1);
+      if (data != NO_ENTRY && getGeneration(data) == generation)
+        used++;
+    }
+
+    return used * 1000 / sampled;
+  }
+
+  /**
+   * Gets the memory used by the entries.
+   * @return long size in bytes.
+   */
+  public long getSizeBytes() {
+    return (long) entries.length() * Long.BYTES;
+  }
+
+  /**
+   * Gets the score of an entry.
+   * @param data entry data.
+   * @return int score.
+   */
+  public static int getScore(final long data) {
+    return (int) data;
+  }
+
+  /**
+   * Gets the origin and destination bits of the best move of an entry.
+   * @param data entry data.
+   * @return int move without kind bits, else Search.NO_MOVE.
+   */
+  public static int getMove(final long data) {
+    final int move = (int) ((data >>> 32) & NO_MOVE_BITS);
+    return move == NO_MOVE_BITS ? Search.NO_MOVE : move;
+  }
+
+  /**
+   * Gets the depth of an entry.
+   * @param data entry data.
+   * @return int depth.
+   */
+  public static int getDepth(final long data) {
+    return (int) ((data >>> 46) & MAX_DEPTH);
+  }
+
+  /**
+   * Gets the bound type of an entry.
+   * @param data entry data.
+   * @return int LOWER_BOUND, UPPER_BOUND or EXACT.
+   */
+  public static int getBound(final long data) {
+    return (int) ((data >>> 54) & 0x3);
+  }
+
+  /**
+   * Gets the generation of an entry.
+   */
+  private static int getGeneration(final long data) {
+    return (int) ((data >>> 56) & 0x3F);
+  }
+
+}
@@ -2,13 +2,13 @@ package engine.pieces;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import engine.Alliance;
 import engine.Board;
 import engine.Move;
+import engine.MoveGenerator;
 import engine.Board.Tile;
 import engine.player.Player;
 import utils.BoardUtils;
@@ -39,12 +39,6 @@ public abstract class Piece {
   /** Piece alliance of this Piece */
   public final Alliance pieceAlliance;
 
-  /** HashMap that contains the Piece mobility according to the Board coordinates system */
-  public final Map<String, Integer> mobility = Collections.unmodifiableMap(
-      new HashMap<String, Integer>() {
-    { put("u", -9); put("d", 9); put("l", -1); put("r", 1); }
-  });
-
   /** HashMap containing all currently available moves for this Piece instance */
   private Map<String, Move> moveSet;
 
@@ -111,6 +105,22 @@ public abstract class Piece {
     return this.pieceAlliance;
   }
 
+  /**
+   * Gets this Piece rank ID used by the Board BitBoard.
+   * @return int rank ID from BoardUtils.FLAG_RANK_ID to BoardUtils.SPY_RANK_ID.
+   */
+  public int getRankId() {
+    return BoardUtils.getRankId(getPowerLevel());
+  }
+
+  /**
+   * Gets the shared immutable PieceType of this Piece rank and Alliance.
+   * @return PieceType of this Piece.
+   */
+  public PieceType getPieceType() {
+    return PieceType.get(this.pieceAlliance, getRankId());
+  }
+
   /**
    * Evaluate this Piece current possible moves.
    * Depends on Move.evaluateMove() method.
@@ -121,30 +131,34 @@ public abstract class Piece {
   public Map<String, Move> evaluateMoves(final Board board) {
     moveSet = new HashMap<String, Move>();
 
-    final int upAdjacentPieceCoords = this.pieceCoords + mobility.get("u");
-    if (pieceCoords >= BoardUtils.SECOND_ROW_INIT) {
-      moveSet.put("up", new Move(pieceOwner, board, pieceCoords, upAdjacentPieceCoords));
-      moveSet.get("up").evaluateMove();
-    }
-    final int downAdjacentPieceCoords = this.pieceCoords + mobility.get("d");
-    if (pieceCoords < BoardUtils.LAST_ROW_INIT) {
-      moveSet.put("down", new Move(pieceOwner, board, pieceCoords, downAdjacentPieceCoords));
-      moveSet.get("down").evaluateMove();
-    }
-    final int leftAdjacentPieceCoords = this.pieceCoords + mobility.get("l");
-    if (this.pieceCoords % 9 != 0) {
-      moveSet.put("left", new Move(pieceOwner, board, pieceCoords, leftAdjacentPieceCoords));
-      moveSet.get("left").evaluateMove();
-    }
-    final int rightAdjacentPieceCoords = this.pieceCoords + mobility.get("r");
-    if (rightAdjacentPieceCoords % 9 != 0) {
-      moveSet.put("right", new Move(pieceOwner, board, pieceCoords, rightAdjacentPieceCoords));
-      moveSet.get("right").evaluateMove();
+    // Evaluate move into each on board adjacent tile using precomputed tables.
+    for (int direction = 0; direction < BoardUtils.DIRECTION_COUNT; direction++) {
+      final int adjacentPieceCoords = BoardUtils.getAdjacentTile(pieceCoords, direction);
+
+      if (adjacentPieceCoords == -1)
+        continue;
+
+      final Move move = new Move(pieceOwner, board, pieceCoords, adjacentPieceCoords);
+      move.evaluateMove();
+      moveSet.put(BoardUtils.DIRECTIONS[direction], move);
     }
 
     return moveSet;
   }
 
+  /**
+   * Allocation free alternative of evaluateMoves() that writes this Piece
+   * current possible moves as int encoded moves into a reusable buffer.
+   * Depends on MoveGenerator.
+   * @param board Board to generate the moves from.
+   * @param moves buffer to write the encoded moves into.
+   * @param offset index of the buffer to start writing into.
+   * @return int offset plus count of moves written into the buffer.
+   */
+  public int generateMoves(final Board board, final int[] moves, final int offset) {
+    return MoveGenerator.generatePieceMoves(board.getBitBoard(), pieceCoords, moves, offset);
+  }
+
   //////////////////// Abstract methods to implement ////////////////////
 
   public abstract String getRank();
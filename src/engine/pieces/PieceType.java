@@ -0,0 +1,135 @@
+package engine.pieces;
+
+import engine.Alliance;
+import utils.BoardUtils;
+
+/**
+ * Shared immutable descriptor of a piece rank and Alliance. Only one instance
+ * exists per (rank, Alliance) pair, so positions, move records and snapshots
+ * can refer to pieces without holding Piece copies. The location of a piece is
+ * tracked by the Board, not by its PieceType.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public final class PieceType {
+
+  /** All PieceType instances. Indexed by piece code. See getPieceCode() */
+  private static final PieceType[] PIECE_TYPES =
+    new PieceType[BoardUtils.ALLIANCE_COUNT * BoardUtils.RANK_COUNT];
+
+  static {
+    for (final Alliance alliance : Alliance.values()) {
+      for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++) {
+        // Borrow rank properties from the concrete Piece class.
+        final Piece piece =
+          BoardUtils.pieceInstanceCreator(BoardUtils.RANKS[rankId], null, alliance);
+        final PieceType pieceType = new PieceType(
+            alliance, rankId, piece.getRank(), piece.getPowerLevel(),
+            piece.getLegalPieceInstanceCount());
+        PIECE_TYPES[pieceType.getPieceCode()] = pieceType;
+      }
+    }
+  }
+
+  /** Alliance of this PieceType */
+  private final Alliance pieceAlliance;
+
+  /** Rank ID of this PieceType. See BoardUtils */
+  private final int rankId;
+
+  /** Rank name of this PieceType */
+  private final String rank;
+
+  /** Power level of this PieceType to compare ranks */
+  private final int powerLevel;
+
+  /** Allowed amount of piece instance owned by a Player in a single game */
+  private final int legalPieceInstanceCount;
+
+  /**
+   * Private constructor. Use get() to obtain the shared instance.
+   */
+  private PieceType(final Alliance pieceAlliance, final int rankId,
+                    final String rank, final int powerLevel,
+                    final int legalPieceInstanceCount) {
+    this.pieceAlliance = pieceAlliance;
+    this.rankId = rankId;
+    this.rank = rank;
+    this.powerLevel = powerLevel;
+    this.legalPieceInstanceCount = legalPieceInstanceCount;
+  }
+
+  /**
+   * Gets the shared PieceType of an Alliance rank.
+   * @param alliance Alliance of the piece.
+   * @param rankId rank ID of the piece.
+   * @return PieceType shared instance.
+   */
+  public static PieceType get(final Alliance alliance, final int rankId) {
+    return PIECE_TYPES[alliance.ordinal() * BoardUtils.RANK_COUNT + rankId];
+  }
+
+  /**
+   * Gets the shared PieceType of a piece code.
+   * @param pieceCode piece code. See engine.BitBoard.getPieceCode().
+   * @return PieceType shared instance, else null if piece code is negative.
+   */
+  public static PieceType get(final int pieceCode) {
+    return pieceCode < 0 ? null : PIECE_TYPES[pieceCode];
+  }
+
+  /**
+   * Gets the Alliance of this PieceType.
+   * @return Alliance pieceAlliance field.
+   */
+  public Alliance getPieceAlliance() {
+    return this.pieceAlliance;
+  }
+
+  /**
+   * Gets the rank ID of this PieceType.
+   * @return int rankId field.
+   */
+  public int getRankId() {
+    return this.rankId;
+  }
+
+  /**
+   * Gets the rank name of this PieceType.
+   * @return String rank field.
+   */
+  public String getRank() {
+    return this.rank;
+  }
+
+  /**
+   * Gets the power level of this PieceType.
+   * @return int powerLevel field.
+   */
+  public int getPowerLevel() {
+    return this.powerLevel;
+  }
+
+  /**
+   * Gets the allowed legal instance per Player of this PieceType.
+   * @return int legalPieceInstanceCount field.
+   */
+  public int getLegalPieceInstanceCount() {
+    return this.legalPieceInstanceCount;
+  }
+
+  /**
+   * Gets the piece code of this PieceType. Same as the BitBoard piece code.
+   * @return int piece code.
+   */
+  public int getPieceCode() {
+    return this.pieceAlliance.ordinal() * BoardUtils.RANK_COUNT + this.rankId;
+  }
+
+  @Override
+  public String toString() {
+    return "piece=" + rank + ";powerLevel=" + powerLevel +
+           ";pieceAlliance=" + pieceAlliance;
+  }
+}
@@ -0,0 +1,133 @@
+package engine.player;
+
+import engine.Alliance;
+import engine.Board;
+import engine.Move;
+import engine.RandomStreams;
+import engine.ai.BeliefState;
+import engine.ai.Search;
+
+/**
+ * Computer Player that chooses its moves with an iterative deepening Search
+ * over determinized opponent setups, within a strict time budget per move.
+ * Setups are sampled from a BeliefState that follows the Board.
+ * Chosen moves are made through Player.makeMove() like any human move.
+ *
+ * Samples and tie-breaks draw from the Board random streams, so an AIPlayer
+ * with a fixed search depth replays identically in deterministic mode. See
+ * Board.setSeed().
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class AIPlayer extends Player {
+
+  /** Default time budget per move in milliseconds */
+  public static final long DEFAULT_MOVE_TIME_MILLIS = 100;
+
+  /** Search that chooses the moves */
+  private final Search search;
+
+  /** Belief over the hidden opponent ranks */
+  private final BeliefState beliefState;
+
+  /** Time budget per move in milliseconds */
+  private long moveTimeMillis;
+
+  /**
+   * Constructor that takes in the Alliance and uses the default time budget.
+   * @param alliance Alliance of this Player.
+   */
+  public AIPlayer(final Alliance alliance) {
+    this(alliance, DEFAULT_MOVE_TIME_MILLIS);
+  }
+
+  /**
+   * Constructor that takes in the Alliance and the time budget per move.
+   * @param alliance Alliance of this Player.
+   * @param moveTimeMillis time budget per move in milliseconds.
+   */
+  public AIPlayer(final Alliance alliance, final long moveTimeMillis) {
+    this(alliance, moveTimeMillis, new Search());
+  }
+
+  /**
+   * Constructor that takes in the Alliance, the time budget per move and the
+   * Search to choose the moves with.
+   * @param alliance Alliance of this Player.
+   * @param moveTimeMillis time budget per move in milliseconds.
+   * @param search Search to choose the moves with.
+   */
+  public AIPlayer(final Alliance alliance, final long moveTimeMillis, final Search search) {
+    super(alliance);
+    this.moveTimeMillis = moveTimeMillis;
+    this.search = search;
+    this.beliefState = new BeliefState(alliance);
+    this.search.setBeliefState(beliefState);
+  }
+
+  /**
+   * Chooses the move to make without making it.
+   * @return int encoded move, else Search.NO_MOVE if there is no move to make.
+   */
+  public int chooseMove() {
+    final Board board = getBoard();
+
+    // Follow the Board from now on if it has been rebuilt or loaded.
+    if (!beliefState.isTracking(board)) {
+      board.addBoardListener(beliefState);
+      beliefState.reset(board);
+    }
+
+    return search.findBestMove(board.getBitBoard(), getAlliance(),
+                               moveTimeMillis * 1_000_000L,
+                               board.getRandom(RandomStreams.DETERMINIZATION_STREAM),
+                               board.getRandom(RandomStreams.AI_STREAM));
+  }
+
+  /**
+   * Chooses and makes a move through Player.makeMove().
+   * @return boolean true if successful, else false.
+   */
+  public boolean makeMove() {
+    final int move = chooseMove();
+
+    if (move == Search.NO_MOVE)
+      return false;
+
+    return makeMove(Move.decodeOrigin(move), Move.decodeDestination(move));
+  }
+
+  /**
+   * Gets the Search that chooses the moves.
+   * @return Search search field.
+   */
+  public Search getSearch() {
+    return this.search;
+  }
+
+  /**
+   * Gets the belief over the hidden opponent ranks.
+   * @return BeliefState beliefState field.
+   */
+  public BeliefState getBeliefState() {
+    return this.beliefState;
+  }
+
+  /**
+   * Gets the time budget per move.
+   * @return long moveTimeMillis field.
+   */
+  public long getMoveTimeMillis() {
+    return this.moveTimeMillis;
+  }
+
+  /**
+   * Sets the time budget per move.
+   * @param moveTimeMillis time budget per move in milliseconds.
+   */
+  public void setMoveTimeMillis(final long moveTimeMillis) {
+    this.moveTimeMillis = moveTimeMillis;
+  }
+
+}
@@ -66,6 +66,14 @@ public class Player {
     return true;
   }
 
+  /**
+   * Gets the Board in which this Player participates in.
+   * @return Board board field.
+   */
+  public Board getBoard() {
+    return this.board;
+  }
+
   /**
    * Initialize this Player instance.
    * Initialize ownedPieces to empty List, moveHistory to empty
@@ -135,9 +143,9 @@ public class Player {
         clearForwardMoveHistory(this.board.getCurrentTurn());
         recordMove(move);
 
-        // Change necessary states of the Board
+        // Change necessary states of the Board. Move maker has already been
+        // switched by the Board when the move was made.
         this.board.setLastMove(move);
-        this.board.switchMoveMakerPlayer();
         this.board.incrementTurn();
         this.board.updateLastExecutedTurn(this.board.getCurrentTurn());
 
@@ -173,9 +181,9 @@ public class Player {
         clearForwardMoveHistory(this.board.getCurrentTurn());
         recordMove(move);
 
-        // Change necessary states of the Board
+        // Change necessary states of the Board. Move maker has already been
+        // switched by the Board when the move was made.
         this.board.setLastMove(move);
-        this.board.switchMoveMakerPlayer();
         this.board.incrementTurn();
         this.board.updateLastExecutedTurn(this.board.getCurrentTurn());
 
@@ -251,25 +259,9 @@ public class Player {
       final Move lastMove = getMoveFromHistory(currentTurn - 2);
 
       if (isMoveMaker()) {
-        final int recentMoveOrigin = recentMove.getOriginCoords();
-        final int recentMoveDestination = recentMove.getDestinationCoords();
-
-        // Reverse the most recent executed move
-        if (recentMove.getMoveType() == "aggressive") {
-          if (recentMove.getEliminatedPiece() == recentMove.getTargetPiece()) {
-            // If target piece eliminated
-            this.board.movePiece(recentMoveDestination, recentMove.getOriginCoords());
-            this.board.insertPiece(recentMoveDestination, recentMove.getEliminatedPiece());
-          } else {
-            // If source piece eliminated
-            this.board.insertPiece(recentMoveOrigin, recentMove.getEliminatedPiece());
-          }
-        } else if (recentMove.getMoveType() == "draw") {
-          this.board.insertPiece(recentMoveDestination, recentMove.getTargetPiece());
-          this.board.insertPiece(recentMoveOrigin, recentMove.getSourcePiece());
-        } else {
-          this.board.movePiece(recentMoveDestination, recentMoveOrigin);
-        }
+        // Reverse the most recent executed move. Also switches back the move
+        // maker.
+        this.board.unmakeMove();
 
         // Sets the two move down the combined history of both Players as last move.
         this.board.setLastMove(lastMove);
@@ -277,7 +269,6 @@ public class Player {
         // Change execution state of the most recent move for redoing purposes.
         recentMove.undoExecution();
 
-        board.switchMoveMakerPlayer();
         board.decrementTurn();
 
         if (this.board.isDebugMode()) {
@@ -309,25 +300,10 @@ public class Player {
       final Move nextMove = getMoveFromHistory(currentTurn);
 
       if (isMoveMaker()) {
-        final int nextMoveOrigin = nextMove.getOriginCoords();
-        final int nextMoveDestination = nextMove.getDestinationCoords();
-
-        // Reexecute undid move from the move history that matches the current turn.
-        if (nextMove.getMoveType() == "aggressive") {
-          if (nextMove.getEliminatedPiece() == nextMove.getTargetPiece()) {
-            // if target piece eliminated
-            this.board.replacePiece(nextMoveDestination, nextMove.getSourcePiece());
-            this.board.deletePiece(nextMoveOrigin);
-          } else {
-            // if source piece eliminated
-            this.board.deletePiece(nextMoveOrigin);
-          }
-        } else if (nextMove.getMoveType() == "draw") {
-          this.board.deletePiece(nextMoveOrigin);
-          this.board.deletePiece(nextMoveDestination);
-        } else {
-          this.board.movePiece(nextMoveOrigin, nextMoveDestination);
-        }
+        // Reexecute undid move from the move history that matches the current
+        // turn. Also switches the move maker.
+        if (!this.board.makeMove(nextMove.getEncodedMove()))
+          return false;
 
         // Sets last move as the recently reexecuted move
         this.board.setLastMove(nextMove);
@@ -335,7 +311,6 @@ public class Player {
         // Redo move execution state.
         nextMove.redoExecution();
 
-        board.switchMoveMakerPlayer();
         board.incrementTurn();
 
         if (this.board.isDebugMode()) {
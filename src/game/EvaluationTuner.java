@@ -0,0 +1,448 @@
+package game;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import engine.Alliance;
+import engine.BitBoard;
+import engine.Board;
+import engine.BoardListener;
+import engine.Move;
+import engine.Board.BoardBuilder;
+import engine.ai.Evaluator;
+import engine.pieces.Piece;
+import engine.player.Player;
+import utils.BoardUtils;
+
+/**
+ * Offline tuner of the Evaluator weights. Positions of finished games are
+ * labeled with the game result, and the weights are fitted so that a sigmoid
+ * of the evaluation predicts the result of the move maker, by minimizing the
+ * mean squared error with Adam gradient descent.
+ *
+ * Positions are kept as Evaluator features in primitive arrays, one byte per
+ * feature, so millions of positions fit in memory. Every iteration computes
+ * the gradient of fixed size blocks of positions in parallel on a
+ * ForkJoinPool, then sums the blocks in order, so tuning is reproducible on
+ * any thread count.
+ *
+ * Positions come from the saved game archive, see Save, or from self-play
+ * games, see SelfPlayRunner.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class EvaluationTuner {
+
+  /** Default evaluation score at which the predicted result is 0.73 */
+  public static final double DEFAULT_SCALE = 400.0;
+
+  /** Default Adam step size in weight units */
+  public static final double DEFAULT_LEARNING_RATE = 2.0;
+
+  /** Saved game archive path */
+  public static final String ARCHIVE_PATH = "data/save/";
+
+  /** Count of positions per parallel block */
+  private static final int BLOCK_SIZE = 1 << 14;
+
+  /** Adam decay rates and stabilizer */
+  private static final double BETA1 = 0.9;
+  private static final double BETA2 = 0.999;
+  private static final double EPSILON = 1e-8;
+
+  /** Evaluator to tune */
+  private final Evaluator evaluator;
+
+  /** Features of each position. Indexed by [position][feature] */
+  private byte[] features = new byte[BLOCK_SIZE * Evaluator.WEIGHT_COUNT];
+
+  /** Result of the move maker of each position. 1 won, 0.5 drawn, 0 lost */
+  private float[] results = new float[BLOCK_SIZE];
+
+  /** Count of positions */
+  private int positionCount = 0;
+
+  private double scale = DEFAULT_SCALE;
+  private double learningRate = DEFAULT_LEARNING_RATE;
+  private int threadCount = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Constructor that takes in the Evaluator to tune.
+   * @param evaluator Evaluator whose weights are the starting point and
+   * receive the tuned weights.
+   */
+  public EvaluationTuner(final Evaluator evaluator) {
+    this.evaluator = evaluator;
+  }
+
+  /**
+   * Adds a labeled position.
+   * @param bitBoard BitBoard of the position.
+   * @param moveMaker Alliance to make the next move.
+   * @param result result of the move maker. 1 won, 0.5 drawn, 0 lost.
+   */
+  public void addPosition(final BitBoard bitBoard, final Alliance moveMaker,
+                          final double result) {
+    ensureCapacity(positionCount + 1);
+    Evaluator.extractFeatures(bitBoard, moveMaker, features,
+                              positionCount * Evaluator.WEIGHT_COUNT);
+    results[positionCount++] = (float) result;
+  }
+
+  /**
+   * Adds the positions of already extracted games.
+   */
+  private void addGame(final byte[] gameFeatures, final byte[] moveMakers,
+                       final int count, final Alliance winner) {
+    ensureCapacity(positionCount + count);
+    System.arraycopy(gameFeatures, 0, features, positionCount * Evaluator.WEIGHT_COUNT,
+                     count * Evaluator.WEIGHT_COUNT);
+
+    for (int i = 0; i < count; i++)
+      results[positionCount++] = winner == null ? 0.5f :
+        moveMakers[i] == winner.ordinal() ? 1.0f : 0.0f;
+  }
+
+  /**
+   * Grows the position arrays.
+   */
+  private void ensureCapacity(final int capacity) {
+    if (capacity <= results.length)
+      return;
+
+    final int newCapacity = Math.max(capacity, results.length * 2);
+    features = Arrays.copyOf(features, newCapacity * Evaluator.WEIGHT_COUNT);
+    results = Arrays.copyOf(results, newCapacity);
+  }
+
+  /**
+   * Adds the positions of every finished game of the saved game archive.
+   * @param directory archive directory. See ARCHIVE_PATH.
+   * @return int count of positions added, else -1 if the directory is
+   * missing.
+   */
+  public int addArchive(final String directory) {
+    final File[] files = new File(directory).listFiles((dir, name) -> name.endsWith(".txt"));
+
+    if (files == null)
+      return -1;
+
+    Arrays.sort(files);
+    int count = 0;
+    for (final File file : files)
+      count += Math.max(0, addSaveFile(file.getPath()));
+
+    return count;
+  }
+
+  /**
+   * Adds the positions of a saved game by replaying it on a headless Board.
+   * Unfinished games have no result and add no position.
+   * @param path saved game file path.
+   * @return int count of positions added, else -1 if the file is missing or
+   * malformed.
+   */
+  public int addSaveFile(final String path) {
+    final Board board = new Board();
+    final Player playerWhite = new Player(Alliance.WHITE);
+    final Player playerBlack = new Player(Alliance.BLACK);
+    final BoardBuilder builder = new BoardBuilder(board);
+    int[] moves = new int[0];
+    Alliance firstMoveMaker = Alliance.WHITE;
+
+    board.setPlayerWhite(playerWhite);
+    board.setPlayerBlack(playerBlack);
+
+    try {
+      final Scanner scan = new Scanner(new File(path));
+
+      while (scan.hasNextLine()) {
+        final String line = scan.nextLine();
+
+        if (line.startsWith("tileId=") && !getField(line, "piece").equals("null")) {
+          final Alliance alliance = Alliance.valueOf(getField(line, "pieceAlliance"));
+          final Piece piece = BoardUtils.pieceInstanceCreator(
+              getField(line, "piece"), alliance == Alliance.WHITE ? playerWhite : playerBlack,
+              alliance);
+
+          piece.setPieceCoords(Integer.parseInt(getField(line, "tileId")));
+          builder.setPiece(piece);
+        } else if (line.startsWith("firstMoveMaker=")) {
+          firstMoveMaker = Alliance.valueOf(getField(line, "firstMoveMaker"));
+        } else if (line.startsWith("turnId=") && getField(line, "isExecuted").equals("true")) {
+          moves = Arrays.copyOf(moves, moves.length + 1);
+          moves[moves.length - 1] = Move.encodeMove(
+              Integer.parseInt(getField(line, "originCoords")),
+              Integer.parseInt(getField(line, "destinationCoords")), Move.NORMAL_MOVE);
+        }
+      }
+      scan.close();
+    } catch (final FileNotFoundException e) {
+      System.out.println("Tuner error: save data not found");
+      return -1;
+    } catch (final IllegalArgumentException | NullPointerException e) {
+      return -1;
+    }
+
+    board.setBoardBuilder(builder);
+    board.buildBoard();
+    board.setFirstMoveMaker(firstMoveMaker);
+    board.setMoveMaker(firstMoveMaker == Alliance.WHITE ? playerWhite : playerBlack);
+
+    final PositionRecorder recorder = new PositionRecorder();
+    board.addBoardListener(recorder);
+    for (final int move : moves)
+      if (!board.makeMove(move))
+        return -1;
+
+    if (!board.isEndGame())
+      return 0;
+
+    addGame(recorder.features, recorder.moveMakers, recorder.count, board.getEndGameWinner());
+    return recorder.count;
+  }
+
+  /**
+   * Adds the positions of self-play games played in parallel.
+   * @param runner SelfPlayRunner to play the games with.
+   * @param firstGameIndex index of the first game. See SelfPlayRunner.playGame().
+   * @param gameCount count of games.
+   * @return int count of positions added.
+   */
+  public int addSelfPlayGames(final SelfPlayRunner runner, final long firstGameIndex,
+                              final int gameCount) {
+    final PositionRecorder[] recorders = new PositionRecorder[gameCount];
+    final Alliance[] winners = new Alliance[gameCount];
+    final ForkJoinPool pool = new ForkJoinPool(threadCount);
+
+    try {
+      pool.submit(() -> IntStream.range(0, gameCount).parallel().forEach(game -> {
+        recorders[game] = new PositionRecorder();
+        winners[game] = runner.playGame(firstGameIndex + game, null, null, null, recorders[game]);
+      })).get();
+    } catch (final InterruptedException | ExecutionException e) {
+      throw new IllegalStateException("Self-play games failed", e);
+    } finally {
+      pool.shutdown();
+    }
+
+    // Add in game order so the positions do not depend on the thread count.
+    int count = 0;
+    for (int game = 0; game < gameCount; game++) {
+      addGame(recorders[game].features, recorders[game].moveMakers, recorders[game].count,
+              winners[game]);
+      count += recorders[game].count;
+    }
+
+    return count;
+  }
+
+  /**
+   * Tunes the weights, then sets them into the Evaluator.
+   * @param iterations count of gradient descent iterations.
+   * @return double mean squared error of the tuned weights.
+   */
+  public double tune(final int iterations) {
+    final double[] weights = new double[Evaluator.WEIGHT_COUNT];
+    final double[] moments = new double[Evaluator.WEIGHT_COUNT];
+    final double[] variances = new double[Evaluator.WEIGHT_COUNT];
+
+    final ForkJoinPool pool = new ForkJoinPool(threadCount);
+
+    for (int i = 0; i < weights.length; i++)
+      weights[i] = evaluator.getWeight(i);
+
+    try {
+      for (int iteration = 1; iteration <= iterations; iteration++) {
+        final double[] gradient = computeGradient(pool, weights);
+
+        for (int i = 0; i < weights.length; i++) {
+          moments[i] = BETA1 * moments[i] + (1 - BETA1) * gradient[i];
+          variances[i] = BETA2 * variances[i] + (1 - BETA2) * gradient[i] * gradient[i];
+
+          final double moment = moments[i] / (1 - Math.pow(BETA1, iteration));
+          final double variance = variances[i] / (1 - Math.pow(BETA2, iteration));
+          weights[i] -= learningRate * moment / (Math.sqrt(variance) + EPSILON);
+        }
+      }
+
+      for (int i = 0; i < weights.length; i++) {
+        weights[i] = Math.round(weights[i]);
+        evaluator.setWeight(i, (int) weights[i]);
+      }
+
+      return computeGradient(pool, weights)[Evaluator.WEIGHT_COUNT];
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Gets the mean squared error of the Evaluator weights.
+   * @return double mean squared error, else 0 if without positions.
+   */
+  public double getError() {
+    final double[] weights = new double[Evaluator.WEIGHT_COUNT];
+
+    final ForkJoinPool pool = new ForkJoinPool(threadCount);
+
+    for (int i = 0; i < weights.length; i++)
+      weights[i] = evaluator.getWeight(i);
+
+    try {
+      return computeGradient(pool, weights)[Evaluator.WEIGHT_COUNT];
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Computes the gradient of the mean squared error over all positions on
+   * the workers of a pool.
+   * @return double[] gradient of each weight, followed by the error.
+   */
+  private double[] computeGradient(final ForkJoinPool pool, final double[] weights) {
+    final int blockCount = (positionCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    final double[][] blocks = new double[blockCount][Evaluator.WEIGHT_COUNT + 1];
+
+    try {
+      pool.submit(() -> IntStream.range(0, blockCount).parallel()
+                  .forEach(block -> computeBlock(block, weights, blocks[block]))).get();
+    } catch (final InterruptedException | ExecutionException e) {
+      throw new IllegalStateException("Tuning failed", e);
+    }
+
+    final double[] gradient = new double[Evaluator.WEIGHT_COUNT + 1];
+    for (final double[] block : blocks)
+      for (int i = 0; i < gradient.length; i++)
+        gradient[i] += block[i] / Math.max(1, positionCount);
+
+    return gradient;
+  }
+
+  /**
+   * Sums the gradient and the squared error of a block of positions.
+   */
+  private void computeBlock(final int block, final double[] weights, final double[] sums) {
+    final int end = Math.min(positionCount, (block + 1) * BLOCK_SIZE);
+
+    for (int position = block * BLOCK_SIZE; position < end; position++) {
+      final int offset = position * Evaluator.WEIGHT_COUNT;
+      double score = 0;
+
+      for (int i = 0; i < Evaluator.WEIGHT_COUNT; i++)
+        score += weights[i] * features[offset + i];
+
+      final double prediction = 1.0 / (1.0 + Math.exp(-score / scale));
+      final double error = prediction - results[position];
+      final double slope = 2 * error * prediction * (1 - prediction) / scale;
+
+      for (int i = 0; i < Evaluator.WEIGHT_COUNT; i++)
+        sums[i] += slope * features[offset + i];
+      sums[Evaluator.WEIGHT_COUNT] += error * error;
+    }
+  }
+
+  /**
+   * Gets the value of a "key=value;" field of a saved game line.
+   */
+  private static String getField(final String line, final String key) {
+    final int start = line.indexOf(key + "=");
+
+    if (start < 0)
+      return "";
+
+    final int end = line.indexOf(';', start);
+    return line.substring(start + key.length() + 1, end < 0 ? line.length() : end);
+  }
+
+  /**
+   * Gets the count of positions.
+   * @return int positionCount field.
+   */
+  public int getPositionCount() {
+    return this.positionCount;
+  }
+
+  /**
+   * Sets the evaluation score at which the predicted result is 0.73.
+   * @param scale positive scale.
+   */
+  public void setScale(final double scale) {
+    this.scale = scale;
+  }
+
+  /**
+   * Sets the Adam step size.
+   * @param learningRate step size in weight units.
+   */
+  public void setLearningRate(final double learningRate) {
+    this.learningRate = learningRate;
+  }
+
+  /**
+   * Sets the count of worker threads.
+   * @param threadCount count of threads, at least one.
+   */
+  public void setThreadCount(final int threadCount) {
+    this.threadCount = Math.max(1, threadCount);
+  }
+
+  /**
+   * BoardListener that extracts the features of every position after a move.
+   */
+  private static class PositionRecorder implements BoardListener {
+
+    private byte[] features = new byte[64 * Evaluator.WEIGHT_COUNT];
+    private byte[] moveMakers = new byte[64];
+    private int count = 0;
+
+    /** Whether each move made since registering recorded a position */
+    private boolean[] recordedMoves = new boolean[64];
+    private int madeCount = 0;
+
+    @Override
+    public void onGameInitialized(final Board board) {}
+
+    @Override
+    public void onGameStarted(final Board board) {}
+
+    @Override
+    public void onGameRestarted(final Board board) {}
+
+    @Override
+    public void onMoveMade(final Board board, final int move, final int sourcePieceCode,
+                           final int targetPieceCode, final int engagement) {
+      if (madeCount == recordedMoves.length)
+        recordedMoves = Arrays.copyOf(recordedMoves, recordedMoves.length * 2);
+
+      // Positions that ended the game have no move maker to record.
+      recordedMoves[madeCount++] = !board.isEndGame();
+      if (board.isEndGame())
+        return;
+
+      if (count == moveMakers.length) {
+        features = Arrays.copyOf(features, features.length * 2);
+        moveMakers = Arrays.copyOf(moveMakers, moveMakers.length * 2);
+      }
+
+      Evaluator.extractFeatures(board.getBitBoard(), board.getMoveMaker(), features,
+                                count * Evaluator.WEIGHT_COUNT);
+      moveMakers[count++] = (byte) board.getMoveMaker().ordinal();
+    }
+
+    @Override
+    public void onMoveUnmade(final Board board, final int move) {
+      // Moves made before registering recorded nothing.
+      if (madeCount > 0 && recordedMoves[--madeCount])
+        count--;
+    }
+  }
+
+}
@@ -58,21 +58,22 @@ public class Load {
   private Player playerWhite;
 
   /**
-   * Constructor method that takes in the Board engine the filename of the saved
-   * game data.
+   * Constructor method that takes in the Board engine, the BoardPanel to load
+   * the move history into and the filename of the saved game data.
    * @param board the Board engine
+   * @param boardPanel the BoardPanel listening to the Board engine.
    * @param filename filename of the saved data.
    */
-  public Load(final Board board, final String filename) {
+  public Load(final Board board, final BoardPanel boardPanel, final String filename) {
     // TODO: Fix game not loading properly after being saved from a loaded game.
     this.board = board;
-    this.boardPanel = board.getBoardPanel();
+    this.boardPanel = boardPanel;
     this.playerBlack = this.board.getBlackPlayer();
     this.playerWhite = this.board.getWhitePlayer();
 
     this.fileName = filename;
     this.moveHistory = new HashMap<Integer, Move>();
-    this.builder = new BoardBuilder();
+    this.builder = new BoardBuilder(board);
   }
 
   /**
@@ -109,7 +110,7 @@ public class Load {
       if (parseSaveData(saveData)) {
         this.board.startGame();
 
-        this.board.getBoardPanel().clearBoardPanel();
+        this.boardPanel.clearBoardPanel();
         executeSaveData();
         if (this.board.isDebugMode())
           System.out.println("Game successfully loaded");
@@ -384,7 +385,7 @@ public class Load {
           else
             playerWhite.makeMove(entry.getValue());
 
-          this.board.getBoardPanel().getMoveHistoryPanel().appendToMoveHistory(
+          this.boardPanel.getMoveHistoryPanel().appendToMoveHistory(
               entry.getValue());
 
           System.out.println(this.board);
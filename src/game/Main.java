@@ -23,7 +23,7 @@ public class Main {
       public void run() {
         try {
           Board board = new Board();
-          BoardBuilder builder = new BoardBuilder();
+          BoardBuilder builder = new BoardBuilder(board);
 
           Player player1 = new Player(Alliance.WHITE);
           Player player2 = new Player(Alliance.BLACK);
@@ -0,0 +1,62 @@
+package game;
+
+import java.util.SplittableRandom;
+
+import engine.Board;
+import engine.MoveGenerator;
+import engine.RandomStreams;
+import engine.ai.Search;
+
+/**
+ * Pluggable move choice of a headless Player. A MovePolicy is only used by
+ * one thread at a time, but may be reused for many games.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public interface MovePolicy {
+
+  /**
+   * Chooses the move of the Board move maker.
+   * @param board Board to choose the move on.
+   * @return int encoded move, else Search.NO_MOVE if there is no move to make.
+   */
+  int chooseMove(Board board);
+
+  /**
+   * Creates a policy that chooses uniformly among all moves, drawing from the
+   * Board AI random stream.
+   * @return MovePolicy random policy.
+   */
+  static MovePolicy random() {
+    final int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+    return board -> {
+      final int moveCount =
+        MoveGenerator.generateMoves(board.getBitBoard(), board.getMoveMaker(), moves);
+
+      return moveCount == 0 ? Search.NO_MOVE :
+        moves[board.getRandom(RandomStreams.AI_STREAM).nextInt(moveCount)];
+    };
+  }
+
+  /**
+   * Creates a policy that chooses with a Search, drawing from the Board
+   * determinization and AI random streams.
+   * @param search Search to choose the moves with. Owned by the policy.
+   * @param timeBudgetNanos time budget per move in nanoseconds. Limit the
+   * Search depth instead for reproducible games.
+   * @return MovePolicy search policy.
+   */
+  static MovePolicy search(final Search search, final long timeBudgetNanos) {
+    return board -> {
+      final SplittableRandom determinizationRandom =
+        board.getRandom(RandomStreams.DETERMINIZATION_STREAM);
+
+      return search.findBestMove(board.getBitBoard(), board.getMoveMaker(), timeBudgetNanos,
+                                 determinizationRandom,
+                                 board.getRandom(RandomStreams.AI_STREAM));
+    };
+  }
+
+}
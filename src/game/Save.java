@@ -6,14 +6,15 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.sql.Timestamp;
 import java.util.Date;
-import java.util.List;
 import java.util.Map;
 
 import engine.Alliance;
 import engine.Board;
 import engine.Move;
-import engine.Board.Tile;
+import engine.PositionSnapshot;
+import engine.pieces.PieceType;
 import engine.player.Player;
+import utils.BoardUtils;
 
 /**
  * Save game feature for the Board engine that saves the current in-game state.
@@ -27,8 +28,8 @@ public class Save {
   /** Save data path */
   private final String DATA_PATH = "data/save/";
 
-  /** List of Tile the contains the initial board arrangement before game starts. */
-  private final List<Tile> boardConfig;
+  /** Snapshot of the initial board arrangement before game starts. */
+  private final PositionSnapshot boardConfig;
 
   /** Reference to the Board engine */
   private final Board board;
@@ -73,7 +74,7 @@ public class Save {
    * @return String of board config data.
    */
   public String getBoardConfigData() {
-    final String boardConfigData = "BoardConfig=" + this.boardConfig.size() + ";\n";
+    final String boardConfigData = "BoardConfig=" + BoardUtils.ALL_TILES_COUNT + ";\n";
     return boardConfigData + convertBoardConfigToData(this.boardConfig);
   }
 
@@ -128,18 +129,20 @@ public class Save {
 
   /**
    * Board configuration to string data converter.
-   * @param boardConfig List<Tile> initial board configuration to be converted.
+   * @param boardConfig PositionSnapshot initial board configuration to be converted.
    * @return String converted board configuration data.
    */
-  public String convertBoardConfigToData(final List<Tile> boardConfig) {
+  public String convertBoardConfigToData(final PositionSnapshot boardConfig) {
     String boardConfigData = "";
 
-    for (int i = 0; i < boardConfig.size(); i++) {
+    for (int i = 0; i < BoardUtils.ALL_TILES_COUNT; i++) {
+      final PieceType pieceType = boardConfig.getPieceType(i);
+
       boardConfigData +=
-        "tileId=" + boardConfig.get(i).getTileId() + ";" +
-        "territory=" + boardConfig.get(i).getTerritory() + ";" +
-        "piece=" + (boardConfig.get(i).isTileOccupied() ? boardConfig.get(i).getPiece().getRank() : "null") + ";" +
-        "pieceAlliance=" + (boardConfig.get(i).isTileOccupied() ? boardConfig.get(i).getPiece().getPieceAlliance() : "null") + ";" +
+        "tileId=" + i + ";" +
+        "territory=" + (i < BoardUtils.ALL_TILES_COUNT / 2 ? Alliance.BLACK : Alliance.WHITE) + ";" +
+        "piece=" + (pieceType != null ? pieceType.getRank() : "null") + ";" +
+        "pieceAlliance=" + (pieceType != null ? pieceType.getPieceAlliance() : "null") + ";" +
         "\n";
     }
     return boardConfigData;
@@ -0,0 +1,328 @@
+package game;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import engine.Alliance;
+import engine.Board;
+import engine.BoardListener;
+import engine.RandomStreams;
+import engine.SetupGenerator;
+import engine.Board.BoardBuilder;
+import engine.ai.Search;
+import engine.player.Player;
+
+/**
+ * Headless self-play runner that plays games between two MovePolicies in
+ * parallel on a ForkJoinPool, without any gui. Every game is played on its
+ * own Board seeded from the runner seed and the game index, so a batch is
+ * reproducible on any machine and thread count as long as the policies are,
+ * and its combined checksum can be compared between runs. See Board.setSeed().
+ *
+ * Games alternate the first move maker, WHITE on even game indices and BLACK
+ * on odd ones. A game without a winner after the maximum count of moves is a
+ * draw.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class SelfPlayRunner {
+
+  /** Default maximum count of moves per game */
+  public static final int DEFAULT_MAX_MOVES = 1000;
+
+  /** Policy of each worker thread for the WHITE player */
+  private final ThreadLocal<MovePolicy> whitePolicy;
+
+  /** Policy of each worker thread for the BLACK player */
+  private final ThreadLocal<MovePolicy> blackPolicy;
+
+  /** Count of worker threads */
+  private int threadCount = Runtime.getRuntime().availableProcessors();
+
+  /** Maximum count of moves per game */
+  private int maxMoves = DEFAULT_MAX_MOVES;
+
+  /** Seed of the batch */
+  private long seed = 0L;
+
+  /**
+   * Constructor that takes in the policy factories of both players. Each
+   * worker thread creates its own policies once.
+   * @param whitePolicyFactory factory of the WHITE player policy.
+   * @param blackPolicyFactory factory of the BLACK player policy.
+   */
+  public SelfPlayRunner(final Supplier<MovePolicy> whitePolicyFactory,
+                        final Supplier<MovePolicy> blackPolicyFactory) {
+    this.whitePolicy = ThreadLocal.withInitial(whitePolicyFactory);
+    this.blackPolicy = ThreadLocal.withInitial(blackPolicyFactory);
+  }
+
+  /**
+   * Plays a batch of games.
+   * @param gameCount count of games to play.
+   * @return Result of the batch.
+   */
+  public Result run(final long gameCount) {
+    final ForkJoinPool pool = new ForkJoinPool(threadCount);
+    final long start = System.nanoTime();
+
+    try {
+      final Result result = pool.submit(() ->
+          LongStream.range(0, gameCount).parallel().collect(
+              Result::new, (partial, gameIndex) -> playGame(gameIndex, partial),
+              Result::merge)).get();
+
+      result.elapsedNanos = System.nanoTime() - start;
+      return result;
+    } catch (final InterruptedException | ExecutionException e) {
+      throw new IllegalStateException("Self-play batch failed", e);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Plays a single game with random setups and adds it into a result.
+   * @param gameIndex index of the game within the batch.
+   * @param result Result to add the game into.
+   */
+  public void playGame(final long gameIndex, final Result result) {
+    playGame(gameIndex, null, null, result);
+  }
+
+  /**
+   * Plays a single game and adds it into a result.
+   * @param gameIndex index of the game within the batch.
+   * @param whiteSetup setup of the WHITE pieces, else null for a random one.
+   * @param blackSetup setup of the BLACK pieces, else null for a random one.
+   * See SetupGenerator.
+   * @param result Result to add the game into, else null.
+   * @return Alliance of the winner, else null if drawn.
+   */
+  public Alliance playGame(final long gameIndex, final byte[] whiteSetup,
+                           final byte[] blackSetup, final Result result) {
+    return playGame(gameIndex, whiteSetup, blackSetup, result, null);
+  }
+
+  /**
+   * Plays a single game observed by a BoardListener and adds it into a
+   * result.
+   * @param gameIndex index of the game within the batch.
+   * @param whiteSetup setup of the WHITE pieces, else null for a random one.
+   * @param blackSetup setup of the BLACK pieces, else null for a random one.
+   * See SetupGenerator.
+   * @param result Result to add the game into, else null.
+   * @param listener BoardListener notified of every move, else null.
+   * @return Alliance of the winner, else null if drawn.
+   */
+  public Alliance playGame(final long gameIndex, final byte[] whiteSetup,
+                           final byte[] blackSetup, final Result result,
+                           final BoardListener listener) {
+    final Board board = new Board();
+    final Player playerWhite = new Player(Alliance.WHITE);
+    final Player playerBlack = new Player(Alliance.BLACK);
+    final Alliance firstMoveMaker = (gameIndex & 1) == 0 ? Alliance.WHITE : Alliance.BLACK;
+    final MovePolicy white = whitePolicy.get();
+    final MovePolicy black = blackPolicy.get();
+    int moveCount = 0;
+
+    board.setSeed(RandomStreams.mix64(seed + gameIndex));
+    board.setPlayerWhite(playerWhite);
+    board.setPlayerBlack(playerBlack);
+    if (listener != null)
+      board.addBoardListener(listener);
+
+    if (whiteSetup != null || blackSetup != null) {
+      final SetupGenerator generator = new SetupGenerator(
+          board.getRandom(RandomStreams.SETUP_STREAM).nextLong());
+
+      board.setBoardBuilder(new BoardBuilder(board)
+          .createSetupBuild(Alliance.BLACK, blackSetup != null ? blackSetup : generator.nextSetup())
+          .createSetupBuild(Alliance.WHITE, whiteSetup != null ? whiteSetup : generator.nextSetup()));
+    }
+    board.buildBoard();
+    board.setFirstMoveMaker(firstMoveMaker);
+    board.setMoveMaker(firstMoveMaker == Alliance.WHITE ? playerWhite : playerBlack);
+
+    Alliance winner = null;
+    while (moveCount < maxMoves) {
+      final Alliance moveMaker = board.getMoveMaker();
+      final int move = (moveMaker == Alliance.WHITE ? white : black).chooseMove(board);
+
+      // A player that cannot move loses.
+      if (move == Search.NO_MOVE || !board.makeMove(move)) {
+        winner = moveMaker == Alliance.WHITE ? Alliance.BLACK : Alliance.WHITE;
+        break;
+      }
+      moveCount++;
+
+      if (board.isEndGame()) {
+        winner = board.getEndGameWinner();
+        break;
+      }
+    }
+
+    if (result != null)
+      result.add(gameIndex, winner, firstMoveMaker, moveCount, board.getGameChecksum());
+
+    return winner;
+  }
+
+  /**
+   * Sets the count of worker threads.
+   * @param threadCount count of threads, at least one.
+   */
+  public void setThreadCount(final int threadCount) {
+    this.threadCount = Math.max(1, threadCount);
+  }
+
+  /**
+   * Sets the maximum count of moves per game before it is a draw.
+   * @param maxMoves maximum count of moves.
+   */
+  public void setMaxMoves(final int maxMoves) {
+    this.maxMoves = maxMoves;
+  }
+
+  /**
+   * Sets the seed of the batch.
+   * @param seed seed of all games.
+   */
+  public void setSeed(final long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Statistics of a batch of games. Partial results of each worker are
+   * merged, so no counter is shared between threads.
+   */
+  public static class Result {
+
+    private long games;
+    private long moves;
+    private long whiteWins;
+    private long blackWins;
+    private long firstMoverWins;
+    private long draws;
+    private long checksum;
+    private long elapsedNanos;
+
+    /**
+     * Adds a game into this result.
+     */
+    void add(final long gameIndex, final Alliance winner, final Alliance firstMoveMaker,
+             final int moveCount, final long gameChecksum) {
+      games++;
+      moves += moveCount;
+
+      if (winner == null)
+        draws++;
+      else if (winner == Alliance.WHITE)
+        whiteWins++;
+      else
+        blackWins++;
+
+      if (winner != null && winner == firstMoveMaker)
+        firstMoverWins++;
+
+      // Order independent, so merging in any order yields the same checksum.
+      checksum += RandomStreams.mix64(gameIndex ^ gameChecksum);
+    }
+
+    /**
+     * Merges another partial result into this result.
+     */
+    void merge(final Result other) {
+      games += other.games;
+      moves += other.moves;
+      whiteWins += other.whiteWins;
+      blackWins += other.blackWins;
+      firstMoverWins += other.firstMoverWins;
+      draws += other.draws;
+      checksum += other.checksum;
+    }
+
+    /**
+     * Gets the count of played games.
+     * @return long games field.
+     */
+    public long getGames() {
+      return this.games;
+    }
+
+    /**
+     * Gets the played games per second.
+     * @return double games per second.
+     */
+    public double getGamesPerSecond() {
+      return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the average count of moves per game.
+     * @return double average game length.
+     */
+    public double getAverageGameLength() {
+      return games == 0 ? 0 : (double) moves / games;
+    }
+
+    /**
+     * Gets the rate of games won by an Alliance.
+     * @param alliance Alliance to get the win rate of.
+     * @return double win rate from 0 to 1.
+     */
+    public double getWinRate(final Alliance alliance) {
+      return games == 0 ? 0 :
+        (double) (alliance == Alliance.WHITE ? whiteWins : blackWins) / games;
+    }
+
+    /**
+     * Gets the rate of games won by the first move maker.
+     * @return double win rate from 0 to 1.
+     */
+    public double getFirstMoverWinRate() {
+      return games == 0 ? 0 : (double) firstMoverWins / games;
+    }
+
+    /**
+     * Gets the rate of drawn games.
+     * @return double draw rate from 0 to 1.
+     */
+    public double getDrawRate() {
+      return games == 0 ? 0 : (double) draws / games;
+    }
+
+    /**
+     * Gets the combined checksum of all games. Identical batches have
+     * identical checksums.
+     * @return long checksum field.
+     */
+    public long getChecksum() {
+      return this.checksum;
+    }
+
+    /**
+     * Gets the duration of the batch.
+     * @return long elapsedNanos field.
+     */
+    public long getElapsedNanos() {
+      return this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("Games: %d (%.1f games/s)\n" +
+                           "Average game length: %.1f moves\n" +
+                           "WHITE wins: %.2f%%, BLACK wins: %.2f%%, draws: %.2f%%\n" +
+                           "First move maker wins: %.2f%%\n" +
+                           "Checksum: %016x",
+                           games, getGamesPerSecond(), getAverageGameLength(),
+                           getWinRate(Alliance.WHITE) * 100, getWinRate(Alliance.BLACK) * 100,
+                           getDrawRate() * 100, getFirstMoverWinRate() * 100, checksum);
+    }
+  }
+
+}
@@ -0,0 +1,617 @@
+package game;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import engine.Alliance;
+import engine.Board;
+import engine.PositionNotation;
+import engine.RandomStreams;
+import engine.SetupGenerator;
+import engine.Board.BoardBuilder;
+import utils.BoardUtils;
+
+/**
+ * Genetic optimizer of the setup of one Alliance. A population of setups is
+ * evolved by tournament selection, crossover that keeps the legal count of
+ * each rank, and tile swap mutation. The fitness of a setup is its score
+ * against a fixed reference pool of random setups, from headless games played
+ * in parallel on a ForkJoinPool. See SelfPlayRunner.
+ *
+ * Every game and every genetic operator is seeded from the optimizer seed and
+ * the generation, so a run is reproducible on any thread count, and a run
+ * resumed from a checkpoint continues exactly as if it had never stopped.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class SetupOptimizer {
+
+  /** Default count of setups per generation */
+  public static final int DEFAULT_POPULATION_SIZE = 32;
+
+  /** Default count of reference setups to play against */
+  public static final int DEFAULT_REFERENCE_POOL_SIZE = 8;
+
+  /** Default count of games per setup per generation */
+  public static final int DEFAULT_GAMES_PER_SETUP = 16;
+
+  /** Default count of best setups carried over unchanged */
+  public static final int DEFAULT_ELITE_COUNT = 2;
+
+  /** Default count of setups drawn per tournament selection */
+  public static final int DEFAULT_TOURNAMENT_SIZE = 3;
+
+  /** Default probability of each tile swap mutation */
+  public static final double DEFAULT_MUTATION_RATE = 0.5;
+
+  /** Setup string symbol of an empty tile */
+  public static final char EMPTY_SYMBOL = '-';
+
+  /** Score of a won, drawn and lost game */
+  private static final byte WIN = 2;
+  private static final byte DRAW = 1;
+  private static final byte LOSE = 0;
+
+  /** Legal count of each rank within a setup. Indexed by rank ID */
+  private static final int[] RANK_COUNTS = createRankCounts();
+
+  /** Alliance of the optimized setups */
+  private final Alliance alliance;
+
+  /** Seed of the run */
+  private final long seed;
+
+  /** Runner that plays the games between the optimized and reference side */
+  private final SelfPlayRunner runner;
+
+  /** Current population. Sorted by descending fitness once evaluated */
+  private byte[][] population;
+
+  /** Fitness of each setup of the population */
+  private double[] fitness;
+
+  /** Reference pool of setups of the opponent */
+  private byte[][] referencePool;
+
+  /** Count of completed generations */
+  private int generation = 0;
+
+  private int populationSize = DEFAULT_POPULATION_SIZE;
+  private int referencePoolSize = DEFAULT_REFERENCE_POOL_SIZE;
+  private int gamesPerSetup = DEFAULT_GAMES_PER_SETUP;
+  private int eliteCount = DEFAULT_ELITE_COUNT;
+  private int tournamentSize = DEFAULT_TOURNAMENT_SIZE;
+  private double mutationRate = DEFAULT_MUTATION_RATE;
+  private int threadCount = Runtime.getRuntime().availableProcessors();
+
+  /** Checkpoint file path written after each generation. Null if disabled */
+  private String checkpointPath = null;
+
+  /**
+   * Constructor that takes in the optimized Alliance, the seed of the run and
+   * the policy factories of both sides.
+   * @param alliance Alliance of the optimized setups.
+   * @param seed seed of the run.
+   * @param setupPolicyFactory factory of the optimized side policy.
+   * @param referencePolicyFactory factory of the reference side policy.
+   */
+  public SetupOptimizer(final Alliance alliance, final long seed,
+                        final Supplier<MovePolicy> setupPolicyFactory,
+                        final Supplier<MovePolicy> referencePolicyFactory) {
+    this.alliance = alliance;
+    this.seed = seed;
+    this.runner = alliance == Alliance.WHITE ?
+      new SelfPlayRunner(setupPolicyFactory, referencePolicyFactory) :
+      new SelfPlayRunner(referencePolicyFactory, setupPolicyFactory);
+    this.runner.setSeed(seed);
+  }
+
+  /**
+   * Evolves the population for a count of generations, writing a checkpoint
+   * after each one if enabled.
+   * @param generations count of generations to evolve.
+   * @return boolean true if successful, else false if a checkpoint failed.
+   */
+  public boolean evolve(final int generations) {
+    final ForkJoinPool pool = new ForkJoinPool(threadCount);
+
+    try {
+      if (population == null)
+        initPopulation();
+      if (fitness == null)
+        evaluate(pool);
+
+      for (int i = 0; i < generations; i++) {
+        population = breed(new SplittableRandom(
+            RandomStreams.mix64(seed ^ RandomStreams.mix64(generation + 1))));
+        generation++;
+        evaluate(pool);
+
+        if (checkpointPath != null && !saveCheckpoint(checkpointPath))
+          return false;
+      }
+
+      return true;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Creates the initial population and the reference pool from the seed.
+   */
+  private void initPopulation() {
+    final SetupGenerator generator = new SetupGenerator(seed);
+
+    population = generator.setups(populationSize).toArray(byte[][]::new);
+    referencePool = new SetupGenerator(~seed).setups(referencePoolSize)
+      .toArray(byte[][]::new);
+    generation = 0;
+  }
+
+  /**
+   * Plays all games of the population in one parallel batch and sorts the
+   * population by descending fitness.
+   */
+  private void evaluate(final ForkJoinPool pool) {
+    final int gameCount = population.length * gamesPerSetup;
+    final byte[] scores = new byte[gameCount];
+    final long firstGameIndex = (long) generation << 32;
+
+    try {
+      pool.submit(() -> IntStream.range(0, gameCount).parallel().forEach(game -> {
+        final byte[] setup = population[game / gamesPerSetup];
+        // Consecutive games swap the first move maker against each reference.
+        final byte[] reference = referencePool[(game % gamesPerSetup / 2) % referencePool.length];
+        final Alliance winner = alliance == Alliance.WHITE ?
+          runner.playGame(firstGameIndex + game, setup, reference, null) :
+          runner.playGame(firstGameIndex + game, reference, setup, null);
+
+        scores[game] = winner == null ? DRAW : winner == alliance ? WIN : LOSE;
+      })).get();
+    } catch (final InterruptedException | ExecutionException e) {
+      throw new IllegalStateException("Setup evaluation failed", e);
+    }
+
+    final double[] setupFitness = new double[population.length];
+    for (int game = 0; game < gameCount; game++)
+      setupFitness[game / gamesPerSetup] += scores[game];
+    for (int i = 0; i < setupFitness.length; i++)
+      setupFitness[i] /= 2.0 * gamesPerSetup;
+
+    sortPopulation(setupFitness);
+  }
+
+  /**
+   * Sorts the population by descending fitness, keeping the previous order
+   * of ties.
+   */
+  private void sortPopulation(final double[] setupFitness) {
+    final Integer[] order = new Integer[population.length];
+    for (int i = 0; i < order.length; i++)
+      order[i] = i;
+    Arrays.sort(order, (a, b) -> Double.compare(setupFitness[b], setupFitness[a]));
+
+    final byte[][] sortedPopulation = new byte[population.length][];
+    fitness = new double[population.length];
+    for (int i = 0; i < order.length; i++) {
+      sortedPopulation[i] = population[order[i]];
+      fitness[i] = setupFitness[order[i]];
+    }
+    population = sortedPopulation;
+  }
+
+  /**
+   * Breeds the next population from the current sorted one.
+   */
+  private byte[][] breed(final SplittableRandom random) {
+    final byte[][] nextPopulation = new byte[populationSize][];
+    final int elites = Math.min(eliteCount, Math.min(populationSize, population.length));
+
+    for (int i = 0; i < elites; i++)
+      nextPopulation[i] = population[i].clone();
+
+    for (int i = elites; i < populationSize; i++) {
+      final byte[] child = crossover(select(random), select(random), random);
+
+      while (random.nextDouble() < mutationRate)
+        mutate(child, random);
+      nextPopulation[i] = child;
+    }
+
+    return nextPopulation;
+  }
+
+  /**
+   * Selects a setup by tournament. The population is sorted, so the smallest
+   * drawn index wins.
+   */
+  private byte[] select(final SplittableRandom random) {
+    int best = population.length;
+
+    for (int i = 0; i < tournamentSize; i++)
+      best = Math.min(best, random.nextInt(population.length));
+
+    return population[best];
+  }
+
+  /**
+   * Uniform crossover of two setups, repaired into a legal setup. Surplus
+   * pieces of a rank are removed and missing ones are placed on random empty
+   * tiles.
+   */
+  private static byte[] crossover(final byte[] first, final byte[] second,
+                                  final SplittableRandom random) {
+    final byte[] child = new byte[SetupGenerator.TERRITORY_TILES_COUNT];
+    final int[] counts = new int[BoardUtils.RANK_COUNT];
+
+    for (int i = 0; i < child.length; i++) {
+      child[i] = random.nextBoolean() ? first[i] : second[i];
+      if (child[i] != SetupGenerator.EMPTY)
+        counts[child[i]]++;
+    }
+
+    // Remove surplus pieces, starting from a random tile.
+    final int start = random.nextInt(child.length);
+    for (int i = 0; i < child.length; i++) {
+      final int tile = (start + i) % child.length;
+
+      if (child[tile] != SetupGenerator.EMPTY && counts[child[tile]] > RANK_COUNTS[child[tile]]) {
+        counts[child[tile]]--;
+        child[tile] = SetupGenerator.EMPTY;
+      }
+    }
+
+    // Place missing pieces on random empty tiles.
+    for (int rankId = 0; rankId < BoardUtils.RANK_COUNT; rankId++) {
+      while (counts[rankId] < RANK_COUNTS[rankId]) {
+        int tile = random.nextInt(child.length);
+        while (child[tile] != SetupGenerator.EMPTY)
+          tile = (tile + 1) % child.length;
+
+        child[tile] = (byte) rankId;
+        counts[rankId]++;
+      }
+    }
+
+    return child;
+  }
+
+  /**
+   * Swaps the content of two random tiles of a setup.
+   */
+  private static void mutate(final byte[] setup, final SplittableRandom random) {
+    final int first = random.nextInt(setup.length);
+    final int second = random.nextInt(setup.length);
+    final byte rankId = setup[first];
+
+    setup[first] = setup[second];
+    setup[second] = rankId;
+  }
+
+  /**
+   * Saves the run state into a checkpoint file. The state is written into a
+   * temporary file first and then moved over the checkpoint, so an
+   * interrupted save keeps the previous checkpoint intact.
+   * @param path checkpoint file path.
+   * @return boolean true if successful, else false.
+   */
+  public boolean saveCheckpoint(final String path) {
+    if (population == null || fitness == null)
+      return false;
+
+    final File tempFile = new File(path + ".tmp");
+
+    try {
+      try (PrintWriter pWriter = new PrintWriter(new FileWriter(tempFile))) {
+        pWriter.println("SetupOptimizer=" + alliance + ";" +
+                        "seed=" + seed + ";" +
+                        "generation=" + generation + ";");
+        for (final byte[] reference : referencePool)
+          pWriter.println("reference=" + toSetupString(reference) + ";");
+        for (int i = 0; i < population.length; i++)
+          pWriter.println("setup=" + toSetupString(population[i]) + ";" +
+                          "fitness=" + fitness[i] + ";");
+
+        if (pWriter.checkError())
+          throw new IOException("write unsuccessful");
+      }
+
+      Files.move(tempFile.toPath(), new File(path).toPath(),
+                 StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      return true;
+    } catch (final IOException e) {
+      tempFile.delete();
+      System.out.println("Checkpoint error: save unsuccessful.\npath: " + path);
+      return false;
+    }
+  }
+
+  /**
+   * Loads the run state from a checkpoint file of the same Alliance and seed.
+   * @param path checkpoint file path.
+   * @return boolean true if successful, else false.
+   */
+  public boolean loadCheckpoint(final String path) {
+    byte[][] loadedReferences = new byte[0][];
+    byte[][] loadedPopulation = new byte[0][];
+    double[] loadedFitness = new double[0];
+    int loadedGeneration = -1;
+
+    try {
+      final Scanner scan = new Scanner(new File(path));
+
+      while (scan.hasNextLine()) {
+        final String line = scan.nextLine();
+
+        if (line.startsWith("SetupOptimizer=")) {
+          // Checkpoint of another run.
+          if (!getField(line, "SetupOptimizer").equals(alliance.toString()) ||
+              !getField(line, "seed").equals(Long.toString(seed))) {
+            scan.close();
+            return false;
+          }
+          loadedGeneration = Integer.parseInt(getField(line, "generation"));
+        } else if (line.startsWith("reference=")) {
+          final byte[] reference = parseSetupString(getField(line, "reference"));
+          if (reference == null) {
+            scan.close();
+            return false;
+          }
+          loadedReferences = Arrays.copyOf(loadedReferences, loadedReferences.length + 1);
+          loadedReferences[loadedReferences.length - 1] = reference;
+        } else if (line.startsWith("setup=")) {
+          final byte[] setup = parseSetupString(getField(line, "setup"));
+          if (setup == null) {
+            scan.close();
+            return false;
+          }
+          loadedPopulation = Arrays.copyOf(loadedPopulation, loadedPopulation.length + 1);
+          loadedPopulation[loadedPopulation.length - 1] = setup;
+          loadedFitness = Arrays.copyOf(loadedFitness, loadedFitness.length + 1);
+          loadedFitness[loadedFitness.length - 1] = Double.parseDouble(getField(line, "fitness"));
+        }
+      }
+      scan.close();
+    } catch (final FileNotFoundException e) {
+      System.out.println("Checkpoint error: checkpoint not found");
+      return false;
+    } catch (final NumberFormatException e) {
+      return false;
+    }
+
+    if (loadedGeneration < 0 || loadedReferences.length == 0 || loadedPopulation.length == 0)
+      return false;
+
+    this.generation = loadedGeneration;
+    this.referencePool = loadedReferences;
+    this.population = loadedPopulation;
+    this.fitness = loadedFitness;
+    return true;
+  }
+
+  /**
+   * Gets the value of a "key=value;" field of a checkpoint line.
+   */
+  private static String getField(final String line, final String key) {
+    final int start = line.indexOf(key + "=");
+
+    if (start < 0)
+      return "";
+
+    final int end = line.indexOf(';', start);
+    return line.substring(start + key.length() + 1, end < 0 ? line.length() : end);
+  }
+
+  /**
+   * Gets the string of a setup, one rank symbol per territory tile or
+   * EMPTY_SYMBOL. See PositionNotation.RANK_SYMBOLS.
+   * @param setup setup to convert.
+   * @return String setup string.
+   */
+  public static String toSetupString(final byte[] setup) {
+    final StringBuilder setupString = new StringBuilder(setup.length);
+
+    for (final byte rankId : setup)
+      setupString.append(rankId == SetupGenerator.EMPTY ?
+                         EMPTY_SYMBOL : PositionNotation.RANK_SYMBOLS.charAt(rankId));
+
+    return setupString.toString();
+  }
+
+  /**
+   * Parses a setup string into a setup.
+   * @param setupString setup string. See toSetupString().
+   * @return byte[] setup, else null if malformed or not a legal setup.
+   */
+  public static byte[] parseSetupString(final String setupString) {
+    if (setupString.length() != SetupGenerator.TERRITORY_TILES_COUNT)
+      return null;
+
+    final byte[] setup = new byte[SetupGenerator.TERRITORY_TILES_COUNT];
+    final int[] counts = new int[BoardUtils.RANK_COUNT];
+
+    for (int i = 0; i < setup.length; i++) {
+      final char symbol = setupString.charAt(i);
+
+      if (symbol == EMPTY_SYMBOL) {
+        setup[i] = SetupGenerator.EMPTY;
+        continue;
+      }
+
+      final int rankId = PositionNotation.RANK_SYMBOLS.indexOf(symbol);
+      if (rankId < 0)
+        return null;
+      setup[i] = (byte) rankId;
+      counts[rankId]++;
+    }
+
+    return Arrays.equals(counts, RANK_COUNTS) ? setup : null;
+  }
+
+  /**
+   * Creates a BoardBuilder configured with one of the best setups.
+   * @param board Board of the builder.
+   * @param index index of the setup from 0 for the best.
+   * @return BoardBuilder with the optimized Alliance pieces configured.
+   */
+  public BoardBuilder createBoardBuilder(final Board board, final int index) {
+    return new BoardBuilder(board).createSetupBuild(alliance, getBestSetups(index + 1)[index]);
+  }
+
+  /**
+   * Gets the best setups of the current population.
+   * @param count maximum count of setups.
+   * @return byte[][] copies of the setups by descending fitness.
+   */
+  public byte[][] getBestSetups(final int count) {
+    final byte[][] bestSetups = new byte[Math.min(count, population.length)][];
+
+    for (int i = 0; i < bestSetups.length; i++)
+      bestSetups[i] = population[i].clone();
+
+    return bestSetups;
+  }
+
+  /**
+   * Gets the best setup of the current population.
+   * @return byte[] copy of the setup.
+   */
+  public byte[] getBestSetup() {
+    return population[0].clone();
+  }
+
+  /**
+   * Gets the fitness of the best setup of the current population.
+   * @return double fraction of the score of the best setup.
+   */
+  public double getBestFitness() {
+    return fitness[0];
+  }
+
+  /**
+   * Gets the average fitness of the current population.
+   * @return double average fraction of the score.
+   */
+  public double getAverageFitness() {
+    return Arrays.stream(fitness).average().orElse(0.0);
+  }
+
+  /**
+   * Gets the count of completed generations.
+   * @return int generation field.
+   */
+  public int getGeneration() {
+    return this.generation;
+  }
+
+  /**
+   * Gets the Alliance of the optimized setups.
+   * @return Alliance alliance field.
+   */
+  public Alliance getAlliance() {
+    return this.alliance;
+  }
+
+  /**
+   * Sets the count of setups per generation. Takes effect on the next
+   * generation.
+   * @param populationSize count of setups, at least two.
+   */
+  public void setPopulationSize(final int populationSize) {
+    this.populationSize = Math.max(2, populationSize);
+  }
+
+  /**
+   * Sets the count of reference setups. Only takes effect before the first
+   * generation.
+   * @param referencePoolSize count of setups, at least one.
+   */
+  public void setReferencePoolSize(final int referencePoolSize) {
+    this.referencePoolSize = Math.max(1, referencePoolSize);
+  }
+
+  /**
+   * Sets the count of games per setup per generation.
+   * @param gamesPerSetup count of games, at least one.
+   */
+  public void setGamesPerSetup(final int gamesPerSetup) {
+    this.gamesPerSetup = Math.max(1, gamesPerSetup);
+  }
+
+  /**
+   * Sets the count of best setups carried over unchanged.
+   * @param eliteCount count of setups.
+   */
+  public void setEliteCount(final int eliteCount) {
+    this.eliteCount = Math.max(0, eliteCount);
+  }
+
+  /**
+   * Sets the count of setups drawn per tournament selection.
+   * @param tournamentSize count of setups, at least one.
+   */
+  public void setTournamentSize(final int tournamentSize) {
+    this.tournamentSize = Math.max(1, tournamentSize);
+  }
+
+  /**
+   * Sets the probability of each successive tile swap mutation of a child.
+   * @param mutationRate probability from 0 to below 1.
+   */
+  public void setMutationRate(final double mutationRate) {
+    this.mutationRate = Math.max(0.0, Math.min(0.99, mutationRate));
+  }
+
+  /**
+   * Sets the count of worker threads.
+   * @param threadCount count of threads, at least one.
+   */
+  public void setThreadCount(final int threadCount) {
+    this.threadCount = Math.max(1, threadCount);
+  }
+
+  /**
+   * Sets the maximum count of moves per game.
+   * @param maxMoves count of moves.
+   */
+  public void setMaxMoves(final int maxMoves) {
+    runner.setMaxMoves(maxMoves);
+  }
+
+  /**
+   * Sets the checkpoint file written after each generation.
+   * @param checkpointPath file path, else null to disable.
+   */
+  public void setCheckpointPath(final String checkpointPath) {
+    this.checkpointPath = checkpointPath;
+  }
+
+  /**
+   * Creates the legal count of each rank within a setup.
+   */
+  private static int[] createRankCounts() {
+    final int[] rankCounts = new int[BoardUtils.RANK_COUNT];
+    final byte[] setup = new SetupGenerator(0L).nextSetup();
+
+    for (final byte rankId : setup)
+      if (rankId != SetupGenerator.EMPTY)
+        rankCounts[rankId]++;
+
+    return rankCounts;
+  }
+
+}
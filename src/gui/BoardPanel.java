@@ -32,6 +32,8 @@ import javax.swing.border.EmptyBorder;
 
 import engine.Alliance;
 import engine.Board;
+import engine.BoardListener;
+import engine.LegalMoveCache;
 import engine.Move;
 import engine.Board.Tile;
 import engine.pieces.Piece;
@@ -44,7 +46,7 @@ import utils.BoardUtils;
  * Author: Mark Lucernas
  * Date: 2020-05-16
  */
-public class BoardPanel extends JPanel {
+public class BoardPanel extends JPanel implements BoardListener {
 
   /** Reference to the Board engine */
   private static Board gameStateBoard;
@@ -152,6 +154,32 @@ public class BoardPanel extends JPanel {
     startGameBtn.setVisible(false);
   }
 
+  @Override
+  public void onGameInitialized(final Board board) {
+    arrangeMode();
+  }
+
+  @Override
+  public void onGameStarted(final Board board) {
+    startMode();
+  }
+
+  @Override
+  public void onGameRestarted(final Board board) {
+    arrangeMode();
+  }
+
+  @Override
+  public void onMoveMade(final Board board, final int move, final int sourcePieceCode,
+                         final int targetPieceCode, final int engagement) {
+    // Repainted by the mouse handlers and menu bar buttons.
+  }
+
+  @Override
+  public void onMoveUnmade(final Board board, final int move) {
+    // Repainted by the mouse handlers and menu bar buttons.
+  }
+
   /**
    * Gets black player name JLabel
    * @return JLabel playerBlackNameLbl field.
@@ -580,9 +608,6 @@ public class BoardPanel extends JPanel {
     /** List of all candidate move tiles of active piece tile. */
     private final List<Integer> candidateMoveTiles;
 
-    /** HashMap of all current active piece Moves. */
-    private Map<String, Move> currentPieceMoves;
-
     /** HasMap of all pre-loaded black pieces icons. */
     private Map<String, Image> blackPieceIcons;
     private Map<String, Image> whitePieceIcons;
@@ -640,19 +665,24 @@ public class BoardPanel extends JPanel {
       final Tile sourceTile = gameStateBoard.getTile(tileId);
 
       if (sourceTile.isTileOccupied()) {
-        currentPieceMoves = sourceTile.getPiece().evaluateMoves(gameStateBoard);
+        final LegalMoveCache legalMoveCache = gameStateBoard.getLegalMoveCache();
+
+        // Look up cached move kinds instead of evaluating the piece moves.
+        for (int direction = 0; direction < BoardUtils.DIRECTION_COUNT; direction++) {
+          final int destinationCoords = BoardUtils.getAdjacentTile(tileId, direction);
+
+          if (destinationCoords == -1)
+            continue;
 
-        for (final Map.Entry<String, Move> entry : currentPieceMoves.entrySet()) {
-          final int destinationCoords = entry.getValue().getDestinationCoords();
+          final int moveKind = legalMoveCache.getMoveKindInDirection(tileId, direction);
 
-          if (entry.getValue().getMoveType() == "aggressive" ||
-              entry.getValue().getMoveType() == "draw") {
+          if (moveKind == Move.AGGRESSIVE_MOVE || moveKind == Move.DRAW_MOVE) {
             boardTiles.get(destinationCoords).setBackground(ENEMY_TILE_COLOR);
 
-          } else if (entry.getValue().getMoveType() == "normal") {
+          } else if (moveKind == Move.NORMAL_MOVE) {
             boardTiles.get(destinationCoords).setBackground(VALID_TILE_COLOR);
 
-          } else if (entry.getValue().getMoveType() == "invalid") {
+          } else {
             boardTiles.get(destinationCoords).setBackground(INVALID_TILE_COLOR);
           }
           // Sets highlighted tile as candidate move tile.
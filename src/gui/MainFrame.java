@@ -129,8 +129,8 @@ public class MainFrame {
       @Override
       public void actionPerformed(ActionEvent e) {
         // Initialize game and load BoardPanel.
+        createBoardPanel();
         gameStateBoard.initGame();
-        boardPanel = gameStateBoard.getBoardPanel();
         boardPanel.initBoardPanel();
 
         // Fetch and add listeners to all BoardPanel buttons.
@@ -349,6 +349,18 @@ public class MainFrame {
     mainMenuQuitBtn = mainMenuPanel.getQuitBtn();
   }
 
+  /**
+   * Creates a new BoardPanel and registers it as the Board engine listener in
+   * place of the previous one.
+   */
+  private void createBoardPanel() {
+    if (boardPanel != null)
+      gameStateBoard.removeBoardListener(boardPanel);
+
+    boardPanel = new BoardPanel(gameStateBoard);
+    gameStateBoard.addBoardListener(boardPanel);
+  }
+
   /**
    * Fetch all BoardPanel inner MenuBarPanel buttons.
    * @param boardPanel the BoardPanel instance.
@@ -435,11 +447,11 @@ public class MainFrame {
 
         // TODO: reimplement to be able to pass into Board as argument.
         // Load selected saved game.
-        new Load(gameStateBoard, loadSelected).loadSaveGame();
+        createBoardPanel();
+        new Load(gameStateBoard, boardPanel, loadSelected).loadSaveGame();
         mainMenuLoadDialog.setVisible(false);
 
         // Initialize board panel.
-        boardPanel = gameStateBoard.getBoardPanel();
         boardPanel.initBoardPanel();
 
         // Fetch BoardPanel menu bar buttons and add listeners
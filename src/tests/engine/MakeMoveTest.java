@@ -0,0 +1,57 @@
+package tests.engine;
+
+import java.util.Random;
+
+import engine.Alliance;
+import engine.Board;
+import engine.MoveGenerator;
+import engine.player.Player;
+
+/**
+ * Plays random moves with Board.makeMove() then reverses all of them with
+ * Board.unmakeMove() and checks that the starting position is restored.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class MakeMoveTest {
+  private static final Board board = new Board();
+  private static final Player playerBlack = new Player(Alliance.BLACK);
+  private static final Player playerWhite = new Player(Alliance.WHITE);
+
+  public static void main(String[] args) {
+    board.setPlayerWhite(playerWhite);
+    board.setPlayerBlack(playerBlack);
+    board.buildBoard();
+    playerWhite.initPlayer();
+    playerBlack.initPlayer();
+    board.setMoveMaker(playerWhite);
+
+    makeUnmakeMoveTest();
+  }
+
+  private static void makeUnmakeMoveTest() {
+    final String initBoard = board.toString();
+    final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    final Random random = new Random(0);
+    int movesMade = 0;
+
+    while (!board.isEndGame() && movesMade < 100) {
+      final int movesCount =
+        MoveGenerator.generateMoves(board.getBitBoard(), board.getMoveMaker(), moves);
+
+      if (movesCount == 0 || !board.makeMove(moves[random.nextInt(movesCount)]))
+        break;
+      movesMade++;
+    }
+
+    while (board.unmakeMove())
+      movesMade--;
+
+    if (movesMade == 0 && initBoard.equals(board.toString()) &&
+        !board.isEndGame() && board.getMoveMaker() == Alliance.WHITE)
+      System.out.println("makeUnmakeMoveTest PASSED");
+    else
+      System.out.println("makeUnmakeMoveTest FAILED");
+  }
+}
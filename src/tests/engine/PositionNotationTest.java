@@ -0,0 +1,66 @@
+package tests.engine;
+
+import engine.Alliance;
+import engine.Board;
+import engine.PositionNotation;
+import engine.player.Player;
+
+/**
+ * Prints a random build position into PositionNotation, loads it back into
+ * another Board and checks that both positions are the same.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class PositionNotationTest {
+  private static final Board board = new Board();
+  private static final Board loadedBoard = new Board();
+
+  public static void main(String[] args) {
+    board.setPlayerWhite(new Player(Alliance.WHITE));
+    board.setPlayerBlack(new Player(Alliance.BLACK));
+    board.buildBoard();
+    board.setCurrentTurn(1);
+
+    loadedBoard.setPlayerWhite(new Player(Alliance.WHITE));
+    loadedBoard.setPlayerBlack(new Player(Alliance.BLACK));
+
+    roundTripTest();
+    malformedNotationTest();
+  }
+
+  private static void roundTripTest() {
+    board.setPieceRevealed(board.getBitBoard().findPiece(Alliance.WHITE, 0), true);
+    final String notation = board.getPositionNotation();
+
+    System.out.println(notation);
+
+    if (loadedBoard.loadPosition(notation) &&
+        notation.equals(loadedBoard.getPositionNotation()) &&
+        board.getZobristKey() == loadedBoard.getZobristKey())
+      System.out.println("roundTripTest PASSED");
+    else
+      System.out.println("roundTripTest FAILED");
+  }
+
+  private static void malformedNotationTest() {
+    final String[] notations = {
+      "9/9/9/9/9/9/9 w 1 0",
+      "9/9/9/9/9/9/9/8 w 1 0",
+      "X8/9/9/9/9/9/9/9 w 1 0",
+      "9/9/9/9/9/9/9/9 w"
+    };
+
+    for (final String notation : notations) {
+      if (loadedBoard.loadPosition(notation)) {
+        System.out.println("malformedNotationTest FAILED " + notation);
+        return;
+      }
+    }
+
+    if (PositionNotation.parseMoveMaker("9/9/9/9/9/9/9/9 b 1 0") == Alliance.BLACK)
+      System.out.println("malformedNotationTest PASSED");
+    else
+      System.out.println("malformedNotationTest FAILED");
+  }
+}
@@ -0,0 +1,150 @@
+package tests.engine;
+
+import java.io.File;
+import java.util.SplittableRandom;
+
+import engine.Alliance;
+import engine.BitBoard;
+import engine.MoveGenerator;
+import engine.PositionNotation;
+import engine.ai.SearchPosition;
+import engine.ai.Tablebase;
+import engine.ai.TablebaseGenerator;
+import utils.BoardUtils;
+
+/**
+ * Generates the tables of up to two pieces besides both Flags, then checks
+ * the probed values of random positions against a brute force search.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class TablebaseTest {
+  private static final String DIRECTORY =
+    System.getProperty("java.io.tmpdir") + File.separator + "tablebase-test";
+
+  /** Longest win or loss distance checked by the brute force search */
+  private static final int MAX_CHECKED_DISTANCE = 5;
+
+  private static final int POSITION_COUNT = 1000;
+  private static final int WIN_SCORE = 1000;
+
+  public static void main(String[] args) {
+    final File directory = new File(DIRECTORY);
+    directory.mkdirs();
+    for (final File file : directory.listFiles())
+      file.delete();
+
+    final TablebaseGenerator generator = new TablebaseGenerator(DIRECTORY);
+    final Tablebase tablebase = new Tablebase();
+
+    if (!generator.generate("Kp") || !tablebase.load(DIRECTORY) ||
+        tablebase.getTableCount() != 4) {
+      System.out.println("generateTest FAILED");
+      return;
+    }
+    System.out.println("generateTest PASSED");
+
+    bruteForceTest(tablebase, "");
+    bruteForceTest(tablebase, "K");
+    bruteForceTest(tablebase, "p");
+    bruteForceTest(tablebase, "Kp");
+  }
+
+  private static void bruteForceTest(final Tablebase tablebase, final String pieces) {
+    final SplittableRandom random = new SplittableRandom(pieces.hashCode());
+    final SearchPosition position = new SearchPosition();
+
+    for (int i = 0; i < POSITION_COUNT; i++) {
+      final BitBoard bitBoard = createRandomPosition(random, pieces);
+      final Alliance moveMaker = random.nextBoolean() ? Alliance.WHITE : Alliance.BLACK;
+      final int value = tablebase.probe(bitBoard, moveMaker);
+
+      position.load(bitBoard, moveMaker);
+      if (value == Tablebase.NOT_FOUND) {
+        System.out.println("bruteForceTest FAILED " + pieces + " not found");
+        return;
+      }
+
+      final int distance = value == Tablebase.DRAW ? Integer.MAX_VALUE :
+        Tablebase.getDistance(value);
+      final int score;
+      final int expectedScore;
+
+      // Results are exact within reach, else none must be found sooner.
+      if (distance <= MAX_CHECKED_DISTANCE) {
+        score = negamax(position, distance + 1, 0);
+        expectedScore = Tablebase.isWin(value) ? WIN_SCORE - distance : -WIN_SCORE + distance;
+      } else {
+        score = Math.abs(negamax(position, MAX_CHECKED_DISTANCE, 0)) < WIN_SCORE / 2 ? 0 : 1;
+        expectedScore = 0;
+      }
+
+      if (score != expectedScore) {
+        System.out.println("bruteForceTest FAILED " + pieces + " value " + value +
+                           " score " + score);
+        return;
+      }
+    }
+
+    System.out.println("bruteForceTest PASSED " + pieces);
+  }
+
+  /**
+   * Places both Flags off their winning row and the pieces on random empty
+   * tiles. Uppercase symbols are WHITE pieces, lowercase BLACK.
+   */
+  private static BitBoard createRandomPosition(final SplittableRandom random,
+                                               final String pieces) {
+    final BitBoard bitBoard = new BitBoard();
+
+    placePiece(bitBoard, random, Alliance.WHITE, BoardUtils.FLAG_RANK_ID,
+               BoardUtils.SECOND_ROW_INIT, BoardUtils.ALL_TILES_COUNT);
+    placePiece(bitBoard, random, Alliance.BLACK, BoardUtils.FLAG_RANK_ID,
+               0, BoardUtils.LAST_ROW_INIT);
+    for (final char symbol : pieces.toCharArray())
+      placePiece(bitBoard, random,
+                 Character.isUpperCase(symbol) ? Alliance.WHITE : Alliance.BLACK,
+                 PositionNotation.RANK_SYMBOLS.indexOf(Character.toUpperCase(symbol)),
+                 0, BoardUtils.ALL_TILES_COUNT);
+
+    return bitBoard;
+  }
+
+  private static void placePiece(final BitBoard bitBoard, final SplittableRandom random,
+                                 final Alliance alliance, final int rankId,
+                                 final int from, final int to) {
+    int tileId;
+
+    do {
+      tileId = random.nextInt(from, to);
+    } while (bitBoard.isTileOccupied(tileId));
+
+    bitBoard.setPiece(tileId, alliance, rankId);
+  }
+
+  /**
+   * Searches every move to a depth. Scores are from the point of view of the
+   * move maker, WIN_SCORE less the plies to a win, else 0.
+   */
+  private static int negamax(final SearchPosition position, final int depth, final int ply) {
+    if (position.isEndGame())
+      return position.getWinner() == position.getMoveMaker() ? WIN_SCORE - ply : -WIN_SCORE + ply;
+
+    final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    final int moveCount = position.generateMoves(moves);
+    if (moveCount == 0)
+      return -WIN_SCORE + ply;
+    if (depth == 0)
+      return 0;
+
+    int bestScore = -WIN_SCORE;
+    for (int i = 0; i < moveCount; i++) {
+      position.makeMove(moves[i]);
+      bestScore = Math.max(bestScore, -negamax(position, depth - 1, ply + 1));
+      position.unmakeMove();
+    }
+
+    return bestScore;
+  }
+}
@@ -0,0 +1,107 @@
+package tests.engine;
+
+import engine.ai.Search;
+import engine.ai.TranspositionTable;
+
+/**
+ * Stores entries into a single bucket TranspositionTable and checks which
+ * entries each replacement policy keeps.
+ *
+ * Author: Mark Lucernas
+ * Date: 2026-10-17
+ */
+public class TranspositionTableTest {
+
+  public static void main(String[] args) {
+    replaceAlwaysTest();
+    replaceDepthTest();
+    replaceAgedDepthTest();
+  }
+
+  private static void replaceAlwaysTest() {
+    final TranspositionTable table = new TranspositionTable(0, TranspositionTable.REPLACE_ALWAYS);
+
+    for (long key = 1; key <= TranspositionTable.BUCKET_SIZE; key++)
+      store(table, key, 10);
+    store(table, 5, 1);
+
+    if (table.probe(5) != TranspositionTable.NO_ENTRY &&
+        countFound(table, 1, TranspositionTable.BUCKET_SIZE) == TranspositionTable.BUCKET_SIZE - 1)
+      System.out.println("replaceAlwaysTest PASSED");
+    else
+      System.out.println("replaceAlwaysTest FAILED");
+  }
+
+  private static void replaceDepthTest() {
+    final TranspositionTable table = new TranspositionTable(0, TranspositionTable.REPLACE_DEPTH);
+
+    // A shallow entry takes an empty entry next to a deeper one.
+    store(table, 1, 10);
+    store(table, 2, 3);
+    final boolean isEmptyUsed = table.probe(2) != TranspositionTable.NO_ENTRY;
+
+    // A shallower entry of the same position keeps the deeper one.
+    store(table, 1, 4);
+    final boolean isDeeperKept = getDepth(table, 1) == 10;
+    store(table, 1, 12);
+    final boolean isDeeperStored = getDepth(table, 1) == 12;
+
+    // A full bucket rejects an entry shallower than all, else evicts the shallowest.
+    store(table, 3, 5);
+    store(table, 4, 5);
+    store(table, 5, 2);
+    final boolean isShallowRejected = table.probe(5) == TranspositionTable.NO_ENTRY;
+    store(table, 6, 7);
+    final boolean isShallowestEvicted = table.probe(6) != TranspositionTable.NO_ENTRY &&
+      table.probe(2) == TranspositionTable.NO_ENTRY && countFound(table, 1, 4) == 3;
+
+    if (isEmptyUsed && isDeeperKept && isDeeperStored && isShallowRejected &&
+        isShallowestEvicted)
+      System.out.println("replaceDepthTest PASSED");
+    else
+      System.out.println("replaceDepthTest FAILED");
+  }
+
+  private static void replaceAgedDepthTest() {
+    final TranspositionTable table = new TranspositionTable(0);
+
+    // A deep entry of an old search is worth less than shallow current ones.
+    store(table, 1, 8);
+    for (int i = 0; i < 3; i++)
+      table.newSearch();
+    store(table, 2, 2);
+    store(table, 3, 2);
+    store(table, 4, 2);
+    store(table, 5, 1);
+    final boolean isOldEvicted = table.probe(5) != TranspositionTable.NO_ENTRY &&
+      table.probe(1) == TranspositionTable.NO_ENTRY && countFound(table, 2, 4) == 3;
+
+    // Within a search, the shallowest entry is evicted, even by a shallower one.
+    store(table, 6, 1);
+    final boolean isShallowestEvicted = table.probe(6) != TranspositionTable.NO_ENTRY &&
+      table.probe(5) == TranspositionTable.NO_ENTRY && countFound(table, 2, 4) == 3;
+
+    if (isOldEvicted && isShallowestEvicted)
+      System.out.println("replaceAgedDepthTest PASSED");
+    else
+      System.out.println("replaceAgedDepthTest FAILED");
+  }
+
+  private static void store(final TranspositionTable table, final long key, final int depth) {
+    table.store(key, depth, TranspositionTable.EXACT, (int) key, Search.NO_MOVE);
+  }
+
+  private static int getDepth(final TranspositionTable table, final long key) {
+    return TranspositionTable.getDepth(table.probe(key));
+  }
+
+  private static int countFound(final TranspositionTable table, final long from, final long to) {
+    int found = 0;
+
+    for (long key = from; key <= to; key++)
+      if (table.probe(key) != TranspositionTable.NO_ENTRY)
+        found++;
+
+    return found;
+  }
+}
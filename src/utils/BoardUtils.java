@@ -62,6 +62,46 @@ public class BoardUtils {
   public static final String FLAG_RANK = "Flag";
   public static final String SPY_RANK = "Spy";
 
+  /** Pieces rank IDs ordered by power level. Used by packed board bitsets */
+  public static final int FLAG_RANK_ID = 0;
+  public static final int PRIVATE_RANK_ID = 1;
+  public static final int SERGEANT_RANK_ID = 2;
+  public static final int LT_TWO_RANK_ID = 3;
+  public static final int LT_ONE_RANK_ID = 4;
+  public static final int CAPTAIN_RANK_ID = 5;
+  public static final int MAJOR_RANK_ID = 6;
+  public static final int LT_COLONEL_RANK_ID = 7;
+  public static final int COLONEL_RANK_ID = 8;
+  public static final int GENERAL_ONE_RANK_ID = 9;
+  public static final int GENERAL_TWO_RANK_ID = 10;
+  public static final int GENERAL_THREE_RANK_ID = 11;
+  public static final int GENERAL_FOUR_RANK_ID = 12;
+  public static final int GENERAL_FIVE_RANK_ID = 13;
+  public static final int SPY_RANK_ID = 14;
+
+  /** Count of all distinct piece ranks */
+  public static final int RANK_COUNT = 15;
+
+  /** Count of all distinct alliances */
+  public static final int ALLIANCE_COUNT = 2;
+
+  /**
+   * Material value of each rank indexed by rank ID. Follows the power level,
+   * except the Flag which is priceless and counted as 0, and the Spy which is
+   * valued as a GeneralTwo.
+   */
+  private static final int[] RANK_VALUES = {
+    0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 10
+  };
+
+  /** Pieces ranks indexed by their rank ID */
+  public static final String[] RANKS = {
+    FLAG_RANK, PRIVATE_RANK, SERGEANT_RANK, LT_TWO_RANK, LT_ONE_RANK,
+    CAPTAIN_RANK, MAJOR_RANK, LT_COLONEL_RANK, COLONEL_RANK, GENERAL_ONE_RANK,
+    GENERAL_TWO_RANK, GENERAL_THREE_RANK, GENERAL_FOUR_RANK, GENERAL_FIVE_RANK,
+    SPY_RANK
+  };
+
   /** First tile index of the first board row */
   public static final int FIRST_ROW_INIT = 0;
 
@@ -74,6 +114,62 @@ public class BoardUtils {
   /** First tile index of the second to las board row */
   public static final int SECOND_TO_LAST_ROW_INIT = LAST_ROW_INIT - TILE_COLUMN_COUNT;
 
+  /** Piece move directions */
+  public static final int UP = 0;
+  public static final int DOWN = 1;
+  public static final int LEFT = 2;
+  public static final int RIGHT = 3;
+
+  /** Count of all piece move directions */
+  public static final int DIRECTION_COUNT = 4;
+
+  /** Piece move direction names indexed by direction */
+  public static final String[] DIRECTIONS = {"up", "down", "left", "right"};
+
+  /** Number of longs that makes up a single all tiles bitmask */
+  public static final int MASK_WORDS = 2;
+
+  /** Adjacent tile of each tile in each direction, -1 if off the board. Indexed by [tileId][direction] */
+  private static final int[] ADJACENT_TILES = new int[ALL_TILES_COUNT * DIRECTION_COUNT];
+
+  /** All on board adjacent tiles of each tile ordered by direction. Indexed by [tileId] */
+  private static final int[][] NEIGHBOURS = new int[ALL_TILES_COUNT][];
+
+  /** Bitmask of the adjacent tiles of each tile. Indexed by [tileId][word] */
+  private static final long[] NEIGHBOUR_MASKS = new long[ALL_TILES_COUNT * MASK_WORDS];
+
+  static {
+    for (int tileId = 0; tileId < ALL_TILES_COUNT; tileId++) {
+      final int column = tileId % TILE_COLUMN_COUNT;
+      final int offset = tileId * DIRECTION_COUNT;
+      int neighbourCount = 0;
+
+      ADJACENT_TILES[offset + UP] =
+        tileId >= SECOND_ROW_INIT ? tileId - TILE_COLUMN_COUNT : -1;
+      ADJACENT_TILES[offset + DOWN] =
+        tileId < LAST_ROW_INIT ? tileId + TILE_COLUMN_COUNT : -1;
+      ADJACENT_TILES[offset + LEFT] = column != 0 ? tileId - 1 : -1;
+      ADJACENT_TILES[offset + RIGHT] = column != TILE_COLUMN_COUNT - 1 ? tileId + 1 : -1;
+
+      for (int direction = 0; direction < DIRECTION_COUNT; direction++)
+        if (ADJACENT_TILES[offset + direction] != -1)
+          neighbourCount++;
+
+      NEIGHBOURS[tileId] = new int[neighbourCount];
+      neighbourCount = 0;
+
+      for (int direction = 0; direction < DIRECTION_COUNT; direction++) {
+        final int neighbour = ADJACENT_TILES[offset + direction];
+
+        if (neighbour == -1)
+          continue;
+
+        NEIGHBOURS[tileId][neighbourCount++] = neighbour;
+        NEIGHBOUR_MASKS[tileId * MASK_WORDS + (neighbour >>> 6)] |= 1L << (neighbour & 63);
+      }
+    }
+  }
+
   /**
    * Creates Piece instance of the passed in piece rank and alliance.
    * @param pieceRankName name or rank of the piece to be created.
@@ -122,6 +218,70 @@ public class BoardUtils {
     return piece;
   }
 
+  /**
+   * Gets the rank ID of a piece based on its power level. Power levels are
+   * consecutive from Flag to GeneralFive, with the exception of the Spy.
+   * @param powerLevel power level of the piece.
+   * @return int rank ID from FLAG_RANK_ID to SPY_RANK_ID.
+   */
+  public static int getRankId(final int powerLevel) {
+    if (powerLevel > GENERAL_FIVE_RANK_ID + 1)
+      return SPY_RANK_ID;
+
+    return powerLevel - 1;
+  }
+
+  /**
+   * Gets the material value of a rank.
+   * @param rankId rank ID of the piece.
+   * @return int material value.
+   */
+  public static int getRankValue(final int rankId) {
+    return RANK_VALUES[rankId];
+  }
+
+  /**
+   * Gets the adjacent tile of a tile in a direction.
+   * @param tileId tile id.
+   * @param direction UP, DOWN, LEFT or RIGHT.
+   * @return int adjacent tile id, else -1 if off the board.
+   */
+  public static int getAdjacentTile(final int tileId, final int direction) {
+    return ADJACENT_TILES[tileId * DIRECTION_COUNT + direction];
+  }
+
+  /**
+   * Gets all on board adjacent tiles of a tile ordered by direction. The
+   * returned array is shared and must not be modified.
+   * @param tileId tile id.
+   * @return int[] adjacent tile ids.
+   */
+  public static int[] getNeighbours(final int tileId) {
+    return NEIGHBOURS[tileId];
+  }
+
+  /**
+   * Gets a word of the bitmask of the adjacent tiles of a tile. Word 0 holds
+   * tiles 0 to 63 and word 1 holds tiles 64 to 71.
+   * @param tileId tile id.
+   * @param word word index, 0 or 1.
+   * @return long adjacent tiles bitmask.
+   */
+  public static long getNeighbourMask(final int tileId, final int word) {
+    return NEIGHBOUR_MASKS[tileId * MASK_WORDS + word];
+  }
+
+  /**
+   * Checks if two tiles are adjacent to each other.
+   * @param tileId tile id.
+   * @param otherTileId other tile id.
+   * @return boolean true if adjacent, else false.
+   */
+  public static boolean isAdjacent(final int tileId, final int otherTileId) {
+    return (NEIGHBOUR_MASKS[tileId * MASK_WORDS + (otherTileId >>> 6)] &
+            (1L << (otherTileId & 63))) != 0;
+  }
+
   /**
    * Constructor method that ensures this BoardUtils class cannot be instantiated.
    */
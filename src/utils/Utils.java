@@ -1,6 +1,7 @@
 package utils;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Various utility functions for coding convenience.
@@ -21,8 +22,30 @@ public class Utils {
    * ref: https://stackoverflow.com/a/6443346/11850077
    */
   public static int getRandomWithExclusion(int start, int end, int... exclude) {
-    Random rnd = new Random();
-    int random = start + rnd.nextInt(end - start + 1 - exclude.length);
+    return skipExclusions(
+        start + ThreadLocalRandom.current().nextInt(end - start + 1 - exclude.length), exclude);
+  }
+
+  /**
+   * Generates random integer with exclusive of some numbers from a given
+   * random number generator, for reproducible results.
+   * @param rng random number generator to draw from.
+   * @param start starting number to generate random numbers from.
+   * @param end end number to generate random numbers until.
+   * @param exlude sorted int or int array number/numbers to exclude from being
+   * generated.
+   * @return randomly generated int.
+   */
+  public static int getRandomWithExclusion(SplittableRandom rng, int start, int end,
+                                           int... exclude) {
+    return skipExclusions(start + rng.nextInt(end - start + 1 - exclude.length), exclude);
+  }
+
+  /**
+   * Shifts a random number drawn from the range less the excluded numbers
+   * past each excluded number at or below it.
+   */
+  private static int skipExclusions(int random, int... exclude) {
     for (int ex : exclude) {
       if (random < ex) {
         break;